@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once for each of a list of thread counts, as JMH has
+ * no parameter for the thread count. Usage:
+ * <pre><code>
+ * java -cp benchmarks.jar com.bc.config.benchmarks.Benchmarks [threadCounts] [include]
+ * </code></pre>
+ * Where <code>threadCounts</code> is a comma separated list of thread counts,
+ * by default <code>1,4</code>, and <code>include</code> is a regex matching
+ * the benchmarks to run, by default all of them. Use <code>org.openjdk.jmh.Main</code>,
+ * the main class of the jar, for all other options.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:48:03 AM
+ */
+public final class Benchmarks {
+
+    private Benchmarks() { }
+
+    public static void main(String... args) throws RunnerException {
+
+        final String threadCounts = args.length > 0 ? args[0] : "1,4";
+
+        final String include = args.length > 1 ? args[1] : Benchmarks.class.getPackage().getName() + ".*";
+
+        for(String threadCount : threadCounts.split(",")) {
+
+            final Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threadCount.trim()))
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.CompactConfig;
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import com.bc.config.SnapshotConfig;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link com.bc.config.Config#get(java.lang.String) Config#get} of names
+ * sharing a long prefix, from a {@link com.bc.config.CompactConfig CompactConfig}
+ * compared to the other configs. Use {@link com.bc.config.HeapFootprint HeapFootprint}
+ * to compare the heap of each.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 3:02:44 PM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactConfigBenchmark {
+
+    private static final String PREFIX = "app.module.feature.";
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    @Param({"ConfigImpl", "SnapshotConfig", "CompactConfig"})
+    private String type;
+
+    private Config<Properties> config;
+
+    private String [] keys;
+
+    @Setup
+    public void setup() {
+        final Properties props = Fixtures.properties(PREFIX, keyCount);
+        switch(type) {
+            case "SnapshotConfig": config = new SnapshotConfig(props, Fixtures.TIME_PATTERN); break;
+            case "CompactConfig": config = new CompactConfig(props, Fixtures.TIME_PATTERN); break;
+            default: config = new ConfigImpl(props, Fixtures.TIME_PATTERN);
+        }
+        keys = new String[keyCount];
+        for(int i=0; i<keyCount; i++) {
+            keys[i] = PREFIX + Fixtures.key(i);
+        }
+    }
+
+    @Benchmark
+    public String get(Fixtures.Cursor cursor) {
+        return config.get(keys[cursor.next(keyCount)]);
+    }
+}
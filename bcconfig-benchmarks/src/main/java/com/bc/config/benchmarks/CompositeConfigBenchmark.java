@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.CompositeConfig;
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link com.bc.config.AbstractCompositeConfig#get(java.lang.String) AbstractCompositeConfig#get},
+ * which delegates to the child owning the key, over a varying number of
+ * children. The keys read are spread over all the children.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:21:09 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeConfigBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    @Param({"2", "8", "32"})
+    private int childCount;
+
+    private Config<Properties> config;
+
+    private String [] keys;
+
+    @Setup
+    public void setup() {
+        final List<Config<Properties>> children = new ArrayList<>(childCount);
+        keys = new String[keyCount];
+        final int perChild = Math.max(1, keyCount / childCount);
+        for(int c=0; c<childCount; c++) {
+            children.add(new ConfigImpl(Fixtures.properties("c" + c + ".", perChild), Fixtures.TIME_PATTERN));
+        }
+        for(int i=0; i<keyCount; i++) {
+            keys[i] = "c" + (i % childCount) + "." + Fixtures.key((i / childCount) % perChild);
+        }
+        config = new CompositeConfig(children, Fixtures.TIME_PATTERN);
+    }
+
+    @Benchmark
+    public String get(Fixtures.Cursor cursor) {
+        return config.get(keys[cursor.next(keyCount)]);
+    }
+
+    @Benchmark
+    public String getMissing() {
+        return config.get("missing.key", null);
+    }
+}
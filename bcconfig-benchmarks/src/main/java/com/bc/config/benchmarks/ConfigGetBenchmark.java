@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import com.bc.config.SimpleConfigMetrics;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link com.bc.config.AbstractConfig#get(java.lang.String) AbstractConfig#get}
+ * of plain values, and of values with <code>${}</code> references, with and
+ * without caching of resolved values, and with and without recording metrics.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:06:40 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigGetBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    @Param({"false", "true"})
+    private boolean cacheResolvedValues;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private Config<Properties> config;
+
+    private String [] keys;
+
+    private String [] refKeys;
+
+    @Setup
+    public void setup() {
+        final ConfigImpl impl = new ConfigImpl(Fixtures.properties(keyCount), Fixtures.TIME_PATTERN, cacheResolvedValues);
+        if(metrics) {
+            impl.setMetrics(new SimpleConfigMetrics());
+        }
+        config = impl;
+        keys = Fixtures.keys(keyCount);
+        refKeys = Fixtures.refKeys(keyCount);
+    }
+
+    @Benchmark
+    public String get(Fixtures.Cursor cursor) {
+        return config.get(keys[cursor.next(keyCount)]);
+    }
+
+    @Benchmark
+    public String getWithReferences(Fixtures.Cursor cursor) {
+        return config.get(refKeys[cursor.next(keyCount)]);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import com.bc.config.FlattenedProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups of names from the first default layer, and enumeration of the
+ * names, for defaults chained as by <code>new Properties(defaults)</code> 
+ * compared to {@link com.bc.config.FlattenedProperties FlattenedProperties}.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 3:58:21 PM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultsBenchmark {
+
+    @Param({"1000"})
+    private int keyCount;
+
+    @Param({"1", "5"})
+    private int layerCount;
+
+    @Param({"false", "true"})
+    private boolean flatten;
+
+    private Config<Properties> config;
+
+    private String [] keys;
+
+    @Setup
+    public void setup() {
+        final List<Properties> layers = new ArrayList<>(layerCount);
+        final List<String> sources = new ArrayList<>(layerCount);
+        Properties props = null;
+        for(int i=0; i<layerCount; i++) {
+            final Properties layer = Fixtures.properties("layer" + i + ".", keyCount);
+            if(!flatten && props != null) {
+                final Properties chained = new Properties(props);
+                chained.putAll(layer);
+                props = chained;
+            }else{
+                props = layer;
+            }
+            layers.add(layer);
+            sources.add("layer" + i);
+        }
+        config = new ConfigImpl(flatten ? new FlattenedProperties(layers, sources) : props, Fixtures.TIME_PATTERN);
+        keys = new String[keyCount];
+        for(int i=0; i<keyCount; i++) {
+            keys[i] = "layer0." + Fixtures.key(i);
+        }
+    }
+
+    @Benchmark
+    public String get(Fixtures.Cursor cursor) {
+        return config.get(keys[cursor.next(keyCount)]);
+    }
+
+    @Benchmark
+    public int getNames() {
+        return config.getNames().size();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.ConfigGroup;
+import com.bc.config.DirConfigService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link com.bc.config.DirConfigService#load() DirConfigService#load} of a
+ * directory of properties files, sequentially and in parallel. The cache is
+ * not used, so that each invocation reads all the files.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:34:18 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirConfigServiceLoadBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    @Param({"10", "100"})
+    private int fileCount;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Path dir;
+
+    private DirConfigService service;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.quiet();
+        dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Properties props = Fixtures.properties(keyCount);
+        for(int i=0; i<fileCount; i++) {
+            Fixtures.write(props, dir.resolve("file" + i + ".properties"));
+        }
+        service = new DirConfigService(null, dir.toString(),
+                (d, name) -> name.endsWith(".properties"), Fixtures.TIME_PATTERN, false);
+        if(parallel) {
+            service.setLoadExecutor(ForkJoinPool.commonPool());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.delete(dir);
+    }
+
+    @Benchmark
+    public ConfigGroup<Properties> load() throws IOException {
+        return service.load();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Data shared by the benchmarks
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:02:17 AM
+ */
+final class Fixtures {
+
+    static final String TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * Held, so that the level set is not lost if the logger is collected
+     */
+    private static final Logger LOGGER = Logger.getLogger("com.bc.config");
+
+    private Fixtures() { }
+
+    /**
+     * The services log each load at INFO, which would otherwise be measured
+     */
+    static void quiet() {
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    static String key(int i) {
+        return "key." + i;
+    }
+
+    static String refKey(int i) {
+        return "ref." + i;
+    }
+
+    static String [] keys(int keyCount) {
+        final String [] keys = new String[keyCount];
+        for(int i=0; i<keyCount; i++) {
+            keys[i] = key(i);
+        }
+        return keys;
+    }
+
+    static String [] refKeys(int keyCount) {
+        final String [] keys = new String[keyCount];
+        for(int i=0; i<keyCount; i++) {
+            keys[i] = refKey(i);
+        }
+        return keys;
+    }
+
+    /**
+     * @param keyCount The number of plain keys. As many keys whose values
+     * reference the plain keys, using <code>${}</code>, are added.
+     * @return Properties with the keys <code>key.N</code> and <code>ref.N</code>
+     */
+    static Properties properties(int keyCount) {
+        final Properties props = new Properties();
+        for(int i=0; i<keyCount; i++) {
+            props.setProperty(key(i), "value." + i);
+            props.setProperty(refKey(i), "${" + key(i) + "}/${" + key((i + 1) % keyCount) + "}");
+        }
+        return props;
+    }
+
+    /**
+     * @return Properties with the keys <code>key.N</code> of the given prefix
+     */
+    static Properties properties(String prefix, int keyCount) {
+        final Properties props = new Properties();
+        for(int i=0; i<keyCount; i++) {
+            props.setProperty(prefix + key(i), "value." + i);
+        }
+        return props;
+    }
+
+    static void write(Properties props, Path file) throws IOException {
+        try(OutputStream out = Files.newOutputStream(file)) {
+            props.store(out, null);
+        }
+    }
+
+    static void delete(Path dir) throws IOException {
+        if(dir == null || !Files.exists(dir)) {
+            return;
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+            @Override
+            public FileVisitResult postVisitDirectory(Path d, IOException e) throws IOException {
+                Files.delete(d);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Cycles through the key indices, so that each thread reads keys spread
+     * over the whole config rather than the same key repeatedly
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int keyCount) {
+            final int i = next;
+            next = i + 1 == keyCount ? 0 : i + 1;
+            return i;
+        }
+    }
+}
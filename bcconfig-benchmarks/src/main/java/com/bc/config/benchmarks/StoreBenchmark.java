@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.Config;
+import com.bc.config.DirConfigService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link com.bc.config.PropertiesConfigService#store(java.lang.String) PropertiesConfigService#store}
+ * of a config after a single change, rewriting the whole file and patching
+ * only the changed line. Clean configs are not stored, so each invocation
+ * first changes a value.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:41:56 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreBenchmark {
+
+    private static final String FILENAME = "app.properties";
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    @Param({"false", "true"})
+    private boolean patchInPlace;
+
+    private Path dir;
+
+    private DirConfigService service;
+
+    private Config<Properties> config;
+
+    private String path;
+
+    private String [] keys;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.quiet();
+        dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        Fixtures.write(Fixtures.properties(keyCount), dir.resolve(FILENAME));
+        service = new DirConfigService(null, dir.toString(), Fixtures.TIME_PATTERN);
+        service.setPatchInPlace(patchInPlace);
+        config = service.load().get(FILENAME);
+        path = service.getPath(FILENAME);
+        keys = Fixtures.keys(keyCount);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.delete(dir);
+    }
+
+    @Benchmark
+    public void store(Fixtures.Cursor cursor) throws IOException {
+        final int i = cursor.next(keyCount);
+        config.set(keys[i], "changed." + i + "." + System.nanoTime());
+        service.store(path);
+    }
+}
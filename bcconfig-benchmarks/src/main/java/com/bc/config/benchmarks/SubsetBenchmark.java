@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import com.bc.config.ConfigSubset;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction of a {@link com.bc.config.ConfigSubset ConfigSubset}, which
+ * copies the matching entries of its parent, compared with
+ * {@link com.bc.config.Config#subset(java.lang.String, java.lang.String) Config#subset}.
+ * Half of the keys of the parent are in the subset.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:27:33 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubsetBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    private Config<Properties> parent;
+
+    @Setup
+    public void setup() {
+        final Properties props = Fixtures.properties("in.", keyCount / 2);
+        props.putAll(Fixtures.properties("out.", keyCount - keyCount / 2));
+        parent = new ConfigImpl(props, Fixtures.TIME_PATTERN);
+    }
+
+    @Benchmark
+    public Config construct() {
+        return new ConfigSubset(parent, "in", ".");
+    }
+
+    @Benchmark
+    public Config subset() {
+        return parent.subset("in", ".");
+    }
+}
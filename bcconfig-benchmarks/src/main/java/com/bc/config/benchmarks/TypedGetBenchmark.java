@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config.benchmarks;
+
+import com.bc.config.Config;
+import com.bc.config.ConfigImpl;
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The typed getters of {@link com.bc.config.AbstractConfig AbstractConfig},
+ * and {@link com.bc.config.AbstractConfig#toMap() AbstractConfig#toMap}, 
+ * which types every value
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 11:14:52 AM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypedGetBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    private Config<Properties> config;
+
+    private String [] intKeys;
+
+    private String [] timeKeys;
+
+    private String [] mapKeys;
+
+    private String [] arrayKeys;
+
+    @Setup
+    public void setup() {
+        final Properties props = new Properties();
+        intKeys = new String[keyCount];
+        timeKeys = new String[keyCount];
+        mapKeys = new String[keyCount];
+        arrayKeys = new String[keyCount];
+        for(int i=0; i<keyCount; i++) {
+            intKeys[i] = "int." + i;
+            timeKeys[i] = "time." + i;
+            mapKeys[i] = "map." + i;
+            arrayKeys[i] = "array." + i;
+            props.setProperty(intKeys[i], Integer.toString(i));
+            props.setProperty(timeKeys[i], String.format("2018-10-%02d 10:%02d:00", 1 + i % 28, i % 60));
+            props.setProperty(mapKeys[i], "a=" + i + "&b=two&c=three&d=four");
+            props.setProperty(arrayKeys[i], "one," + i + ",three,four,five");
+        }
+        config = new ConfigImpl(props, Fixtures.TIME_PATTERN);
+    }
+
+    @Benchmark
+    public Integer getInt(Fixtures.Cursor cursor) {
+        return config.getInt(intKeys[cursor.next(keyCount)]);
+    }
+
+    @Benchmark
+    public Calendar getTime(Fixtures.Cursor cursor) throws ParseException {
+        return config.getTime(timeKeys[cursor.next(keyCount)]);
+    }
+
+    @Benchmark
+    public Map getMap(Fixtures.Cursor cursor) {
+        return config.getMap(mapKeys[cursor.next(keyCount)], "&");
+    }
+
+    @Benchmark
+    public boolean getSetContains(Fixtures.Cursor cursor) {
+        return config.getSet(arrayKeys[cursor.next(keyCount)]).contains("five");
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return config.toMap();
+    }
+
+    @Benchmark
+    public String [] getArray(Fixtures.Cursor cursor) {
+        return config.getArray(arrayKeys[cursor.next(keyCount)]);
+    }
+}
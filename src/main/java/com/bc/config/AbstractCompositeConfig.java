@@ -22,7 +22,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Chinomso Bassey Ikwuagwu on Jun 23, 2018 12:54:41 PM
@@ -30,6 +34,16 @@ import java.util.Set;
 public abstract class AbstractCompositeConfig<DATA_TYPE> extends AbstractConfig<DATA_TYPE> {
 
     private final List<Config<DATA_TYPE>> propertiesList;
+    
+    /**
+     * Key to the first config in the list which contains the key, at the 
+     * version of that config when the key was indexed
+     */
+    private transient final ConcurrentMap<String, Versioned<Config<DATA_TYPE>>> owners;
+    
+    private transient volatile Versioned<Set<String>> names;
+    
+    private transient volatile Versioned<NavigableSet<String>> sortedNames;
 
     public AbstractCompositeConfig(ConfigService<DATA_TYPE> configService) throws IOException {
         this(configService, false);
@@ -55,19 +69,92 @@ public abstract class AbstractCompositeConfig<DATA_TYPE> extends AbstractConfig<
         super(timePattern);
         final List<Config<DATA_TYPE>> list = new ArrayList(configs.size());
         final Set<String> allNames = new HashSet<>();
-        for(Config config : configs) {
-            if(!allowDuplicates) {
-                final Set<String> names = config.getNames();
-                for(String name : names) {
-                    if(allNames.contains(name)) {
-                        throw new UnsupportedOperationException("Property '"+name+"' is duplicated");
-                    }
+        for(Config<DATA_TYPE> config : configs) {
+            final Set<String> names = config.getNames();
+            for(String name : names) {
+                if(!allNames.add(name) && !allowDuplicates) {
+                    throw new UnsupportedOperationException("Property '"+name+"' is duplicated");
                 }
-                allNames.addAll(names);
             }
             list.add(config);
         }
         this.propertiesList = Collections.unmodifiableList(list);
+        this.owners = new ConcurrentHashMap<>();
+        this.index();
+    }
+    
+    /**
+     * Rebuilds the index of keys to the configs which own them.
+     * <p>
+     * The index need not be rebuilt after changes made via the constituent 
+     * configs. The value of an indexed key is read from its indexed config 
+     * alone, and keys not indexed, or whose indexed config no longer contains 
+     * them, are looked up in each constituent config in turn. Call this 
+     * method after adding to a constituent config a key indexed to a later 
+     * config, i.e a duplicate key.
+     * </p>
+     */
+    public void reindex() {
+        this.index();
+        this.invalidateAll();
+    }
+    
+    private void index() {
+        final Set<String> indexed = new HashSet<>();
+        for(Config<DATA_TYPE> config : propertiesList) {
+            final Versioned<Config<DATA_TYPE>> owner = new Versioned<>(getVersion(config), config);
+            for(String name : config.getNames()) {
+                if(indexed.add(name)) {
+                    owners.put(name, owner);
+                }
+            }
+        }
+        owners.keySet().retainAll(indexed);
+    }
+    
+    /**
+     * @return The first config in the list which contains the key, or null.
+     * An indexed config which {@link com.bc.config.Config#isChangeTracked() tracks every change}
+     * is trusted without a lookup while its version is unchanged since the 
+     * key was indexed.
+     */
+    private Config<DATA_TYPE> getOwner(String key) {
+        final Versioned<Config<DATA_TYPE>> indexed = owners.get(key);
+        if(indexed != null && ((indexed.value.isChangeTracked() && 
+                indexed.isVersion(getVersion(indexed.value))) ||
+                getRaw(indexed.value, key) != null)) {
+            return indexed.value;
+        }
+        return this.findOwner(key, indexed);
+    }
+    
+    /**
+     * Looks up the key in each config in turn and updates the index
+     * @param indexed The current index entry of the key, or null if none
+     */
+    private Config<DATA_TYPE> findOwner(String key, Versioned<Config<DATA_TYPE>> indexed) {
+        for(Config<DATA_TYPE> props : propertiesList) {
+            if(getRaw(props, key) != null) {
+                owners.put(key, new Versioned<>(getVersion(props), props));
+                return props;
+            }
+        }
+        if(indexed != null) {
+            owners.remove(key, indexed);
+        }
+        return null;
+    }
+    
+    /**
+     * @return The value as set, i.e without resolving references, if possible
+     */
+    private static String getRaw(Config<?> config, String key) {
+        return config instanceof AbstractConfig ? 
+                ((AbstractConfig<?>)config).doGet(key, null) : config.get(key);
+    }
+    
+    private static long getVersion(Config<?> config) {
+        return config instanceof AbstractConfig ? ((AbstractConfig<?>)config).getVersion() : -1;
     }
 
     /**
@@ -79,50 +166,134 @@ public abstract class AbstractCompositeConfig<DATA_TYPE> extends AbstractConfig<
     @Override
     public abstract DATA_TYPE getData();
 
+    /**
+     * Reads the value, without resolving references, from the first config 
+     * which contains the key. References are resolved by this config, 
+     * against all the configs constituting it.
+     */
     @Override
     protected String doGet(String key, String defaultValue) {
-        String val = null;
-        for(Config props : propertiesList) {
-            val = props.get(key, defaultValue);
-            if(val != null) {
-                break;
-            }
+        final Versioned<Config<DATA_TYPE>> indexed = owners.get(key);
+        String val = indexed == null ? null : getRaw(indexed.value, key);
+        if(val == null) {
+            final Config<DATA_TYPE> owner = this.findOwner(key, indexed);
+            val = owner == null ? null : getRaw(owner, key);
         }
         return val == null ? defaultValue : val;
     }
 
+    /**
+     * Sets the value in the first config which contains the key. If no 
+     * config contains the key, nothing is set.
+     */
     @Override
     protected Object doSet(String key, String value) {
-        Object val = null;
+        final Config<DATA_TYPE> owner = this.getOwner(key);
+        return owner == null ? null : owner.set(key, value);
+    }
+
+    /**
+     * @return The sum of the versions of this config and all the configs 
+     * constituting it, or <code>-1</code> if any of the constituting configs
+     * is not an {@link com.bc.config.AbstractConfig AbstractConfig}
+     */
+    @Override
+    public long getVersion() {
+        long sum = super.getVersion();
         for(Config<DATA_TYPE> props : propertiesList) {
-            if(props.getNames().contains(key)) {
-                val = props.set(key, value);
-                break;
+            if(!(props instanceof AbstractConfig)) {
+                return -1;
+            }
+            final long v = ((AbstractConfig)props).getVersion();
+            if(v == -1) {
+                return -1;
             }
+            sum += v;
         }
-        return val;
+        return sum;
     }
 
+    /**
+     * @return true if every config constituting this config 
+     * {@link com.bc.config.Config#isChangeTracked() tracks every change}
+     */
     @Override
-    public int size() {
-        int total = 0;
+    public boolean isChangeTracked() {
         for(Config<DATA_TYPE> props : propertiesList) {
-            total += props.size();
+            if(!props.isChangeTracked()) {
+                return false;
+            }
         }
-        return total;
+        return true;
     }
 
+    /**
+     * @return The number of distinct names in this config
+     */
+    @Override
+    public int size() {
+        return this.getNames().size();
+    }
+
+    /**
+     * The names are merged once and reused until the {@link #getVersion() version}
+     * of this config changes.
+     * @return An unmodifiable set of the names of all the configs constituting this config
+     */
     @Override
     public Set<String> getNames() {
-        Set<String> set = new HashSet<>();
+        final long version = this.getVersion();
+        final Versioned<Set<String>> current = this.names;
+        if(current != null && current.isVersion(version)) {
+            return current.value;
+        }
+        final Set<String> set = new HashSet<>();
         for(Config<DATA_TYPE> props : propertiesList) {
             set.addAll(props.getNames());
         }
-        return set;
+        final Set<String> merged = Collections.unmodifiableSet(set);
+        this.names = new Versioned<>(version, merged);
+        return merged;
+    }
+
+    /**
+     * The index is rebuilt when the {@link #getVersion() version} of this
+     * config changes.
+     * @return A sorted index of the names of this config
+     */
+    @Override
+    protected NavigableSet<String> getSortedNames() {
+        final long version = this.getVersion();
+        final Versioned<NavigableSet<String>> current = this.sortedNames;
+        if(current != null && current.isVersion(version)) {
+            return current.value;
+        }
+        final NavigableSet<String> sorted = Collections.unmodifiableNavigableSet(new TreeSet<>(this.getNames()));
+        this.sortedNames = new Versioned<>(version, sorted);
+        return sorted;
     }
 
     public final List<Config<DATA_TYPE>> getPropertiesList() {
         final boolean returnCopy = false;
         return propertiesList;
     }
+    
+    /**
+     * A value computed at a version of this config
+     */
+    static final class Versioned<T> {
+        
+        private final long version;
+        
+        final T value;
+
+        Versioned(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+        
+        boolean isVersion(long v) {
+            return v != -1 && v == version;
+        }
+    }
 }
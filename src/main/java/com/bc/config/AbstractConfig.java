@@ -16,19 +16,30 @@
 package com.bc.config;
 
 import java.io.Serializable;
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
-import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,18 +58,111 @@ public abstract class AbstractConfig<DATA_TYPE>
         implements Config<DATA_TYPE>, Serializable {
     
     private transient static final Logger logger = Logger.getLogger(AbstractConfig.class.getName());
+    
+    /**
+     * Identifies the strict conversion of values to Boolean, where only 
+     * <code>'true'</code> and <code>'false'</code> are considered valid
+     */
+    private static final Object STRICT_BOOLEAN = new Object();
+    
+    @FunctionalInterface
+    private interface Converter<T, E extends Exception> {
+        T convert(String value) throws E;
+    }
 
     private final String timePattern;
     
-    private final Function<String, String> referenceResolver;
+    private transient volatile DateTimeFormatter timeFormatter;
+    
+    private final ReferenceResolver referenceResolver;
+    
+    /**
+     * Null if resolved values are not cached
+     */
+    private transient final ResolvedValueCache resolvedValueCache;
+    
+    /**
+     * Null unless references have been {@link #compileReferences() compiled}
+     */
+    private transient volatile ReferenceGraph referenceGraph;
+    
+    /**
+     * Null until the first listener is added
+     */
+    private transient volatile ConfigListeners listeners;
+    
+    /**
+     * Null unless metrics are recorded
+     * @see #setMetrics(com.bc.config.ConfigMetrics) 
+     */
+    private transient volatile ConfigMetrics metrics;
+    
+    /**
+     * @see #getVersion() 
+     */
+    private transient final AtomicLong version = new AtomicLong();
+    
+    /**
+     * The names set since last marked clean, each with the version of its
+     * latest change
+     * @see #getDirtyNames() 
+     */
+    private transient final ConcurrentMap<String, Long> dirtyNames = new ConcurrentHashMap<>();
+    
+    /**
+     * The version of the latest call to {@link #invalidateAll()} since 
+     * last marked clean, or 0 if none
+     */
+    private transient final AtomicLong allDirty = new AtomicLong();
+    
+    /**
+     * Null until first requested
+     * @see #getSortedNames() 
+     */
+    private transient volatile NavigableSet<String> sortedNames;
+    
+    /**
+     * @see #getArray(java.lang.String, java.lang.String) 
+     */
+    private transient final ParsedValueCache<SplitValue> splits = new ParsedValueCache<>(SplitValue::new);
+    
+    /**
+     * @see #getMap(java.lang.String, java.lang.String) 
+     */
+    private transient final ParsedValueCache<Map<String, String>> maps = 
+            new ParsedValueCache<>((value, separator) -> 
+                    Collections.unmodifiableMap(getConverter(separator).toMap(value)));
+    
+    /**
+     * Converters by separator. Converters are thread safe while their 
+     * separator index is unchanged, which these, never exposed, always are.
+     */
+    private static final ConcurrentMap<String, QueryParametersConverter> converters = 
+            new ConcurrentHashMap<>();
     
     public AbstractConfig() {
         this(null);
     }
     
     public AbstractConfig(String timePattern) {
+        this(timePattern, false);
+    }
+    
+    /**
+     * @param timePattern The pattern used to format and parse time values
+     * @param cacheResolvedValues If true, values are cached after their references
+     * (i.e <code>${name}</code>) are resolved. Values converted by the typed 
+     * getters (e.g {@link #getLong(java.lang.String)}) are also cached, by key
+     * and type. A cached value is invalidated when
+     * it, or any value it transitively references, is changed via 
+     * {@link #set(java.lang.String, java.lang.String)}. Changes made directly 
+     * to the {@link #getData() data} are not detected; call {@link #invalidateAll()}
+     * after such changes.
+     */
+    public AbstractConfig(String timePattern, boolean cacheResolvedValues) {
         this.timePattern = timePattern;
         this.referenceResolver = new ReferenceResolverImpl((key) -> this.doGet(key));
+        this.resolvedValueCache = cacheResolvedValues ? new ResolvedValueCache() : null;
     }
 
     protected abstract String doGet(String key, String defaultValue);
@@ -70,62 +174,54 @@ public abstract class AbstractConfig<DATA_TYPE>
         return this.toMap(this.getNames());
     }
     
+    /**
+     * Values are converted to the type the typed getters would return, i.e 
+     * to a {@link java.lang.Boolean Boolean}, {@link java.lang.Long Long}, 
+     * {@link java.lang.Double Double}, or {@link java.util.Date Date} if the 
+     * {@link #getTimePattern() time pattern} parses the value, in that order
+     * of precedence. Other values are returned as strings.
+     * @param names The names to include
+     * @return The values of the names, converted by type
+     * @see #toMap(java.util.Set, boolean) 
+     */
     @Override
     public Map<String, Object> toMap(Set<String> names) {
-        final Map<String, Object> output = new HashMap();
+        return this.toMap(names, false);
+    }
+    
+    /**
+     * @param names The names to include
+     * @param instantiateClasses If true, the value of a name which is the 
+     * name of a class with a public no-argument constructor, and which is 
+     * not otherwise typed, is replaced by a new instance of the class.
+     * @return The values of the names, converted by type
+     * @see #toMap(java.util.Set) 
+     */
+    public Map<String, Object> toMap(Set<String> names, boolean instantiateClasses) {
+        final DateTimeFormatter formatter = timePattern == null ? null : this.getTimeFormatter();
+        final Map<String, Object> output = new HashMap<>(names.size() * 4 / 3 + 1);
         for(String name : names) {
-            try{
-                final Boolean bool = this.getBoolean(name, null);
-                if(add(output, name, bool)) {
-                    continue;
-                }
-            }catch(RuntimeException ignored) { }
-            try{
-                final Long num = this.getLong(name);
-                if("zoneOffset".equals(name)) {
-                    System.out.println(name + " = " + num);
-                }
-                if(add(output, name, num)) {
-                    continue;
-                }
-            }catch(RuntimeException ignored) { }
-            try{
-                final Double flp = this.getDouble(name);
-                if("zoneOffset".equals(name)) {
-                    System.out.println(name + " = " + flp);
-                }
-                if(add(output, name, flp)) {
-                    continue;
-                }
-            }catch(RuntimeException ignored) { }
-            try{
-                final Calendar cal = this.getTime(name);
-                final Date date = cal == null ? null : cal.getTime();
-                if(add(output, name, date)) {
-                    continue;
-                }
-            }catch(ParseException ignored) { }
-            if(name.indexOf('.') > 0) {
-                try{
-                    final Class cls = Class.forName(name);
-                    final Object obj = cls.getConstructor().newInstance();
-                    if(add(output, name, obj)) {
-                        continue;
-                    }
-                }catch(Exception ignored) { }
+            final String value = this.get(name);
+            Object typed = value == null ? null : ValueClassifier.classify(value, formatter);
+            if(typed == null && instantiateClasses) {
+                typed = this.newInstance(name);
             }
-            final String str = this.getString(name);
-            output.put(name, str);
+            output.put(name, typed == null ? value : typed);
         }
         return output;
     }
     
-    private boolean add(Map<String, Object> map, String key, Object val) {
-        if(val == null) {
-            return false;
-        }else{
-            map.put(key, val);
-            return true;
+    private Object newInstance(String className) {
+        if(className.indexOf('.') < 1 || !ValueClassifier.isQualifiedName(className)) {
+            return null;
+        }
+        try{
+            return Class.forName(className).getConstructor().newInstance();
+        }catch(Exception | LinkageError e) {
+            if(logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, "Not instantiable: {0}, {1}", new Object[]{className, e});
+            }
+            return null;
         }
     }
     
@@ -140,14 +236,364 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public String get(String key) {
-        String value = this.doGet(key);
-        return value == null ? null : this.referenceResolver.apply(value);
+        final ConfigMetrics m = this.metrics;
+        if(m == null) {
+            return this.getResolved(key);
+        }
+        final long start = System.nanoTime();
+        final String value = this.getResolved(key);
+        m.recordGet(key, value != null, System.nanoTime() - start);
+        return value;
     }
 
     @Override
     public String get(String key, String defaultValue) {
-        String value = this.doGet(key, defaultValue);
-        return value == null ? null : this.referenceResolver.apply(value);
+        final ConfigMetrics m = this.metrics;
+        if(m == null) {
+            return this.getResolved(key, defaultValue);
+        }
+        final long start = System.nanoTime();
+        final String value = this.getResolved(key, defaultValue);
+        m.recordGet(key, value != null, System.nanoTime() - start);
+        return value;
+    }
+    
+    private String getResolved(String key) {
+        final ReferenceGraph graph = this.referenceGraph;
+        if(graph != null) {
+            final String value = graph.get(key);
+            if(value != null) {
+                return value;
+            }
+        }
+        if(resolvedValueCache == null) {
+            String value = this.doGet(key);
+            return value == null ? null : this.resolve(value);
+        }else{
+            return this.getCached(key);
+        }
+    }
+
+    private String getResolved(String key, String defaultValue) {
+        final ReferenceGraph graph = this.referenceGraph;
+        if(graph != null) {
+            final String value = graph.get(key);
+            if(value != null) {
+                return value;
+            }
+        }
+        if(resolvedValueCache == null) {
+            String value = this.doGet(key, defaultValue);
+            return value == null ? null : this.resolve(value);
+        }else{
+            final String value = this.getCached(key);
+            if(value != null) {
+                return value;
+            }
+            return defaultValue == null ? null : this.resolve(defaultValue);
+        }
+    }
+    
+    private String resolve(String value) {
+        // Values without references are returned as is, without any pattern matching
+        if(value.indexOf("${") == -1) {
+            return value;
+        }
+        final ConfigMetrics m = this.metrics;
+        if(m == null) {
+            return this.referenceResolver.apply(value);
+        }
+        final long start = System.nanoTime();
+        final String resolved = this.referenceResolver.apply(value);
+        m.recordResolve(System.nanoTime() - start);
+        return resolved;
+    }
+    
+    private String getCached(String key) {
+        String value = resolvedValueCache.get(key);
+        if(value == null) {
+            final long version = resolvedValueCache.getVersion();
+            value = this.doGet(key);
+            if(value != null) {
+                final ConfigMetrics m = this.metrics;
+                final long start = m == null ? 0 : System.nanoTime();
+                final List<String> references = new ArrayList<>(2);
+                value = this.referenceResolver.resolve((ref) -> {
+                    references.add(ref);
+                    return this.doGet(ref);
+                }, value);
+                if(m != null && !references.isEmpty()) {
+                    m.recordResolve(System.nanoTime() - start);
+                }
+                resolvedValueCache.put(key, value, references, version);
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Invalidates the cached value of the key as well as the cached values 
+     * of all keys which transitively reference it. Use this when a system 
+     * property or environment variable referenced by values of this config 
+     * changes. Has no effect if resolved values are not cached.
+     * @param key The key to invalidate
+     */
+    public void invalidate(String key) {
+        final ReferenceGraph graph = this.referenceGraph;
+        if(graph != null) {
+            for(String refreshed : graph.refresh(key)) {
+                this.invalidateCached(refreshed);
+            }
+        }
+        this.invalidateCached(key);
+    }
+    
+    private void invalidateCached(String key) {
+        if(resolvedValueCache != null) {
+            final Set<String> invalidated = resolvedValueCache.invalidate(key);
+            if(logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, "Invalidated: {0}", invalidated);
+            }
+        }
+    }
+    
+    /**
+     * Invalidates all cached values and recompiles references if they were 
+     * {@link #compileReferences() compiled}. 
+     * @throws IllegalStateException If references were compiled and the 
+     * values now contain circular references
+     */
+    public void invalidateAll() {
+        allDirty.set(version.incrementAndGet());
+        this.sortedNames = null;
+        splits.clear();
+        maps.clear();
+        if(this.referenceGraph != null) {
+            this.referenceGraph = this.buildReferenceGraph(null);
+        }
+        if(resolvedValueCache != null) {
+            resolvedValueCache.clear();
+        }
+    }
+    
+    /**
+     * Parses every value of this config once into a template of literal 
+     * segments and reference slots, checks the references for cycles and 
+     * resolves all values in topological order. Subsequent reads are simple 
+     * lookups without any pattern matching.
+     * <p>
+     * This changes how references are resolved: they are resolved 
+     * transitively (i.e a referenced value may itself contain references),
+     * whereas uncompiled references are resolved one level deep. Back 
+     * slashes in referenced values are replaced with forward slashes in 
+     * both modes.
+     * </p>
+     * <p>
+     * Values changed via {@link #set(java.lang.String, java.lang.String)} are 
+     * re-compiled together with the values which reference them. Call 
+     * {@link #invalidateAll()} after making changes directly to the 
+     * {@link #getData() data}.
+     * </p>
+     * @throws IllegalStateException If the values contain circular references
+     */
+    public void compileReferences() {
+        this.referenceGraph = this.buildReferenceGraph(null);
+        if(resolvedValueCache != null) {
+            resolvedValueCache.clear();
+        }
+    }
+    
+    /**
+     * Compiles references using values resolved earlier, e.g values read 
+     * from a {@link com.bc.config.BinaryConfigFile binary config file}. The 
+     * values are not checked for cycles.
+     * @param resolved The resolved values by key. Values not in this map are
+     * resolved as usual.
+     */
+    void compileReferences(Map<String, String> resolved) {
+        this.referenceGraph = this.buildReferenceGraph(resolved);
+        if(resolvedValueCache != null) {
+            resolvedValueCache.clear();
+        }
+    }
+    
+    /**
+     * @return The value from the system environment or, if none, from the 
+     * system properties, which a reference to the name resolves to when 
+     * the name is not in the config.
+     */
+    static String getExternal(String name) {
+        final String value = System.getenv(name);
+        return value != null ? value : System.getProperty(name);
+    }
+    
+    public final boolean isReferencesCompiled() {
+        return this.referenceGraph != null;
+    }
+    
+    private ReferenceGraph buildReferenceGraph(Map<String, String> resolved) {
+        final Set<String> names = this.getNames();
+        final Map<String, String> values = new HashMap<>(names.size() * 4 / 3 + 1);
+        for(String name : names) {
+            final String value = this.doGet(name);
+            if(value != null) {
+                values.put(name, value);
+            }
+        }
+        return resolved == null ? 
+                new ReferenceGraph(values, AbstractConfig::getExternal) :
+                new ReferenceGraph(values, AbstractConfig::getExternal, resolved);
+    }
+    
+    public final boolean isCacheResolvedValues() {
+        return resolvedValueCache != null;
+    }
+    
+    /**
+     * The version changes each time this config is changed via 
+     * {@link #set(java.lang.String, java.lang.String)}, and each time
+     * {@link #invalidateAll()} is called. Changes made directly to the 
+     * {@link #getData() data} do not change the version.
+     * @return The current version of this config, or <code>-1</code> if 
+     * changes to this config cannot be tracked
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * A config is dirty once changed via {@link #set(java.lang.String, java.lang.String)},
+     * or after {@link #invalidateAll()} is called, until {@link #markClean() marked clean}.
+     * @return true if this config has changes which have not been stored
+     */
+    @Override
+    public boolean isDirty() {
+        return allDirty.get() != 0 || !dirtyNames.isEmpty();
+    }
+
+    /**
+     * Changes made directly to the {@link #getData() data} are not tracked.
+     * After {@link #invalidateAll()} all names are dirty.
+     * @return A snapshot of the names changed since this config was last
+     * {@link #markClean() marked clean}
+     */
+    @Override
+    public Set<String> getDirtyNames() {
+        return allDirty.get() != 0 ? new HashSet<>(this.getNames()) : new HashSet<>(dirtyNames.keySet());
+    }
+
+    @Override
+    public void markClean() {
+        this.markClean(Long.MAX_VALUE);
+    }
+    
+    /**
+     * @return true, unless overridden by configs whose {@link #getData() data}
+     * is live, e.g {@link com.bc.config.ConfigImpl ConfigImpl}
+     */
+    @Override
+    public boolean isChangeTracked() {
+        return true;
+    }
+    
+    /**
+     * Marks clean the changes up to the change count, but not changes made 
+     * after, e.g while the config was being stored
+     * @param changeCount A value previously returned by {@link #getChangeCount()}
+     */
+    void markClean(long changeCount) {
+        for(Map.Entry<String, Long> entry : dirtyNames.entrySet()) {
+            if(entry.getValue() <= changeCount) {
+                dirtyNames.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        final long all = allDirty.get();
+        if(all != 0 && all <= changeCount) {
+            allDirty.compareAndSet(all, 0);
+        }
+    }
+    
+    /**
+     * @return The number of changes made to this config itself. Unlike 
+     * {@link #getVersion()}, not overridden to include other configs.
+     */
+    final long getChangeCount() {
+        return version.get();
+    }
+    
+    /**
+     * @return true if all names are dirty, i.e {@link #invalidateAll()} was 
+     * called since this config was last marked clean
+     */
+    final boolean isAllDirty() {
+        return allDirty.get() != 0;
+    }
+
+    /**
+     * The index is built on first request and thereafter kept up to date with
+     * names added or removed via {@link #set(java.lang.String, java.lang.String)}. 
+     * It is rebuilt after {@link #invalidateAll()}. If this config does not 
+     * {@link #isChangeTracked() track every change}, it is also rebuilt when
+     * its size differs from {@link #size()}, e.g after names were added 
+     * directly to the {@link #getData() data}. The index may thus contain 
+     * names which were removed directly from the data.
+     * @return A sorted index of the names of this config
+     */
+    protected NavigableSet<String> getSortedNames() {
+        NavigableSet<String> sorted = this.sortedNames;
+        if(sorted == null || (!this.isChangeTracked() && sorted.size() != this.size())) {
+            final long versionAtStart = version.get();
+            sorted = new ConcurrentSkipListSet<>(this.getNames());
+            this.sortedNames = sorted;
+            // A concurrent set may have missed the index while it was being built
+            if(version.get() != versionAtStart) {
+                this.sortedNames = null;
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * @param prefix The prefix of the names to return
+     * @return The names of this config which start with the prefix. By 
+     * default, a range of the {@link #getSortedNames() sorted names}, less
+     * the names this config no longer {@link #containsName(java.lang.String) contains}.
+     */
+    protected Iterator<String> getNamesStartingWith(String prefix) {
+        final Iterator<String> tail = this.getSortedNames().tailSet(prefix, true).iterator();
+        return new Iterator<String>() {
+            private String next = advance();
+            private String advance() {
+                while(tail.hasNext()) {
+                    final String name = tail.next();
+                    if(!name.startsWith(prefix) || containsName(name)) {
+                        return name;
+                    }
+                }
+                return null;
+            }
+            @Override
+            public boolean hasNext() {
+                return next != null && next.startsWith(prefix);
+            }
+            @Override
+            public String next() {
+                if(!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final String name = next;
+                next = advance();
+                return name;
+            }
+        };
+    }
+    
+    /**
+     * @param name The name to check
+     * @return true if this config contains the name
+     */
+    protected boolean containsName(String name) {
+        return this.doGet(name, null) != null;
     }
 
     @Override
@@ -156,7 +602,39 @@ public abstract class AbstractConfig<DATA_TYPE>
             logger.log(Level.FINER, "Setting: {0}={1} in config:\n{2}", 
                     new Object[]{key, value, this});
         }
+        final ReferenceGraph graph = this.referenceGraph;
+        if(graph != null && value != null) {
+            graph.checkUpdate(key, value);
+        }
         final Object output = this.doSet(key, value);
+        dirtyNames.put(key, version.incrementAndGet());
+        final ConfigMetrics m = this.metrics;
+        if(m != null) {
+            m.recordSet(key);
+        }
+        final NavigableSet<String> sorted = this.sortedNames;
+        if(sorted != null) {
+            if(value == null) {
+                sorted.remove(key);
+            }else{
+                sorted.add(key);
+            }
+        }
+        if(graph != null) {
+            if(value == null) {
+                graph.remove(key);
+            }else{
+                graph.put(key, value);
+            }
+        }
+        this.invalidate(key);
+        final ConfigListeners l = this.listeners;
+        if(l != null) {
+            final String oldValue = output == null ? null : output.toString();
+            if(!Objects.equals(oldValue, value)) {
+                l.dispatch(Collections.singletonList(new ConfigChange(key, oldValue, value)));
+            }
+        }
         if(logger.isLoggable(Level.FINER)) {
             logger.log(Level.FINER, "After setting {0} = {1}, previous value: {2}, config:\n{3}", 
                     new Object[]{key, value, output, this});
@@ -164,7 +642,68 @@ public abstract class AbstractConfig<DATA_TYPE>
         return output;
     }
 
+    @Override
+    public boolean isListenerSupported() {
+        return true;
+    }
+
+    @Override
+    public void addListener(String key, ConfigListener listener) {
+        this.getListeners().add(key, listener);
+    }
+
+    @Override
+    public void addListener(String subset_name, String separator, ConfigListener listener) {
+        this.getListeners().addPrefix(subset_name + separator, listener);
+    }
+
+    @Override
+    public void removeListener(ConfigListener listener) {
+        final ConfigListeners l = this.listeners;
+        if(l != null) {
+            l.remove(listener);
+        }
+    }
+    
+    /**
+     * @return The metrics this config records to, or {@link com.bc.config.ConfigMetrics#NONE NONE}
+     */
+    public ConfigMetrics getMetrics() {
+        final ConfigMetrics m = this.metrics;
+        return m == null ? ConfigMetrics.NONE : m;
+    }
+
+    /**
+     * Records reads, changes and the resolution of references to the metrics. 
+     * By default nothing is recorded, and reads do not read the time.
+     * @param metrics The metrics to record to, or null or 
+     * {@link com.bc.config.ConfigMetrics#NONE NONE} to record nothing
+     * @return this
+     */
+    public AbstractConfig<DATA_TYPE> setMetrics(ConfigMetrics metrics) {
+        this.metrics = metrics == ConfigMetrics.NONE ? null : metrics;
+        return this;
+    }
+    
+    private ConfigListeners getListeners() {
+        ConfigListeners l = this.listeners;
+        if(l == null) {
+            synchronized(this) {
+                l = this.listeners;
+                if(l == null) {
+                    l = new ConfigListeners();
+                    this.listeners = l;
+                }
+            }
+        }
+        return l;
+    }
+
     /**
+     * Returns a read only {@link com.bc.config.ConfigSubsetView view}, over 
+     * this config, of the properties whose names start with 
+     * <tt>subset_name + separator</tt>. Nothing is copied, and changes to this 
+     * config are reflected in the view.
      * <p>
      * <b>Note</b>: Using multiple dots (e.g <tt>..</tt>) or dollar signs 
      * (e.g <tt>$$</tt>) as separator leads to unexpected results. Best practice 
@@ -195,7 +734,7 @@ public abstract class AbstractConfig<DATA_TYPE>
     @Override
     public Config subset(String subset_name, String separator) {
        
-        return new ConfigSubset(this, subset_name, separator);
+        return new ConfigSubsetView(this, subset_name, separator);
     }
     
     @Override
@@ -206,8 +745,7 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Boolean getBoolean(String key) {
-        String s = get(key);
-        return s == null ? null : Boolean.valueOf(s.trim());
+        return this.getConverted(key, Boolean.class, AbstractConfig::toBoolean);
     }
     
     /**
@@ -219,14 +757,14 @@ public abstract class AbstractConfig<DATA_TYPE>
      */
     @Override
     public Boolean getBoolean(String key, Boolean defaultValue) {
-        String s = get(key);
-        return s == null ? defaultValue : "true".equals(s.trim()) ? Boolean.TRUE : "false".equals(s.trim()) ? Boolean.FALSE : defaultValue;
+        final Boolean b = this.getConverted(key, STRICT_BOOLEAN, AbstractConfig::toStrictBoolean);
+        return b == null ? defaultValue : b;
     }
 
     @Override
     public boolean getBoolean(String key, boolean defaultValue) {
-        String s = get(key);
-        return s == null ? defaultValue : Boolean.parseBoolean(s.trim());
+        final Boolean b = this.getBoolean(key);
+        return b == null ? defaultValue : b;
     }
 
     @Override
@@ -237,8 +775,7 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Short getShort(String key) {
-        Long l = getLong(key);
-        return l == null ? null : l.shortValue();
+        return this.getConverted(key, Short.class, (s) -> toLong(s).shortValue());
     }
 
     @Override
@@ -254,8 +791,7 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Integer getInt(String key) {
-        Long l = getLong(key);
-        return l == null ? null : l.intValue();
+        return this.getConverted(key, Integer.class, (s) -> toLong(s).intValue());
     }
 
     @Override
@@ -271,14 +807,13 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Long getLong(String key) {
-        String value = get(key);
-        return this.longValueOf(value, null);
+        return this.getConverted(key, Long.class, AbstractConfig::toLong);
     }
 
     @Override
     public long getLong(String key, long defaultValue) {
-        String value = get(key);
-        return this.longValueOf(value, defaultValue);
+        final Long l = this.getLong(key);
+        return l == null ? defaultValue : l;
     }
 
     @Override
@@ -289,8 +824,7 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Float getFloat(String key) {
-        Double d = getDouble(key);
-        return d == null ? null : d.floatValue();
+        return this.getConverted(key, Float.class, (s) -> toDouble(s).floatValue());
     }
 
     @Override
@@ -306,14 +840,60 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Double getDouble(String key) {
-        String val = get(key);
-        return doubleValueOf(val, null);
+        return this.getConverted(key, Double.class, AbstractConfig::toDouble);
     }
 
     @Override
     public double getDouble(String key, double defaultValue) {
-        String val = get(key);
-        return doubleValueOf(val, defaultValue);
+        final Double d = this.getDouble(key);
+        return d == null ? defaultValue : d;
+    }
+    
+    /**
+     * @param key The key whose value is to be converted
+     * @param type Identifies the conversion. Converted values are cached by 
+     * key and type, when resolved values are cached.
+     * @param converter Converts the resolved value. May return null to 
+     * indicate that the value could not be converted.
+     * @return The converted value or null if there is no value for the key
+     */
+    private <T, E extends Exception> T getConverted(
+            String key, Object type, Converter<T, E> converter) throws E {
+        if(resolvedValueCache == null) {
+            final String value = this.get(key);
+            return value == null ? null : converter.convert(value);
+        }
+        T output = (T)resolvedValueCache.getTyped(key, type);
+        if(output == null) {
+            final long version = resolvedValueCache.getVersion();
+            final String value = this.get(key);
+            output = value == null ? null : converter.convert(value);
+            if(output != null) {
+                resolvedValueCache.putTyped(key, type, output, version);
+            }
+        }
+        return output;
+    }
+    
+    private static Boolean toBoolean(String value) {
+        return Boolean.valueOf(value.trim());
+    }
+    
+    /**
+     * Only <code>'true'</code> and <code>'false'</code> are considered valid
+     * @return The Boolean value or null if the value is not valid
+     */
+    private static Boolean toStrictBoolean(String value) {
+        final String s = value.trim();
+        return "true".equals(s) ? Boolean.TRUE : "false".equals(s) ? Boolean.FALSE : null;
+    }
+    
+    private static Long toLong(String value) {
+        return Long.valueOf(value.trim());
+    }
+    
+    private static Double toDouble(String value) {
+        return Double.valueOf(value.trim());
     }
     
     private Long longValueOf(Object longString, Long defaultValue) {
@@ -355,35 +935,42 @@ public abstract class AbstractConfig<DATA_TYPE>
 
     @Override
     public Map setMap(String key, Map value, String separator) {
-        QueryParametersConverter c = new QueryParametersConverter(separator);
+        final QueryParametersConverter c = getConverter(separator);
         Object obj = set(key, c.convert(value));
         return (obj == null) ? null : c.reverse(obj.toString());
     }
 
+    /**
+     * The value is parsed as <tt>key_0=val_0&lt;separator&gt;key_1=val_1...</tt>.
+     * Parsed maps are cached by key, and reused while the value of the key 
+     * and the separator are unchanged.
+     * @return An immutable map of the pairs in the value, shared by readers 
+     * of the same value, or null if there is no value
+     * @see com.bc.config.QueryParametersConverter#toMap(java.lang.String) 
+     */
     @Override
     public Map getMap(String key, String separator) {
         String s = get(key);
-        return s == null ? null : new QueryParametersConverter(separator).reverse(s);
+        return s == null ? null : maps.get(key, s, separator);
     }
 
     @Override
     public Map getMap(String key, Map defaultValue, String separator) {
         String  s = get(key);
-        return s == null ? defaultValue : new QueryParametersConverter(separator).reverse(s);
+        return s == null ? defaultValue : maps.get(key, s, separator);
 
     }
     
     @Override
     public Calendar setTime(String key, Calendar date) throws ParseException {
 
-        SimpleDateFormat sdf = (SimpleDateFormat)DateFormat.getDateInstance();
-        sdf.applyPattern(this.timePattern);
+        final DateTimeFormatter formatter = this.getTimeFormatter();
 
-        String dateStr = sdf.format(date.getTime());
+        String dateStr = formatter.format(date.toInstant().atZone(ZoneId.systemDefault()));
 
         Object obj = set(key, dateStr);
 
-        return (obj != null) ? parseTime(obj.toString(), this.timePattern) : null;
+        return (obj != null) ? toCalendar(parseInstant(obj.toString(), formatter)) : null;
     }
 
     @Override
@@ -400,21 +987,83 @@ public abstract class AbstractConfig<DATA_TYPE>
      */
     @Override
     public Calendar getTime(String key) throws ParseException {
+        return toCalendar(this.getInstant(key));
+    }
 
-        String timeStr = get(key);
+    /**
+     * @param key
+     * @return The instant represented by <tt>key</tt> as contained in the config
+     *         document of this object, or null if no such time is specified.
+     * @throws java.text.ParseException
+     */
+    @Override
+    public Instant getInstant(String key) throws ParseException {
+        return this.getConverted(key, Instant.class, (timeStr) -> {
         
-Logger logger = Logger.getLogger(this.getClass().getName());
 if(logger.isLoggable(Level.FINER))
 logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, timeStr});
+            
+            return parseInstant(timeStr, this.getTimeFormatter());
+        });
+    }
 
-        return parseTime(timeStr, this.timePattern);
+    @Override
+    public Instant getInstant(String key, Instant defaultValue) throws ParseException {
+        final Instant instant = this.getInstant(key);
+        return instant == null ? defaultValue : instant;
     }
 
-    public static Calendar parseTime(String timeStr, String pattern) throws ParseException {
+    /**
+     * @param key
+     * @return The time represented by <tt>key</tt> as contained in the config
+     *         document of this object, in the system default time zone, or 
+     *         null if no such time is specified.
+     * @throws java.text.ParseException
+     */
+    @Override
+    public LocalDateTime getLocalDateTime(String key) throws ParseException {
+        return this.getConverted(key, LocalDateTime.class, (timeStr) -> {
+            final Instant instant = parseInstant(timeStr, this.getTimeFormatter());
+            return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        });
+    }
+
+    @Override
+    public LocalDateTime getLocalDateTime(String key, LocalDateTime defaultValue) throws ParseException {
+        final LocalDateTime ldt = this.getLocalDateTime(key);
+        return ldt == null ? defaultValue : ldt;
+    }
+
+    @Override
+    public Duration getDuration(String key) {
+        return this.getConverted(key, Duration.class, AbstractConfig::toDuration);
+    }
+
+    @Override
+    public Duration getDuration(String key, Duration defaultValue) {
+        final Duration duration = this.getDuration(key);
+        return duration == null ? defaultValue : duration;
+    }
+    
+    /**
+     * The time pattern is compiled on first use, after which the compiled
+     * formatter is reused.
+     * @return The formatter for this config's {@link #getTimePattern() time pattern}
+     */
+    protected DateTimeFormatter getTimeFormatter() {
+        DateTimeFormatter formatter = this.timeFormatter;
+        if(formatter == null) {
+            formatter = DateTimeFormats.compile(Objects.requireNonNull(timePattern, "timePattern"));
+            this.timeFormatter = formatter;
+        }
+        return formatter;
+    }
 
-        SimpleDateFormat sdf = (SimpleDateFormat)DateFormat.getDateInstance();
+    public static Calendar parseTime(String timeStr, String pattern) throws ParseException {
+        return toCalendar(parseInstant(timeStr, DateTimeFormats.compile(pattern)));
+    }
 
-        sdf.applyPattern(pattern);
+    private static Instant parseInstant(String timeStr, DateTimeFormatter formatter) throws ParseException {
 
         if (timeStr == null || timeStr.equals("")) {
             return null;
@@ -423,11 +1072,30 @@ logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, t
                 timeStr+=" 00:00:00"; // Add time part
             }
 
-            Calendar time = Calendar.getInstance(); // Today
-            Date date = sdf.parse(timeStr);
-            time.setTime(date);
-
-            return time;
+            return DateTimeFormats.parse(formatter, timeStr).toInstant();
+        }
+    }
+    
+    private static Calendar toCalendar(Instant instant) {
+        if(instant == null) {
+            return null;
+        }
+        Calendar time = Calendar.getInstance(); // Today
+        time.setTimeInMillis(instant.toEpochMilli());
+        return time;
+    }
+    
+    static Duration toDuration(String value) {
+        final String s = value.trim();
+        if(s.isEmpty()) {
+            return null;
+        }
+        final char first = s.charAt(0);
+        if(first == 'P' || first == 'p' || ((first == '-' || first == '+') && s.length() > 1 && 
+                (s.charAt(1) == 'P' || s.charAt(1) == 'p'))) {
+            return Duration.parse(s);
+        }else{
+            return Duration.ofMillis(Long.parseLong(s));
         }
     }
 
@@ -438,31 +1106,34 @@ logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, t
     
     @Override
     public String [] setArray(String key, String [] arr, String separator) {
-        String value = "";
-        for(int i=0; i<arr.length; i++) {
-            if(i < arr.length-1) {
-                value += (arr[i] + separator);
-            }else{
-                value += arr[i];
-            }
+        final StringJoiner joiner = new StringJoiner(separator);
+        for(String e : arr) {
+            joiner.add(e);
         }
-
-        if(value.length() < 1) return null;
-
-        Object obj = set(key, value);
-
-        return (obj != null) ? obj.toString().split(separator) : null;
+        return this.setJoined(key, joiner.toString(), separator);
     }
     
+    /**
+     * The value is split as by {@link #getArray(java.lang.String, java.lang.String)}.
+     * Splits are cached by key, and reused while the value of the key and 
+     * the separator are unchanged.
+     * @return A new array of the parts of the value, or null if there is no value
+     */
     @Override
     public String [] getArray(String key) {
         return getArray(key, ",");
     }
     
+    /**
+     * @param key The key whose value is to be split
+     * @param separator The separator. If it contains regex metacharacters, 
+     * it is treated as a regular expression, as by {@link java.lang.String#split(java.lang.String)}.
+     * @return A new array of the parts of the value, or null if there is no value
+     */
     @Override
     public String [] getArray(String key, String separator) {
-        String val = get(key);
-        return val == null ? null : val.split(separator);
+        final SplitValue split = this.getSplit(key, separator);
+        return split == null ? null : split.toArray();
     }
 
     @Override
@@ -472,8 +1143,8 @@ logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, t
     
     @Override
     public String [] getArray(String key, String [] defaultValue, String separator) {
-        String value = get(key);
-        return (value == null || value.length() < 1) ? defaultValue : value.split(separator);
+        final SplitValue split = this.getNonEmptySplit(key, separator);
+        return split == null ? defaultValue : split.toArray();
     }
 
     @Override
@@ -483,28 +1154,73 @@ logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, t
     
     @Override
     public String [] setCollection(String key, Collection arr, String separator) {
-        String value = "";
-        Iterator iter = arr.iterator();
-        while(iter.hasNext()) {
-            value += (iter.next() + separator);
+        final StringJoiner joiner = new StringJoiner(separator);
+        for(Object e : arr) {
+            joiner.add(String.valueOf(e));
         }
+        return this.setJoined(key, joiner.toString(), separator);
+    }
+    
+    private String [] setJoined(String key, String value, String separator) {
+        
+        if(value.isEmpty()) return null;
 
-        if(value.length() < 1) return null;
-
-        Object obj = set(key, value);
+        final Object obj = set(key, value);
 
-        return (obj != null) ? obj.toString().split(separator) : null;
+        return (obj != null) ? SplitValue.split(obj.toString(), separator) : null;
     }
 
+    /**
+     * @return The parts of the value, split by comma, as an immutable list 
+     * shared by readers of the same value, or null if there is no value
+     */
     @Override
     public Collection<String> getCollection(String key) {
-        return Arrays.asList(this.getArray(key));
+        final SplitValue split = this.getSplit(key, ",");
+        return split == null ? null : split.getList();
     }
     
     @Override
     public Collection<String> getCollection(String key, Collection defaultValue) {
-        String value = get(key);
-        return (value == null || value.length() < 1) ? defaultValue : getCollection(key);
+        final SplitValue split = this.getNonEmptySplit(key, ",");
+        return split == null ? defaultValue : split.getList();
+    }
+
+    @Override
+    public Set<String> getSet(String key) {
+        return this.getSet(key, ",");
+    }
+
+    /**
+     * Use this rather than {@link #getArray(java.lang.String, java.lang.String)} 
+     * to check membership of long lists, e.g allow-lists.
+     * @param key The key whose value is to be split
+     * @param separator The separator, as for {@link #getArray(java.lang.String, java.lang.String)}
+     * @return The parts of the value as an immutable hash set, shared by 
+     * readers of the same value, or null if there is no value
+     */
+    @Override
+    public Set<String> getSet(String key, String separator) {
+        final SplitValue split = this.getSplit(key, separator);
+        return split == null ? null : split.getSet();
+    }
+    
+    private static QueryParametersConverter getConverter(String separator) {
+        QueryParametersConverter c = converters.get(separator);
+        if(c == null) {
+            c = converters.computeIfAbsent(separator, QueryParametersConverter::new);
+        }
+        return c;
+    }
+    
+    private SplitValue getSplit(String key, String separator) {
+        final String value = this.get(key);
+        return value == null ? null : splits.get(key, value, separator);
+    }
+    
+    private SplitValue getNonEmptySplit(String key, String separator) {
+        final String value = this.get(key);
+        return value == null || value.isEmpty() ? null : splits.get(key, value, separator);
     }
 
     @Override
@@ -526,7 +1242,7 @@ logger.log(Level.FINER, "Time designation: {0}, Time : {1}", new Object[]{key, t
         if (getClass() != obj.getClass()) {
             return false;
         }
-        final ConfigImpl other = (ConfigImpl) obj;
+        final Config other = (Config) obj;
         if (!Objects.equals(this.timePattern, other.getTimePattern())) {
             return false;
         }
@@ -21,18 +21,28 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,6 +61,30 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
     
     private final ClassLoader classLoader;
     
+    /**
+     * Loads in progress, by name
+     */
+    private transient final ConcurrentMap<String, FutureTask<Config<DATA_TYPE>>> loading;
+    
+    /**
+     * @see #setWriteBehindMillis(long) 
+     */
+    private volatile long writeBehindMillis;
+    
+    private transient final WriteBehind writeBehind;
+    
+    /**
+     * Null unless metrics are recorded
+     * @see #setMetrics(com.bc.config.ConfigMetrics) 
+     */
+    private volatile ConfigMetrics metrics;
+    
+    /**
+     * Null unless strings are deduplicated
+     * @see #setStringPool(com.bc.config.StringPool) 
+     */
+    private volatile StringPool stringPool;
+    
     public AbstractConfigService(String timePattern) { 
         
         this(Thread.currentThread().getContextClassLoader(), new ConfigGroupImpl(), timePattern, true);
@@ -67,6 +101,10 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
         this.timePattern = timePattern;
         
         this.useCache = useCache;
+        
+        this.loading = new ConcurrentHashMap<>();
+        
+        this.writeBehind = new WriteBehind(this::store);
     }
 
     public abstract String [] getDefaultPaths(String filename);
@@ -77,6 +115,126 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
     
     public abstract void store(DATA_TYPE data, String path) throws IOException;
     
+    /**
+     * Returns the cached config for the name, or loads and caches it.
+     * <p>
+     * Loading is single-flight: concurrent callers for the same name wait on 
+     * one load and all receive the same {@link com.bc.config.Config Config}.
+     * If the load fails, all waiting callers receive the failure and a 
+     * subsequent call retries the load.
+     * </p>
+     * If {@link #isUseCache()} is false, the loader is simply called.
+     * @param name The name of the config to return
+     * @param loader Loads the config
+     * @return The cached or newly loaded config
+     * @throws IOException 
+     */
+    protected Config<DATA_TYPE> getOrLoad(String name, 
+            Callable<Config<DATA_TYPE>> loader) throws IOException {
+        
+        if(!this.isUseCache()) {
+            return this.callLoader(name, loader);
+        }
+        
+        final ConfigGroup<DATA_TYPE> cache = this.getCachedConfigs();
+        
+        final ConfigMetrics m = this.metrics;
+        
+        final Config<DATA_TYPE> cached = cache.get(name);
+        if(cached != null) {
+            if(m != null) {
+                m.recordCacheHit(name);
+            }
+            return cached;
+        }
+        
+        final FutureTask<Config<DATA_TYPE>> task = new FutureTask<>(() -> {
+            // Another thread may have completed loading since we checked
+            Config<DATA_TYPE> output = cache.get(name);
+            if(output == null) {
+                if(m != null) {
+                    m.recordCacheMiss(name);
+                }
+                output = this.instrument(name, loader).call();
+                cache.put(name, output);
+            }else if(m != null) {
+                m.recordCacheHit(name);
+            }
+            return output;
+        });
+        
+        FutureTask<Config<DATA_TYPE>> inProgress = loading.putIfAbsent(name, task);
+        if(inProgress == null) {
+            inProgress = task;
+            try{
+                task.run();
+            }finally{
+                loading.remove(name, task);
+            }
+        }else{
+            logger.log(Level.FINER, "Waiting for load in progress: {0}", name);
+            if(m != null) {
+                m.recordCacheHit(name);
+            }
+        }
+        
+        try{
+            return inProgress.get();
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading: " + name);
+        }catch(ExecutionException e) {
+            throw this.rethrow(e.getCause());
+        }
+    }
+    
+    /**
+     * Calls the loader, bypassing the cache. If {@link #getMetrics() metrics}
+     * are recorded, the load is timed, and the loaded config records to the 
+     * metrics.
+     * @param name The name of the config to load
+     * @param loader Loads the config
+     * @return The newly loaded config
+     * @throws IOException 
+     */
+    protected Config<DATA_TYPE> callLoader(String name, 
+            Callable<Config<DATA_TYPE>> loader) throws IOException {
+        try{
+            return this.instrument(name, loader).call();
+        }catch(Exception e) {
+            throw this.rethrow(e);
+        }
+    }
+    
+    private Callable<Config<DATA_TYPE>> instrument(String name, 
+            Callable<Config<DATA_TYPE>> loader) {
+        final ConfigMetrics m = this.metrics;
+        if(m == null) {
+            return loader;
+        }
+        return () -> {
+            final long start = System.nanoTime();
+            final Config<DATA_TYPE> output = loader.call();
+            m.recordLoad(name, System.nanoTime() - start);
+            if(output instanceof AbstractConfig) {
+                ((AbstractConfig<DATA_TYPE>)output).setMetrics(m);
+            }
+            return output;
+        };
+    }
+    
+    private IOException rethrow(Throwable t) {
+        if(t instanceof IOException) {
+            return (IOException)t;
+        }else if(t instanceof RuntimeException) {
+            throw (RuntimeException)t;
+        }else if(t instanceof Error) {
+            throw (Error)t;
+        }else{
+            return new IOException(t);
+        }
+    }
+    
     @Override
     public String loadFor(String filename, String key) throws IOException{
         Config properties = this.load((String)null, this.getPath(filename));
@@ -114,9 +272,116 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
         return load(this.getDefaultPaths(defaultFilename), this.getPath(filename));
     }
     
+    /**
+     * If {@link #getWriteBehindMillis() write-behind} is enabled, schedules 
+     * the store and returns without waiting for it. Otherwise stores the 
+     * config of the file name.
+     * @param filename The name of the file to store
+     * @throws IOException 
+     */
     @Override
     public void storeByName(String filename) throws IOException {
-        this.store(this.getPath(filename));
+        final long delay = this.writeBehindMillis;
+        if(delay > 0) {
+            writeBehind.schedule(this.getPath(filename), delay);
+        }else{
+            this.store(this.getPath(filename));
+        }
+    }
+    
+    /**
+     * Starts all pending {@link #setWriteBehindMillis(long) write-behind} 
+     * stores without further delay.
+     * @return Completes when all stores pending at the time of the call are
+     * written, or exceptionally if any of them fails
+     */
+    public CompletableFuture<Void> flush() {
+        return writeBehind.flush();
+    }
+    
+    /**
+     * @param filename The name of the file
+     * @return Completes when the pending {@link #setWriteBehindMillis(long) write-behind} 
+     * store of the file is written, or a completed future if none is pending
+     */
+    public CompletableFuture<Void> getPendingStore(String filename) {
+        return writeBehind.getPending(this.getPath(filename));
+    }
+
+    public final long getWriteBehindMillis() {
+        return writeBehindMillis;
+    }
+
+    /**
+     * If greater than zero, {@link #storeByName(java.lang.String)}, and hence 
+     * {@link #storeFor(java.lang.String, java.lang.String, java.lang.String) storeFor}, 
+     * schedule the store to run after this many milliseconds on a background 
+     * thread, and return immediately. Further requests to store the same file 
+     * before it is written are coalesced into the one store, which writes 
+     * all the changes made until it starts.
+     * <p>
+     * Use {@link #flush()} or {@link #getPendingStore(java.lang.String)} to 
+     * await the stores. Failed stores are logged, and their changes remain 
+     * {@link com.bc.config.Config#isDirty() dirty}. Pending stores are 
+     * written when the JVM shuts down normally.
+     * </p>
+     * @param writeBehindMillis The delay, or zero to store synchronously. 
+     * When set to zero, pending stores are flushed.
+     * @return this
+     */
+    public AbstractConfigService<DATA_TYPE> setWriteBehindMillis(long writeBehindMillis) {
+        if(writeBehindMillis < 0) {
+            throw new IllegalArgumentException("Write-behind millis < 0: " + writeBehindMillis);
+        }
+        this.writeBehindMillis = writeBehindMillis;
+        if(writeBehindMillis == 0) {
+            this.flush();
+        }
+        return this;
+    }
+    
+    /**
+     * @return The metrics this service records to, or {@link com.bc.config.ConfigMetrics#NONE NONE}
+     */
+    public ConfigMetrics getMetrics() {
+        final ConfigMetrics m = this.metrics;
+        return m == null ? ConfigMetrics.NONE : m;
+    }
+
+    /**
+     * Records loads, stores and the hits and misses of the cache to the 
+     * metrics. Configs already cached, and configs subsequently loaded, 
+     * record their reads and changes to the same metrics. By default nothing 
+     * is recorded.
+     * @param metrics The metrics to record to, or null or 
+     * {@link com.bc.config.ConfigMetrics#NONE NONE} to record nothing
+     * @return this
+     */
+    public AbstractConfigService<DATA_TYPE> setMetrics(ConfigMetrics metrics) {
+        this.metrics = metrics == ConfigMetrics.NONE ? null : metrics;
+        for(Config<DATA_TYPE> config : this.getCachedConfigs().values()) {
+            if(config instanceof AbstractConfig) {
+                ((AbstractConfig<DATA_TYPE>)config).setMetrics(metrics);
+            }
+        }
+        return this;
+    }
+    
+    public final StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * If not null, the keys and values of subsequently loaded configs are 
+     * deduplicated by the pool. A pool may be shared by several services.
+     * By default strings are not deduplicated.
+     * @param stringPool The pool to deduplicate strings with, or null
+     * @return this
+     * @see com.bc.config.HeapFootprint
+     */
+    public AbstractConfigService<DATA_TYPE> setStringPool(StringPool stringPool) {
+        this.stringPool = stringPool;
+        return this;
     }
     
     @Override
@@ -124,6 +389,19 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
         return load(defaultPath==null?new String[0]:new String[]{defaultPath}, path);
     }
 
+    /**
+     * Stores the cached config of the path, if it is {@link com.bc.config.Config#isDirty() dirty},
+     * then marks it clean. Changes made to the config while it is being 
+     * stored remain dirty. Clean configs are not stored.
+     * <p>
+     * Changes made directly to the data of configs which do not 
+     * {@link com.bc.config.Config#isChangeTracked() track every change}, e.g
+     * {@link com.bc.config.ConfigImpl ConfigImpl}, are found by comparing the 
+     * data with the stored file, see {@link #getUntrackedChanges(com.bc.config.Config, java.lang.String)}.
+     * </p>
+     * @param path The path to store the config to
+     * @throws IOException 
+     */
     public void store(String path) throws IOException {
 
         if(!this.isUseCache()) {
@@ -134,17 +412,133 @@ public abstract class AbstractConfigService<DATA_TYPE> implements ConfigService<
         
         final Config<DATA_TYPE> config = this.getConfigs().get(name);
         
-        final DATA_TYPE data = config == null ? null : config.getData();
-        
         if(logger.isLoggable(Level.FINER)) {
             logger.log(Level.FINER, "{0} = {1}\n{2}", new Object[]{path, name, config});
         }
         
+        if(config == null) {
+            return;
+        }
+        
+        final boolean changeTracked = config.isChangeTracked();
+        
+        if(changeTracked && !config.isDirty()) {
+            logger.log(Level.FINE, "Not storing unchanged: {0}", path);
+            return;
+        }
+        
+        final AbstractConfig<DATA_TYPE> tracked = config instanceof AbstractConfig ? 
+                (AbstractConfig<DATA_TYPE>)config : null;
+        
+        // Read before the dirty names, so that changes made during the store stay dirty
+        final long changeCount = tracked == null ? 0 : tracked.getChangeCount();
+        
+        Set<String> dirtyNames = tracked != null && tracked.isAllDirty() ? 
+                null : config.getDirtyNames();
+        
+        if(!changeTracked && dirtyNames != null) {
+            final Set<String> untracked = this.getUntrackedChanges(config, path);
+            if(untracked == null) {
+                dirtyNames = null;
+            }else{
+                dirtyNames.addAll(untracked);
+                if(dirtyNames.isEmpty()) {
+                    logger.log(Level.FINE, "Not storing unchanged: {0}", path);
+                    return;
+                }
+            }
+        }
+        
+        final ConfigMetrics m = this.metrics;
+        
+        final long start = m == null ? 0 : System.nanoTime();
+        
+        this.store(config, dirtyNames, path);
+        
+        if(m != null) {
+            m.recordStore(name, System.nanoTime() - start);
+        }
+        
+        if(tracked == null) {
+            config.markClean();
+        }else{
+            tracked.markClean(changeCount);
+        }
+    }
+    
+    /**
+     * Called before storing a config which does not {@link com.bc.config.Config#isChangeTracked() track every change}, 
+     * to find changes made directly to its data.
+     * @param config The config to store
+     * @param path The path the config is to be stored to
+     * @return The names whose values in the config's data differ from those
+     * stored at the path, or null if the changes cannot be determined, in 
+     * which case all the config's data is stored. By default null.
+     */
+    protected Set<String> getUntrackedChanges(Config<DATA_TYPE> config, String path) {
+        return null;
+    }
+    
+    /**
+     * @return The keys whose values differ between the maps, as Strings
+     */
+    static Set<String> getChangedKeys(Map<?, ?> current, Map<?, ?> stored) {
+        final Set<String> changed = new HashSet<>();
+        for(Map.Entry<?, ?> entry : current.entrySet()) {
+            if(!Objects.equals(entry.getValue(), stored.get(entry.getKey()))) {
+                changed.add(String.valueOf(entry.getKey()));
+            }
+        }
+        for(Object key : stored.keySet()) {
+            if(!current.containsKey(key)) {
+                changed.add(String.valueOf(key));
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Stores a dirty config. By default, stores all the config's 
+     * {@link com.bc.config.Config#getData() data}.
+     * @param config The config to store
+     * @param dirtyNames The names changed since the config was last stored, 
+     * or null if all names are to be treated as changed
+     * @param path The path to store the config to
+     * @throws IOException 
+     */
+    protected void store(Config<DATA_TYPE> config, Set<String> dirtyNames, String path) throws IOException {
+        
+        final DATA_TYPE data = config.getData();
+        
         if(data != null) {
             this.store(data, path);
         }
     }
     
+    /**
+     * Opens a file for the path, to be replaced atomically. If the 
+     * directory of the path does not exist, the path is resolved as a 
+     * resource, as for {@link #getOutputStream(java.lang.String, boolean)}.
+     */
+    AtomicFile openStoreFile(String path) throws IOException {
+        Path file = Paths.get(path).toAbsolutePath();
+        if(!Files.isDirectory(file.getParent())) {
+            final URL url = this.getResource(path);
+            if(url == null) {
+                throw new FileNotFoundException(path);
+            }
+            try{
+                file = this.getPath(url.toURI(), null);
+            }catch(URISyntaxException e) {
+                throw new FileNotFoundException(path);
+            }
+            if(file == null) {
+                throw new FileNotFoundException(path);
+            }
+        }
+        return AtomicFile.create(file);
+    }
+    
     public InputStream getInputStream(String path) throws FileNotFoundException {
         InputStream in = this.getResourceAsStream(path);
         if(in == null) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replaces a file atomically. Content is written to a temporary file in the
+ * same directory, which on {@link #commit()} is forced to disk and then
+ * moved over the target file. Hence readers, and the target file after a
+ * crash, see either the previous or the new content, never a partially
+ * written file.
+ * <pre><code>
+ * try(AtomicFile file = AtomicFile.create(target)) {
+ *     write(file.getOutputStream());
+ *     file.commit();
+ * }
+ * </code></pre>
+ * If {@link #close()} is called before {@link #commit()}, e.g because
+ * writing failed, the temporary file is deleted and the target is unchanged.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 9:12:05 AM
+ */
+final class AtomicFile implements Closeable {
+
+    private static transient final Logger logger = Logger.getLogger(AtomicFile.class.getName());
+
+    private final Path target;
+
+    private final Path temp;
+
+    private final FileChannel channel;
+
+    private final OutputStream out;
+
+    private boolean done;
+
+    private AtomicFile(Path target, Path temp, FileChannel channel) {
+        this.target = target;
+        this.temp = temp;
+        this.channel = channel;
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), 8192);
+    }
+
+    /**
+     * @param target The file to replace. The directory of the file must exist.
+     * @return A new AtomicFile, whose temporary file has been created
+     * @throws IOException
+     */
+    static AtomicFile create(Path target) throws IOException {
+        final Path file = target.toAbsolutePath();
+        final Path temp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+        try{
+            if(Files.exists(file)) {
+                try{
+                    Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(file));
+                }catch(UnsupportedOperationException | IOException e) {
+                    logger.log(Level.FINE, "Failed to copy permissions of: {0}, {1}", new Object[]{file, e});
+                }
+            }
+            return new AtomicFile(file, temp, FileChannel.open(temp, StandardOpenOption.WRITE));
+        }catch(IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * @return The stream to write the content to. The stream should not be
+     * closed; it is closed by {@link #commit()} or {@link #close()}.
+     */
+    OutputStream getOutputStream() {
+        return out;
+    }
+
+    /**
+     * Forces the content to disk and moves it over the target file
+     * @throws IOException
+     */
+    void commit() throws IOException {
+        if(done) {
+            throw new IllegalStateException("Already committed or closed");
+        }
+        done = true;
+        try{
+            out.flush();
+            channel.force(true);
+            channel.close();
+            try{
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }catch(AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }catch(IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        this.forceDirectory();
+    }
+
+    /**
+     * Forces the rename to disk. Not all platforms support opening a
+     * directory, so failures are ignored.
+     */
+    private void forceDirectory() {
+        try(FileChannel dir = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        }catch(IOException | RuntimeException e) {
+            logger.log(Level.FINEST, "Failed to force directory: {0}, {1}", new Object[]{target.getParent(), e});
+        }
+    }
+
+    Path getTarget() {
+        return target;
+    }
+
+    /**
+     * Deletes the temporary file, unless committed
+     */
+    @Override
+    public void close() throws IOException {
+        if(!done) {
+            done = true;
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+}
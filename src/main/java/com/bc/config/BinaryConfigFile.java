@@ -0,0 +1,731 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A compact binary file of config entries, read via memory mapped I/O.
+ * <p>
+ * The file holds the entries of one or more layers (e.g defaults, then the
+ * properties overriding them), a hash index and a sorted index of the
+ * effective keys (i.e the key from the highest layer), the source files the
+ * entries were loaded from and the external values (system environment or
+ * properties) their references were resolved against. Values which contain
+ * references may be stored pre-resolved.
+ * </p>
+ * <pre>
+ * header:   int magic, int format version, long CRC32 of the body
+ * body:     int source count, {utf path, long last modified, long size}*
+ *           int external count, {utf name, byte present, [utf value]}*
+ *           int layer count, int entry count, int indexed count, int capacity
+ *           int[capacity] hash index of entry offsets, -1 for empty slots
+ *           int[indexed count] entry offsets sorted by key
+ * entries:  {int key hash, byte layer, byte flags, utf key, utf value, [utf resolved]}*
+ * </pre>
+ * Strings (utf) are an int length followed by that many bytes of UTF-8.
+ * Entry offsets are relative to the start of the entries region. All
+ * numbers are big endian.
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 8:47:03 PM
+ */
+final class BinaryConfigFile {
+
+    static final int MAGIC = 0x42434647;
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int FLAG_RESOLVED = 1;
+
+    /**
+     * Offset of the key length within an entry
+     */
+    private static final int KEY_OFFSET = 6;
+
+    static final class Source {
+
+        private final String path;
+
+        private final long lastModified;
+
+        private final long size;
+
+        Source(String path, long lastModified, long size) {
+            this.path = Objects.requireNonNull(path);
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static Source of(Path path) throws IOException {
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return new Source(path.toAbsolutePath().toString(),
+                    attrs.lastModifiedTime().toMillis(), attrs.size());
+        }
+
+        /**
+         * @return true if the file at the path of this source has the same
+         * last modified time and size as this source.
+         */
+        boolean isCurrent() {
+            try{
+                final Source current = Source.of(Paths.get(path));
+                return current.lastModified == lastModified && current.size == size;
+            }catch(IOException e) {
+                return false;
+            }
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        @Override
+        public String toString() {
+            return path + "{lastModified=" + lastModified + ", size=" + size + '}';
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(int layer, String key, String value, String resolved);
+    }
+
+    private final Path file;
+
+    private final ByteBuffer buffer;
+
+    private final List<Source> sources;
+
+    /**
+     * External name to its value when the file was written, or null if it
+     * had no value
+     */
+    private final Map<String, String> externals;
+
+    private final int layerCount;
+
+    private final int entryCount;
+
+    private final int indexedCount;
+
+    private final int mask;
+
+    private final int tableOffset;
+
+    private final int sortedOffset;
+
+    private final int entriesOffset;
+
+    private BinaryConfigFile(Path file, ByteBuffer buffer, boolean verifyChecksum) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if(buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary config file: " + file);
+        }
+        if(buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + buffer.getInt(4) + ", file: " + file);
+        }
+        if(verifyChecksum) {
+            final CRC32 crc = new CRC32();
+            final ByteBuffer body = buffer.duplicate();
+            body.position(HEADER_SIZE);
+            crc.update(body);
+            if(crc.getValue() != buffer.getLong(8)) {
+                throw new IOException("Checksum mismatch, file: " + file);
+            }
+        }
+        final ByteBuffer in = buffer.duplicate();
+        in.position(HEADER_SIZE);
+        final int sourceCount = in.getInt();
+        final List<Source> sourceList = new ArrayList<>(sourceCount);
+        for(int i=0; i<sourceCount; i++) {
+            sourceList.add(new Source(readString(in), in.getLong(), in.getLong()));
+        }
+        this.sources = Collections.unmodifiableList(sourceList);
+        final int externalCount = in.getInt();
+        final Map<String, String> externalMap = new LinkedHashMap<>(externalCount * 4 / 3 + 1);
+        for(int i=0; i<externalCount; i++) {
+            final String name = readString(in);
+            externalMap.put(name, in.get() == 0 ? null : readString(in));
+        }
+        this.externals = Collections.unmodifiableMap(externalMap);
+        this.layerCount = in.getInt();
+        this.entryCount = in.getInt();
+        this.indexedCount = in.getInt();
+        final int capacity = in.getInt();
+        if(Integer.bitCount(capacity) != 1) {
+            throw new IOException("Invalid index capacity: " + capacity + ", file: " + file);
+        }
+        this.mask = capacity - 1;
+        this.tableOffset = in.position();
+        this.sortedOffset = tableOffset + capacity * 4;
+        this.entriesOffset = sortedOffset + indexedCount * 4;
+        if(entriesOffset > buffer.limit()) {
+            throw new IOException("Truncated file: " + file);
+        }
+    }
+
+    /**
+     * @param file The file to open
+     * @param verifyChecksum If true, the whole file is read to verify its checksum
+     * @return The opened file
+     * @throws IOException If the file could not be read, or is not a valid
+     * binary config file
+     */
+    static BinaryConfigFile open(Path file, boolean verifyChecksum) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if(size < HEADER_SIZE) {
+                throw new IOException("Not a binary config file: " + file);
+            }
+            if(size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new BinaryConfigFile(file, buffer, verifyChecksum);
+        }catch(RuntimeException e) {
+            throw new IOException("Invalid binary config file: " + file, e);
+        }
+    }
+
+    /**
+     * @return true if every source of this file is {@link Source#isCurrent() current}
+     */
+    boolean isCurrent() {
+        for(Source source : sources) {
+            if(!source.isCurrent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param lookup Returns the current value of an external name
+     * @return true if all the external values which references were resolved
+     * against are unchanged
+     */
+    boolean isExternalsCurrent(UnaryOperator<String> lookup) {
+        for(Map.Entry<String, String> entry : externals.entrySet()) {
+            if(!Objects.equals(entry.getValue(), lookup.apply(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param key The key whose effective value is to be returned
+     * @return The value from the highest layer containing the key, or null
+     */
+    String get(String key) {
+        final int entry = this.indexOf(key);
+        return entry == -1 ? null : this.getValue(entry);
+    }
+
+    /**
+     * @param key The key whose pre-resolved value is to be returned
+     * @return The pre-resolved value, or the value if it was not stored
+     * pre-resolved, or null if the key is not in this file
+     */
+    String getResolved(String key) {
+        final int entry = this.indexOf(key);
+        return entry == -1 ? null : this.getResolvedValue(entry);
+    }
+
+    boolean contains(String key) {
+        return this.indexOf(key) != -1;
+    }
+
+    /**
+     * Calls the consumer for every entry in every layer, lowest layer first
+     */
+    void forEach(EntryConsumer consumer) {
+        int entry = entriesOffset;
+        for(int i=0; i<entryCount; i++) {
+            final int keyLength = buffer.getInt(entry + KEY_OFFSET);
+            final int valueOffset = entry + KEY_OFFSET + 4 + keyLength;
+            final int valueLength = buffer.getInt(valueOffset);
+            final boolean resolved = (buffer.get(entry + 5) & FLAG_RESOLVED) != 0;
+            consumer.accept(buffer.get(entry + 4), this.getKey(entry),
+                    this.getValue(entry), this.getResolvedValue(entry));
+            entry = valueOffset + 4 + valueLength;
+            if(resolved) {
+                entry += 4 + buffer.getInt(entry);
+            }
+        }
+    }
+
+    /**
+     * @return The effective keys, in the order of their UTF-8 bytes
+     */
+    Iterator<String> keys() {
+        return new Keys(0, null);
+    }
+
+    /**
+     * @return The effective keys which start with the prefix, in the order
+     * of their UTF-8 bytes
+     */
+    Iterator<String> keys(String prefix) {
+        final byte [] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = indexedCount;
+        while(low < high) {
+            final int mid = (low + high) >>> 1;
+            if(this.compareKey(this.getSorted(mid), bytes, false) < 0) {
+                low = mid + 1;
+            }else{
+                high = mid;
+            }
+        }
+        return new Keys(low, bytes);
+    }
+
+    /**
+     * @return The number of effective keys
+     */
+    int size() {
+        return indexedCount;
+    }
+
+    int getLayerCount() {
+        return layerCount;
+    }
+
+    List<Source> getSources() {
+        return sources;
+    }
+
+    Map<String, String> getExternals() {
+        return externals;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    private int indexOf(String key) {
+        final byte [] bytes = key.getBytes(StandardCharsets.UTF_8);
+        final int hash = key.hashCode();
+        int i = spread(hash) & mask;
+        while(true) {
+            final int offset = buffer.getInt(tableOffset + i * 4);
+            if(offset == -1) {
+                return -1;
+            }
+            final int entry = entriesOffset + offset;
+            if(buffer.getInt(entry) == hash && this.compareKey(entry, bytes, true) == 0) {
+                return entry;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private int getSorted(int i) {
+        return entriesOffset + buffer.getInt(sortedOffset + i * 4);
+    }
+
+    /**
+     * Compares the key of the entry with the bytes, as unsigned bytes
+     * @param exact If false, only the first <code>bytes.length</code> bytes of
+     * the key are compared, i.e the result is 0 if the key starts with the bytes
+     */
+    private int compareKey(int entry, byte [] bytes, boolean exact) {
+        final int length = buffer.getInt(entry + KEY_OFFSET);
+        final int start = entry + KEY_OFFSET + 4;
+        final int n = Math.min(length, bytes.length);
+        for(int i=0; i<n; i++) {
+            final int diff = (buffer.get(start + i) & 0xff) - (bytes[i] & 0xff);
+            if(diff != 0) {
+                return diff;
+            }
+        }
+        return exact || length < bytes.length ? length - bytes.length : 0;
+    }
+
+    private String getKey(int entry) {
+        return this.getString(entry + KEY_OFFSET);
+    }
+
+    private String getValue(int entry) {
+        return this.getString(entry + KEY_OFFSET + 4 + buffer.getInt(entry + KEY_OFFSET));
+    }
+
+    private String getResolvedValue(int entry) {
+        final int valueOffset = entry + KEY_OFFSET + 4 + buffer.getInt(entry + KEY_OFFSET);
+        if((buffer.get(entry + 5) & FLAG_RESOLVED) == 0) {
+            return this.getString(valueOffset);
+        }
+        return this.getString(valueOffset + 4 + buffer.getInt(valueOffset));
+    }
+
+    private String getString(int offset) {
+        final int length = buffer.getInt(offset);
+        final byte [] bytes = new byte[length];
+        final ByteBuffer in = buffer.duplicate();
+        in.position(offset + 4);
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final byte [] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Keys implements Iterator<String> {
+
+        private final byte [] prefix;
+
+        private int next;
+
+        private Keys(int next, byte [] prefix) {
+            this.next = next;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < indexedCount &&
+                    (prefix == null || compareKey(getSorted(next), prefix, false) == 0);
+        }
+
+        @Override
+        public String next() {
+            if(!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return getKey(getSorted(next++));
+        }
+    }
+
+    /**
+     * Writes a binary config file. Entries are streamed to a temporary file
+     * as they are added, so only a few ints per entry are held in memory.
+     * The file is written to a temporary file, forced to disk and then moved
+     * to the target path, so readers never see a partially written file.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path target;
+
+        private final Path entriesFile;
+
+        private final DataOutputStream entries;
+
+        private final List<Source> sources = new ArrayList<>();
+
+        private final Map<String, String> externals = new LinkedHashMap<>();
+
+        private int [] hashes = new int[64];
+
+        private int [] offsets = new int[64];
+
+        private byte [] layers = new byte[64];
+
+        private int count;
+
+        private int layerCount;
+
+        private long position;
+
+        private Path output;
+
+        Writer(Path target) throws IOException {
+            this.target = target.toAbsolutePath();
+            this.entriesFile = Files.createTempFile(this.target.getParent(),
+                    this.target.getFileName().toString(), ".entries");
+            this.entries = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(entriesFile)));
+        }
+
+        /**
+         * @param layerCount The number of layers. Defaults to one more than
+         * the highest layer of the entries added.
+         * @return this
+         */
+        Writer setLayerCount(int layerCount) {
+            this.layerCount = Math.max(this.layerCount, layerCount);
+            return this;
+        }
+
+        Writer addSource(Source source) {
+            this.sources.add(Objects.requireNonNull(source));
+            return this;
+        }
+
+        /**
+         * @param name The name of an external value references were resolved against
+         * @param value The external value, or null if there was none
+         * @return this
+         */
+        Writer addExternal(String name, String value) {
+            this.externals.put(Objects.requireNonNull(name), value);
+            return this;
+        }
+
+        /**
+         * Entries added later override entries of the same key in the same layer
+         * @param layer The layer of the entry, from 0 to 127. Higher layers
+         * override lower layers.
+         * @param key The key
+         * @param value The value
+         * @param resolved The value with references resolved, or null if the
+         * value has no references
+         * @return this
+         * @throws IOException
+         */
+        Writer add(int layer, String key, String value, String resolved) throws IOException {
+            if(layer < 0 || layer > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Layer out of range [0-127]: " + layer);
+            }
+            final byte [] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final byte [] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            final byte [] resolvedBytes = resolved == null || resolved.equals(value) ?
+                    null : resolved.getBytes(StandardCharsets.UTF_8);
+            final long end = position + KEY_OFFSET + 8 + keyBytes.length + valueBytes.length +
+                    (resolvedBytes == null ? 0 : 4 + resolvedBytes.length);
+            if(end > Integer.MAX_VALUE) {
+                throw new IOException("Entries exceed the maximum size of a binary config file");
+            }
+            if(count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+                layers = Arrays.copyOf(layers, count * 2);
+            }
+            hashes[count] = key.hashCode();
+            offsets[count] = (int)position;
+            layers[count] = (byte)layer;
+            ++count;
+            layerCount = Math.max(layerCount, layer + 1);
+            entries.writeInt(key.hashCode());
+            entries.writeByte(layer);
+            entries.writeByte(resolvedBytes == null ? 0 : FLAG_RESOLVED);
+            entries.writeInt(keyBytes.length);
+            entries.write(keyBytes);
+            entries.writeInt(valueBytes.length);
+            entries.write(valueBytes);
+            if(resolvedBytes != null) {
+                entries.writeInt(resolvedBytes.length);
+                entries.write(resolvedBytes);
+            }
+            position = end;
+            return this;
+        }
+
+        /**
+         * Writes the file to the target path
+         * @throws IOException
+         */
+        void commit() throws IOException {
+            entries.close();
+            final ByteBuffer data;
+            try(FileChannel channel = FileChannel.open(entriesFile, StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            int capacity = 2;
+            while(capacity < count * 2) {
+                capacity <<= 1;
+            }
+            final int [] table = this.buildIndex(data, capacity);
+            int indexed = 0;
+            for(int slot : table) {
+                if(slot != -1) {
+                    ++indexed;
+                }
+            }
+            final int [] sorted = new int[indexed];
+            int n = 0;
+            for(int slot : table) {
+                if(slot != -1) {
+                    sorted[n++] = offsets[slot];
+                }
+            }
+            mergeSort(data, sorted, new int[sorted.length], 0, sorted.length);
+
+            this.output = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try(FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                final CRC32 crc = new CRC32();
+                final DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel)), crc));
+                out.writeInt(sources.size());
+                for(Source source : sources) {
+                    writeString(out, source.path);
+                    out.writeLong(source.lastModified);
+                    out.writeLong(source.size);
+                }
+                out.writeInt(externals.size());
+                for(Map.Entry<String, String> external : externals.entrySet()) {
+                    writeString(out, external.getKey());
+                    out.writeByte(external.getValue() == null ? 0 : 1);
+                    if(external.getValue() != null) {
+                        writeString(out, external.getValue());
+                    }
+                }
+                out.writeInt(layerCount);
+                out.writeInt(count);
+                out.writeInt(indexed);
+                out.writeInt(capacity);
+                for(int slot : table) {
+                    out.writeInt(slot == -1 ? -1 : offsets[slot]);
+                }
+                for(int offset : sorted) {
+                    out.writeInt(offset);
+                }
+                final byte [] chunk = new byte[8192];
+                final ByteBuffer in = data.duplicate();
+                while(in.hasRemaining()) {
+                    final int length = Math.min(chunk.length, in.remaining());
+                    in.get(chunk, 0, length);
+                    out.write(chunk, 0, length);
+                }
+                out.flush();
+                if(channel.position() > Integer.MAX_VALUE) {
+                    throw new IOException("Entries exceed the maximum size of a binary config file");
+                }
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(crc.getValue()).flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            try{
+                Files.move(output, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }catch(AtomicMoveNotSupportedException e) {
+                Files.move(output, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            this.output = null;
+        }
+
+        /**
+         * @return Slots of entry indices, -1 for empty slots. Of entries with
+         * equal keys, the entry in the highest layer, added last, is indexed.
+         */
+        private int [] buildIndex(ByteBuffer data, int capacity) {
+            final int [] table = new int[capacity];
+            Arrays.fill(table, -1);
+            final int slotMask = capacity - 1;
+            for(int e=0; e<count; e++) {
+                int i = spread(hashes[e]) & slotMask;
+                while(true) {
+                    final int other = table[i];
+                    if(other == -1) {
+                        table[i] = e;
+                        break;
+                    }
+                    if(hashes[other] == hashes[e] && compareKeys(data, offsets[other], offsets[e]) == 0) {
+                        if(layers[e] >= layers[other]) {
+                            table[i] = e;
+                        }
+                        break;
+                    }
+                    i = (i + 1) & slotMask;
+                }
+            }
+            return table;
+        }
+
+        private static void mergeSort(ByteBuffer data, int [] a, int [] tmp, int from, int to) {
+            if(to - from < 2) {
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            mergeSort(data, a, tmp, from, mid);
+            mergeSort(data, a, tmp, mid, to);
+            int i = from;
+            int j = mid;
+            int k = from;
+            while(i < mid && j < to) {
+                tmp[k++] = compareKeys(data, a[i], a[j]) <= 0 ? a[i++] : a[j++];
+            }
+            while(i < mid) {
+                tmp[k++] = a[i++];
+            }
+            while(j < to) {
+                tmp[k++] = a[j++];
+            }
+            System.arraycopy(tmp, from, a, from, to - from);
+        }
+
+        private static int compareKeys(ByteBuffer data, int entry0, int entry1) {
+            final int length0 = data.getInt(entry0 + KEY_OFFSET);
+            final int length1 = data.getInt(entry1 + KEY_OFFSET);
+            final int n = Math.min(length0, length1);
+            for(int i=0; i<n; i++) {
+                final int diff = (data.get(entry0 + KEY_OFFSET + 4 + i) & 0xff) -
+                        (data.get(entry1 + KEY_OFFSET + 4 + i) & 0xff);
+                if(diff != 0) {
+                    return diff;
+                }
+            }
+            return length0 - length1;
+        }
+
+        private static void writeString(DataOutputStream out, String s) throws IOException {
+            final byte [] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        /**
+         * Deletes the temporary files. Does not delete the target file if it
+         * was committed.
+         */
+        @Override
+        public void close() throws IOException {
+            entries.close();
+            Files.deleteIfExists(entriesFile);
+            if(output != null) {
+                Files.deleteIfExists(output);
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A {@link com.bc.config.Config Config} which holds its data in a compact
+ * form, for large property sets whose names share long prefixes.
+ * <p>
+ * The data is flattened (i.e defaults merged) on construction. The names
+ * are sorted and front coded, i.e each name is stored as the length of the
+ * prefix it shares with the previous name followed by the remaining 
+ * characters, all in a single array. The values are held in a parallel 
+ * array, deduplicated by a {@link com.bc.config.StringPool StringPool} if 
+ * one is provided. Lookups binary search the names without decoding them. 
+ * Values set via {@link #set(java.lang.String, java.lang.String)} are held
+ * in a map which overrides the compact data.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * The {@link #getData()} method returns a copy. Hence changes to the
+ * properties returned by that method will not be reflected in this config.
+ * </p>
+ * @see com.bc.config.PropertiesConfigService#setCompact(boolean)
+ * @see com.bc.config.HeapFootprint
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:52:17 PM
+ */
+public class CompactConfig extends AbstractConfig<Properties> {
+
+    private final FrontCodedKeys keys;
+
+    private final String [] values;
+    
+    /**
+     * The indices of the values supplied by the defaults of the data
+     */
+    private final BitSet defaults;
+
+    /**
+     * Values set via this config
+     */
+    private final ConcurrentMap<String, String> overrides;
+
+    /**
+     * Names set via this config which are not in the compact data
+     */
+    private final ConcurrentSkipListSet<String> added;
+
+    private final Set<String> names;
+
+    public CompactConfig(Properties data) {
+        this(data, "EEE MMM dd HH:mm:ss z yyyy");
+    }
+
+    public CompactConfig(Properties data, String timePattern) {
+        this(data, timePattern, null);
+    }
+
+    /**
+     * @param data The data to compact. Defaults of the data are merged into
+     * this config. Later changes to the data are not reflected in this config.
+     * @param timePattern The pattern used to format and parse time values
+     * @param pool If not null, used to deduplicate the values
+     */
+    public CompactConfig(Properties data, String timePattern, StringPool pool) {
+        super(timePattern);
+        final Set<String> dataNames = data.stringPropertyNames();
+        final String [] sorted = dataNames.toArray(new String[0]);
+        Arrays.sort(sorted);
+        this.values = new String[sorted.length];
+        this.defaults = new BitSet(sorted.length);
+        for(int i=0; i<sorted.length; i++) {
+            final String value = data.getProperty(sorted[i]);
+            values[i] = pool == null ? value : pool.intern(value);
+            if(FlattenedProperties.isFromDefaults(data, sorted[i])) {
+                defaults.set(i);
+            }
+        }
+        this.keys = new FrontCodedKeys(sorted);
+        this.overrides = new ConcurrentHashMap<>();
+        this.added = new ConcurrentSkipListSet<>();
+        this.names = new Names();
+    }
+
+    /**
+     * <b>Returns a copy</b>
+     * @return A copy of this config's data. Changes to the returned
+     * {@link java.util.Properties Properties} are <b>NOT</b> reflected in this config.
+     * Values supplied by the defaults of the compacted data, and not since
+     * set, are the defaults of the copy, hence are not stored with it.
+     */
+    @Override
+    public Properties getData() {
+        final Properties defaultData = new Properties();
+        final Properties copy = new Properties(defaultData);
+        final Iterator<String> iter = keys.iterator(0);
+        for(int i=0; iter.hasNext(); i++) {
+            (defaults.get(i) ? defaultData : copy).setProperty(iter.next(), values[i]);
+        }
+        for(Map.Entry<String, String> entry : overrides.entrySet()) {
+            defaultData.remove(entry.getKey());
+            copy.setProperty(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    @Override
+    protected String doGet(String key, String defaultValue) {
+        String value = overrides.isEmpty() ? null : overrides.get(key);
+        if(value == null) {
+            final int index = keys.indexOf(key);
+            if(index >= 0) {
+                value = values[index];
+            }
+        }
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    protected Object doSet(String key, String value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final String previous = overrides.put(key, value);
+        if(previous != null) {
+            return previous;
+        }
+        final int index = keys.indexOf(key);
+        if(index < 0) {
+            added.add(key);
+            return null;
+        }
+        return values[index];
+    }
+
+    @Override
+    protected boolean containsName(String name) {
+        return overrides.containsKey(name) || keys.indexOf(name) >= 0;
+    }
+
+    /**
+     * @return The names which start with the prefix, in sorted order. Names
+     * are decoded during iteration.
+     */
+    @Override
+    protected Iterator<String> getNamesStartingWith(String prefix) {
+        final int index = keys.indexOf(prefix);
+        return new Merge(keys.iterator(index < 0 ? -index - 1 : index), 
+                added.tailSet(prefix).iterator(), prefix);
+    }
+
+    @Override
+    public int size() {
+        return keys.size() + added.size();
+    }
+
+    /**
+     * @return A read only view of the names of this config, in sorted order.
+     * Names are decoded during iteration.
+     */
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Adds the structures of this config, and the values in the compact data,
+     * to the footprint. The names in the compact data are not strings, hence
+     * are counted as structure.
+     */
+    void addTo(HeapFootprint footprint) {
+        footprint.addConfig(keys.size() + overrides.size());
+        footprint.addStructure(HeapFootprint.arrayBytes(keys.size() + 1, 4));
+        footprint.addStructure(HeapFootprint.arrayBytes(keys.getDataLength(), 2));
+        footprint.addStructure(HeapFootprint.arrayBytes(values.length, 4));
+        footprint.addStructure(HeapFootprint.arrayBytes((values.length + 63) / 64, 8));
+        for(String value : values) {
+            footprint.addString(value);
+        }
+        footprint.addMap(overrides);
+    }
+
+    private final class Names extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && containsName((String)o);
+        }
+        @Override
+        public int size() {
+            return CompactConfig.this.size();
+        }
+        @Override
+        public Iterator<String> iterator() {
+            return new Merge(keys.iterator(0), added.iterator(), "");
+        }
+    }
+
+    /**
+     * Merges two sorted iterators of distinct names, until a name does not
+     * start with the prefix
+     */
+    private static final class Merge implements Iterator<String> {
+
+        private final Iterator<String> first;
+
+        private final Iterator<String> second;
+
+        private final String prefix;
+
+        private String nextOfFirst;
+
+        private String nextOfSecond;
+
+        private Merge(Iterator<String> first, Iterator<String> second, String prefix) {
+            this.first = first;
+            this.second = second;
+            this.prefix = prefix;
+            this.nextOfFirst = this.advance(first);
+            this.nextOfSecond = this.advance(second);
+        }
+
+        private String advance(Iterator<String> iter) {
+            if(iter.hasNext()) {
+                final String name = iter.next();
+                if(name.startsWith(prefix)) {
+                    return name;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextOfFirst != null || nextOfSecond != null;
+        }
+
+        @Override
+        public String next() {
+            final String name;
+            if(nextOfSecond == null || (nextOfFirst != null && nextOfFirst.compareTo(nextOfSecond) < 0)) {
+                if(nextOfFirst == null) {
+                    throw new NoSuchElementException();
+                }
+                name = nextOfFirst;
+                nextOfFirst = this.advance(first);
+            }else{
+                name = nextOfSecond;
+                nextOfSecond = this.advance(second);
+            }
+            return name;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.bc.config;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Properties;
 
 /**
@@ -38,6 +39,8 @@ import java.util.Properties;
  */
 public class CompositeConfig extends AbstractCompositeConfig<Properties> {
 
+    private transient volatile Versioned<Properties> merged;
+
     public CompositeConfig(ConfigService<Properties> configService) throws IOException {
         super(configService);
     }
@@ -64,18 +67,46 @@ public class CompositeConfig extends AbstractCompositeConfig<Properties> {
 
     /**
      * <b>Returns a copy</b>
+     * <p>
+     * The combined properties are resolved once and reused until the 
+     * {@link #getVersion() version} of this config changes, provided this 
+     * config {@link #isChangeTracked() tracks every change}. Otherwise, e.g
+     * for {@link com.bc.config.ConfigImpl ConfigImpl}s whose data may be 
+     * changed directly, they are combined afresh on each call. Each call 
+     * returns a shallow copy of the reused properties.
+     * </p>
      * @return A copy of the combination of all the {@link java.util.Properties Properties} 
      * which composes this config's data. Changes to the returned {@link java.util.Properties Properties}
      * are <b>NOT</b> reflected in this config.
      */
     @Override
     public Properties getData() {
-        Properties all = new Properties();
+        return (Properties)this.getMerged().clone();
+    }
+    
+    private Properties getMerged() {
+        final long version = this.isChangeTracked() ? this.getVersion() : -1;
+        final Versioned<Properties> current = this.merged;
+        if(current != null && current.isVersion(version)) {
+            return current.value;
+        }
+        final Properties all = new Properties();
         for(Config<Properties> config : this.getPropertiesList()) {
             for(String key : config.getNames()) {
                 all.setProperty(key, config.get(key));
             }
         }
+        if(version != -1) {
+            this.merged = new Versioned<>(version, all);
+        }
         return all;
     }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 17 * hash + Objects.hashCode(this.getTimePattern());
+        hash = 17 * hash + this.getMerged().hashCode();
+        return hash;
+    }
 }
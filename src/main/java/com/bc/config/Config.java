@@ -1,8 +1,15 @@
 package com.bc.config;
 
 import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -56,6 +63,22 @@ public interface Config<DATA_TYPE> {
 
     Collection<String> getCollection(String key, Collection defaultValue);
 
+    default Set<String> getSet(String key) {
+        return this.getSet(key, ",");
+    }
+
+    /**
+     * @param key The key whose value is to be split
+     * @param separator The separator, as for {@link #getArray(java.lang.String, java.lang.String)}
+     * @return An unmodifiable set of the split values, in order, or null if 
+     * there is no value for the key
+     */
+    default Set<String> getSet(String key, String separator) {
+        final String [] values = this.getArray(key, separator);
+        return values == null ? null : 
+                Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(values)));
+    }
+
     Double getDouble(String key);
 
     double getDouble(String key, double defaultValue);
@@ -94,6 +117,51 @@ public interface Config<DATA_TYPE> {
      */
     Calendar getTime(String key) throws ParseException;
 
+    default Instant getInstant(String key) throws ParseException {
+        final Calendar time = this.getTime(key);
+        return time == null ? null : time.toInstant();
+    }
+
+    default Instant getInstant(String key, Instant defaultValue) throws ParseException {
+        final Instant instant = this.getInstant(key);
+        return instant == null ? defaultValue : instant;
+    }
+
+    /**
+     * @param key
+     * @return The time represented by <tt>key</tt> as contained in the config
+     *         document of this object, in the system default time zone, or 
+     *         null if no such time is specified.
+     * @throws java.text.ParseException
+     */
+    default LocalDateTime getLocalDateTime(String key) throws ParseException {
+        final Instant instant = this.getInstant(key);
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    default LocalDateTime getLocalDateTime(String key, LocalDateTime defaultValue) throws ParseException {
+        final LocalDateTime ldt = this.getLocalDateTime(key);
+        return ldt == null ? defaultValue : ldt;
+    }
+
+    /**
+     * Durations may be specified in ISO-8601 format (e.g <tt>PT30S</tt>) or 
+     * as a number of milliseconds (e.g <tt>30000</tt>).
+     * @param key
+     * @return The duration represented by <tt>key</tt> as contained in the 
+     *         config document of this object, or null if no such duration is 
+     *         specified.
+     */
+    default Duration getDuration(String key) {
+        final String value = this.get(key);
+        return value == null ? null : AbstractConfig.toDuration(value);
+    }
+
+    default Duration getDuration(String key, Duration defaultValue) {
+        final Duration duration = this.getDuration(key);
+        return duration == null ? defaultValue : duration;
+    }
+
     String getTimePattern();
 
     String[] setArray(String key, String[] arr);
@@ -124,6 +192,74 @@ public interface Config<DATA_TYPE> {
     
     int size();
     
+    /**
+     * Changes made via {@link #set(java.lang.String, java.lang.String)} 
+     * to the key are dispatched to the listener, off the thread making the change.
+     * @param key The key whose changes the listener is to receive
+     * @param listener The listener to add. Not added if this config does not
+     * {@link #isListenerSupported() support listeners}, as is the default.
+     * @see com.bc.config.ConfigListeners
+     */
+    default void addListener(String key, ConfigListener listener) { }
+    
+    /**
+     * Changes made via {@link #set(java.lang.String, java.lang.String)} to
+     * keys with the prefix <tt>subset_name + separator</tt> are dispatched to 
+     * the listener, off the thread making the change. The keys of the changes
+     * are not shortened as they are for {@link #subset(java.lang.String, java.lang.String)}.
+     * @param subset_name The name of the subset whose changes the listener is to receive
+     * @param separator
+     * @param listener The listener to add. Not added if this config does not
+     * {@link #isListenerSupported() support listeners}, as is the default.
+     * @see com.bc.config.ConfigListeners
+     */
+    default void addListener(String subset_name, String separator, ConfigListener listener) { }
+    
+    default void removeListener(ConfigListener listener) { }
+    
+    /**
+     * @return true if listeners added to this config receive its changes.
+     * By default false, and {@link #addListener(java.lang.String, com.bc.config.ConfigListener) addListener}
+     * does nothing.
+     */
+    default boolean isListenerSupported() {
+        return false;
+    }
+    
+    /**
+     * @return true if this config has been changed since it was last 
+     * {@link #markClean() marked clean}, e.g when last stored. By default 
+     * true, as changes are not tracked.
+     */
+    default boolean isDirty() {
+        return true;
+    }
+    
+    /**
+     * @return A snapshot of the names changed since this config was last 
+     * {@link #markClean() marked clean}, or null if not known, in which case
+     * all names are taken as changed. By default null.
+     */
+    default Set<String> getDirtyNames() {
+        return null;
+    }
+    
+    /**
+     * Marks this config as having no changes to store. By default does nothing.
+     */
+    default void markClean() { }
+    
+    /**
+     * @return true if every change to this config is reflected by 
+     * {@link #isDirty()}, i.e the config's data can only be changed via
+     * {@link #set(java.lang.String, java.lang.String)}. false if the data may
+     * also be changed directly, e.g because {@link #getData()} returns the
+     * live data. By default false.
+     */
+    default boolean isChangeTracked() {
+        return false;
+    }
+    
     /**
      * <p>
      * <b>Note</b>: Using multiple dots (e.g <tt>..</tt>) or dollar signs 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.config;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A change to the value of a key in a {@link com.bc.config.Config Config}.
+ * Values are as set, i.e references (e.g <code>${name}</code>) are not resolved.
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 7:02:18 PM
+ */
+public final class ConfigChange implements Serializable {
+
+    private final String key;
+
+    private final String oldValue;
+
+    private final String newValue;
+
+    public ConfigChange(String key, String oldValue, String newValue) {
+        this.key = Objects.requireNonNull(key);
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The previous value, or null if the key was added
+     */
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return The new value, or null if the key was removed
+     */
+    public String getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 29 * hash + Objects.hashCode(this.key);
+        hash = 29 * hash + Objects.hashCode(this.oldValue);
+        hash = 29 * hash + Objects.hashCode(this.newValue);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final ConfigChange other = (ConfigChange) obj;
+        return Objects.equals(this.key, other.key) && 
+                Objects.equals(this.oldValue, other.oldValue) && 
+                Objects.equals(this.newValue, other.newValue);
+    }
+
+    @Override
+    public String toString() {
+        return key + '{' + oldValue + " -> " + newValue + '}';
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A file format which is read into, and written from, flattened dotted keys,
+ * e.g a nested <code>url</code> under <code>db</code> is read as
+ * <code>db.url</code>.
+ * <p>
+ * Formats are looked up by file extension via {@link com.bc.config.ConfigFormats ConfigFormats}.
+ * JSON, YAML and TOML are built in. Other formats are discovered using
+ * {@link java.util.ServiceLoader ServiceLoader}, by listing the implementing
+ * class in <code>META-INF/services/com.bc.config.ConfigFormat</code>.
+ * Implementations must be public, with a public no-argument constructor.
+ * Files are read and written as UTF-8.
+ * </p>
+ * @see com.bc.config.PropertiesConfigService#getFormat(java.lang.String)
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:05:14 AM
+ */
+public interface ConfigFormat {
+
+    /**
+     * @return The file extensions of this format, without the dot,
+     * e.g <code>yaml</code>
+     */
+    String [] getExtensions();
+
+    /**
+     * Reads a document as flattened key/value pairs. Arrays of values are
+     * joined with commas, for use with {@link com.bc.config.Config#getArray(java.lang.String)}.
+     * Arrays containing nested structures give keys indexed from 0, e.g
+     * <code>servers.0.host</code>.
+     * @param in The reader to read the document from
+     * @param sink Receives each flattened key and value, in document order
+     * @throws IOException If the document could not be read or is malformed
+     */
+    void read(Reader in, BiConsumer<String, String> sink) throws IOException;
+
+    /**
+     * Writes flattened keys as a document, such that
+     * {@link #read(java.io.Reader, java.util.function.BiConsumer) reading}
+     * the document gives back the same keys and values.
+     * @param out The writer to write the document to. The writer is flushed
+     * but not closed.
+     * @param data The flattened keys and their values. Null values are skipped.
+     * @throws IOException
+     */
+    void write(Writer out, Map<?, ?> data) throws IOException;
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@link com.bc.config.ConfigFormat ConfigFormat}s available, by file
+ * extension.
+ * <p>
+ * The built in formats are registered first, followed by the formats
+ * discovered using {@link java.util.ServiceLoader ServiceLoader} on first use.
+ * A discovered format replaces any format registered earlier for the same
+ * extension. The <code>properties</code> extension has no format, as
+ * properties files are read by {@link java.util.Properties Properties} itself.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:52:40 AM
+ */
+public final class ConfigFormats {
+
+    private static transient final Logger logger = Logger.getLogger(ConfigFormats.class.getName());
+
+    private static final class Holder {
+        private static final Map<String, ConfigFormat> FORMATS = load();
+    }
+
+    private ConfigFormats() { }
+
+    /**
+     * @param filename The name or path of a file
+     * @return The format for the extension of the file name, ignoring case,
+     * or null if none
+     */
+    public static ConfigFormat get(String filename) {
+        final int dot = filename.lastIndexOf('.');
+        if(dot == -1 || dot < Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'))) {
+            return null;
+        }
+        return Holder.FORMATS.get(filename.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The file extensions which have a format, without the dot
+     */
+    public static Set<String> getExtensions() {
+        return Holder.FORMATS.keySet();
+    }
+
+    private static Map<String, ConfigFormat> load() {
+
+        final Map<String, ConfigFormat> formats = new HashMap<>();
+
+        add(formats, new JsonFormat());
+        add(formats, new YamlFormat());
+        add(formats, new TomlFormat());
+
+        final Iterator<ConfigFormat> discovered = ServiceLoader.load(ConfigFormat.class).iterator();
+        while(true) {
+            try{
+                if(!discovered.hasNext()) {
+                    break;
+                }
+                final ConfigFormat format = discovered.next();
+
+logger.log(Level.FINE, "Discovered: {0}", format);
+
+                add(formats, format);
+            }catch(ServiceConfigurationError e) {
+                logger.log(Level.WARNING, "Failed to load a " + ConfigFormat.class.getName(), e);
+            }
+        }
+
+        return Collections.unmodifiableMap(formats);
+    }
+
+    private static void add(Map<String, ConfigFormat> formats, ConfigFormat format) {
+        for(String extension : format.getExtensions()) {
+            formats.put(extension.toLowerCase(Locale.ROOT), format);
+        }
+    }
+}
@@ -42,4 +42,51 @@ public interface ConfigGroup<DATA_TYPE> extends Map<String, Config<DATA_TYPE>>{
     String getFor(String filename, String key, String defaultValue);
 
     Object setFor(String filename, String key, String value);
+
+    /**
+     * Changes to the key of the config for the filename are dispatched to the 
+     * listener. This includes changes made via {@link #setFor(java.lang.String, java.lang.String, java.lang.String)} 
+     * and the changes resulting from replacing the config (e.g on reload).
+     * <p>
+     * If the config does not {@link com.bc.config.Config#isListenerSupported() support listeners},
+     * only the changes resulting from replacing the config are dispatched.
+     * By default, the listener is added to the current config for the filename,
+     * and so does not receive the changes resulting from replacing it.
+     * </p>
+     * @param filename
+     * @param key
+     * @param listener 
+     * @see com.bc.config.Config#addListener(java.lang.String, com.bc.config.ConfigListener) 
+     */
+    default void addListener(String filename, String key, ConfigListener listener) {
+        final Config<DATA_TYPE> config = this.get(filename);
+        if(config != null) {
+            config.addListener(key, listener);
+        }
+    }
+
+    /**
+     * Changes to keys with prefix <tt>subset_name + separator</tt> of the config
+     * for the filename are dispatched to the listener. This includes changes 
+     * made via {@link #setFor(java.lang.String, java.lang.String, java.lang.String)} 
+     * and the changes resulting from replacing the config (e.g on reload).
+     * @param filename
+     * @param subset_name
+     * @param separator
+     * @param listener 
+     * @see #addListener(java.lang.String, java.lang.String, com.bc.config.ConfigListener) 
+     * @see com.bc.config.Config#addListener(java.lang.String, java.lang.String, com.bc.config.ConfigListener) 
+     */
+    default void addListener(String filename, String subset_name, String separator, ConfigListener listener) {
+        final Config<DATA_TYPE> config = this.get(filename);
+        if(config != null) {
+            config.addListener(subset_name, separator, listener);
+        }
+    }
+
+    default void removeListener(ConfigListener listener) {
+        for(Config<DATA_TYPE> config : this.values()) {
+            config.removeListener(listener);
+        }
+    }
 }
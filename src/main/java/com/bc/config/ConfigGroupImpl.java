@@ -1,20 +1,47 @@
 package com.bc.config;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * A {@link com.bc.config.ConfigGroup} contains multiple {@link com.bc.config.Config} instances
+ * A {@link com.bc.config.ConfigGroup} contains multiple {@link com.bc.config.Config} instances.
+ * Safe for concurrent use; null keys and values are not permitted.
  * @author Josh
  */
 public class ConfigGroupImpl<DATA_TYPE> 
-        extends HashMap<String, Config<DATA_TYPE>> 
+        extends ConcurrentHashMap<String, Config<DATA_TYPE>> 
         implements ConfigGroup<DATA_TYPE>, Serializable {
     
     private transient final Logger logger = Logger.getLogger(ConfigGroupImpl.class.getName());
+    
+    /**
+     * Null until the first listener is added
+     */
+    private transient volatile ConcurrentMap<String, FileListeners> listeners;
+    
+    /**
+     * Listeners for the config of a filename. Registered on that config,
+     * to forward its changes to the listeners.
+     */
+    private static final class FileListeners implements ConfigListener {
+        private final ConfigListeners registry = new ConfigListeners();
+        @Override
+        public void onChange(List<ConfigChange> changes) {
+            registry.dispatch(changes);
+        }
+    }
 
     public ConfigGroupImpl() { }
 
@@ -75,6 +102,213 @@ public class ConfigGroupImpl<DATA_TYPE>
         return properties.set(key, value);
     }
     
+    @Override
+    public void addListener(String filename, String key, ConfigListener listener) {
+        this.getListeners(filename).registry.add(key, listener);
+    }
+
+    @Override
+    public void addListener(String filename, String subset_name, String separator, ConfigListener listener) {
+        this.getListeners(filename).registry.addPrefix(subset_name + separator, listener);
+    }
+
+    @Override
+    public void removeListener(ConfigListener listener) {
+        final ConcurrentMap<String, FileListeners> map = this.listeners;
+        if(map != null) {
+            for(FileListeners fileListeners : map.values()) {
+                fileListeners.registry.remove(listener);
+            }
+        }
+    }
+    
+    private FileListeners getListeners(String filename) {
+        ConcurrentMap<String, FileListeners> map = this.listeners;
+        if(map == null) {
+            synchronized(this) {
+                map = this.listeners;
+                if(map == null) {
+                    map = new ConcurrentHashMap<>();
+                    this.listeners = map;
+                }
+            }
+        }
+        return map.computeIfAbsent(filename, (name) -> {
+            final FileListeners fileListeners = new FileListeners();
+            final Config config = super.get(name);
+            if(config != null && config.isListenerSupported()) {
+                config.addListener("", "", fileListeners);
+            }
+            return fileListeners;
+        });
+    }
+
+    /**
+     * If listeners were added for the filename, the changes between the 
+     * previous and the new config are dispatched to them. The same applies
+     * to all other methods which change the config of a filename, e.g
+     * {@link #remove(java.lang.Object)}, {@link #compute(java.lang.String, java.util.function.BiFunction)}. 
+     * Changes made via the {@link #keySet() key}, {@link #values() value} 
+     * and {@link #entrySet() entry} views are not dispatched.
+     * @param filename
+     * @param config
+     * @return The previous config for the filename, or null if there was none
+     */
+    @Override
+    public Config<DATA_TYPE> put(String filename, Config<DATA_TYPE> config) {
+        final Config<DATA_TYPE> previous = super.put(filename, config);
+        this.replaced(filename, previous, config);
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Config<DATA_TYPE>> map) {
+        for(Map.Entry<? extends String, ? extends Config<DATA_TYPE>> entry : map.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Config<DATA_TYPE> putIfAbsent(String filename, Config<DATA_TYPE> config) {
+        final Config<DATA_TYPE> previous = super.putIfAbsent(filename, config);
+        if(previous == null) {
+            this.replaced(filename, null, config);
+        }
+        return previous;
+    }
+    
+    @Override
+    public Config<DATA_TYPE> remove(Object filename) {
+        final Config<DATA_TYPE> previous = super.remove(filename);
+        if(previous != null) {
+            this.replaced((String)filename, previous, null);
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean remove(Object filename, Object config) {
+        if(super.remove(filename, config)) {
+            this.replaced((String)filename, (Config<DATA_TYPE>)config, null);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Config<DATA_TYPE> replace(String filename, Config<DATA_TYPE> config) {
+        final Config<DATA_TYPE> previous = super.replace(filename, config);
+        if(previous != null) {
+            this.replaced(filename, previous, config);
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean replace(String filename, Config<DATA_TYPE> oldConfig, Config<DATA_TYPE> newConfig) {
+        if(super.replace(filename, oldConfig, newConfig)) {
+            this.replaced(filename, oldConfig, newConfig);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Config<DATA_TYPE>, ? extends Config<DATA_TYPE>> function) {
+        for(String filename : this.keySet()) {
+            this.computeIfPresent(filename, (k, v) -> Objects.requireNonNull(function.apply(k, v)));
+        }
+    }
+
+    @Override
+    public Config<DATA_TYPE> computeIfAbsent(String filename, 
+            Function<? super String, ? extends Config<DATA_TYPE>> mappingFunction) {
+        return this.compute(filename, (k, v) -> v != null ? v : mappingFunction.apply(k));
+    }
+
+    @Override
+    public Config<DATA_TYPE> computeIfPresent(String filename, 
+            BiFunction<? super String, ? super Config<DATA_TYPE>, ? extends Config<DATA_TYPE>> remappingFunction) {
+        return this.compute(filename, (k, v) -> v == null ? null : remappingFunction.apply(k, v));
+    }
+
+    @Override
+    public Config<DATA_TYPE> compute(String filename, 
+            BiFunction<? super String, ? super Config<DATA_TYPE>, ? extends Config<DATA_TYPE>> remappingFunction) {
+        final List<Config<DATA_TYPE>> previous = new ArrayList<>(1);
+        final Config<DATA_TYPE> config = super.compute(filename, (k, v) -> {
+            previous.clear();
+            previous.add(v);
+            return remappingFunction.apply(k, v);
+        });
+        this.replaced(filename, previous.isEmpty() ? null : previous.get(0), config);
+        return config;
+    }
+
+    @Override
+    public Config<DATA_TYPE> merge(String filename, Config<DATA_TYPE> config, 
+            BiFunction<? super Config<DATA_TYPE>, ? super Config<DATA_TYPE>, ? extends Config<DATA_TYPE>> remappingFunction) {
+        Objects.requireNonNull(config);
+        return this.compute(filename, (k, v) -> v == null ? config : remappingFunction.apply(v, config));
+    }
+
+    @Override
+    public void clear() {
+        for(String filename : this.keySet()) {
+            this.remove(filename);
+        }
+    }
+    
+    /**
+     * Moves the listeners of the filename, if any, from the previous to the
+     * new config and dispatches the changes between them
+     * @param previous The previous config, or null if there was none
+     * @param config The new config, or null if it was removed
+     */
+    private void replaced(String filename, Config<DATA_TYPE> previous, Config<DATA_TYPE> config) {
+        final ConcurrentMap<String, FileListeners> map = this.listeners;
+        final FileListeners fileListeners = map == null ? null : map.get(filename);
+        if(fileListeners == null || previous == config) {
+            return;
+        }
+        if(previous != null) {
+            previous.removeListener(fileListeners);
+        }
+        if(config != null && config.isListenerSupported()) {
+            config.removeListener(fileListeners);
+            config.addListener("", "", fileListeners);
+        }
+        fileListeners.registry.dispatch(this.getChanges(previous, config));
+    }
+    
+    private List<ConfigChange> getChanges(Config<DATA_TYPE> previous, Config<DATA_TYPE> config) {
+        final List<ConfigChange> changes = new ArrayList<>();
+        final Set<String> names = config == null ? Collections.emptySet() : config.getNames();
+        for(String name : names) {
+            final String newValue = this.getRaw(config, name);
+            final String oldValue = previous == null ? null : this.getRaw(previous, name);
+            if(!Objects.equals(oldValue, newValue)) {
+                changes.add(new ConfigChange(name, oldValue, newValue));
+            }
+        }
+        if(previous != null) {
+            for(String name : previous.getNames()) {
+                if(!names.contains(name)) {
+                    changes.add(new ConfigChange(name, this.getRaw(previous, name), null));
+                }
+            }
+        }
+        return changes;
+    }
+    
+    /**
+     * @return The value as set, i.e without resolving references, if possible
+     */
+    private String getRaw(Config config, String name) {
+        return config instanceof AbstractConfig ? 
+                ((AbstractConfig)config).doGet(name) : config.get(name);
+    }
+    
     @Override
     public String toString() {
         return this.getClass().getName() + ": " + this.keySet();
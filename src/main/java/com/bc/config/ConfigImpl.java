@@ -27,7 +27,11 @@ public class ConfigImpl extends AbstractConfig<Properties> {
     }
 
     public ConfigImpl(Properties data, String timePattern) {
-        super(timePattern);
+        this(data, timePattern, false);
+    }
+
+    public ConfigImpl(Properties data, String timePattern, boolean cacheResolvedValues) {
+        super(timePattern, cacheResolvedValues);
         this.data = Objects.requireNonNull(data);
     }
 
@@ -42,6 +46,15 @@ public class ConfigImpl extends AbstractConfig<Properties> {
         return data;
     }
     
+    /**
+     * @return false, as changes made directly to the {@link #getData() data}
+     * are not tracked
+     */
+    @Override
+    public boolean isChangeTracked() {
+        return false;
+    }
+    
     @Override
     public String doGet(String key, String defaultValue) {
         final String value = data.getProperty(key, defaultValue);
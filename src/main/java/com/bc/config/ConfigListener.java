@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.config;
+
+import java.util.List;
+
+/**
+ * Receives changes to {@link com.bc.config.Config Config} values.
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 7:04:51 PM
+ */
+@FunctionalInterface
+public interface ConfigListener {
+
+    /**
+     * Called off the thread which made the changes.
+     * @param changes The changes of a single change set (e.g a call to 
+     * {@link com.bc.config.Config#set(java.lang.String, java.lang.String) set}
+     * or a reload) which match this listener's subscription.
+     */
+    void onChange(List<ConfigChange> changes);
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A registry of {@link com.bc.config.ConfigListener ConfigListener}s 
+ * subscribed to exact keys or to key prefixes.
+ * <p>
+ * Subscriptions are indexed in a trie of key characters, so the cost of 
+ * dispatching a change is proportional to the length of the changed key 
+ * and the number of matching listeners, not the total number of listeners.
+ * </p>
+ * <p>
+ * Each listener receives the changes of a change set which match it in a 
+ * single call. Listeners are called on the executor, by default a single 
+ * daemon thread shared by all registries, which preserves the order of changes.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 7:09:37 PM
+ */
+public class ConfigListeners {
+
+    private transient static final Logger logger = Logger.getLogger(ConfigListeners.class.getName());
+
+    private static final class DefaultExecutorHolder {
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor((runnable) -> {
+            final Thread thread = new Thread(runnable, ConfigListeners.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Node {
+        private final ConcurrentMap<Character, Node> children = new ConcurrentHashMap<>(4);
+        private final List<ConfigListener> exact = new CopyOnWriteArrayList<>();
+        private final List<ConfigListener> prefix = new CopyOnWriteArrayList<>();
+    }
+
+    private final Node root;
+
+    private final Executor executor;
+
+    public ConfigListeners() {
+        this(null);
+    }
+
+    /**
+     * @param executor The executor on which listeners are called. If null, 
+     * a single daemon thread shared by all registries is used.
+     */
+    public ConfigListeners(Executor executor) {
+        this.root = new Node();
+        this.executor = executor;
+    }
+
+    /**
+     * @param key The key whose changes the listener is to receive
+     * @param listener The listener to add
+     */
+    public void add(String key, ConfigListener listener) {
+        this.getOrCreate(key).exact.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Listeners for the empty prefix receive all changes.
+     * @param prefix The prefix of keys whose changes the listener is to receive
+     * @param listener The listener to add
+     */
+    public void addPrefix(String prefix, ConfigListener listener) {
+        this.getOrCreate(prefix).prefix.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes all subscriptions of the listener
+     * @param listener The listener to remove
+     */
+    public void remove(ConfigListener listener) {
+        this.remove(root, listener);
+    }
+
+    private void remove(Node node, ConfigListener listener) {
+        node.exact.remove(listener);
+        node.prefix.remove(listener);
+        for(Node child : node.children.values()) {
+            this.remove(child, listener);
+        }
+    }
+
+    private Node getOrCreate(String key) {
+        Node node = root;
+        for(int i=0; i<key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), (c) -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * Dispatches the changes of a change set to the matching listeners.
+     * Returns without waiting for the listeners to be called.
+     * @param changes The changes to dispatch
+     */
+    public void dispatch(Collection<ConfigChange> changes) {
+        if(changes.isEmpty()) {
+            return;
+        }
+        final Map<ConfigListener, List<ConfigChange>> matches = new IdentityHashMap<>();
+        for(ConfigChange change : changes) {
+            this.collect(change, matches);
+        }
+        if(matches.isEmpty()) {
+            return;
+        }
+        final Executor e = this.executor == null ? DefaultExecutorHolder.INSTANCE : this.executor;
+        e.execute(() -> {
+            for(Map.Entry<ConfigListener, List<ConfigChange>> entry : matches.entrySet()) {
+                try{
+                    entry.getKey().onChange(Collections.unmodifiableList(entry.getValue()));
+                }catch(RuntimeException ex) {
+                    logger.log(Level.WARNING, "Listener failed: " + entry.getKey(), ex);
+                }
+            }
+        });
+    }
+
+    private void collect(ConfigChange change, Map<ConfigListener, List<ConfigChange>> matches) {
+        final String key = change.getKey();
+        Node node = root;
+        this.add(node.prefix, change, matches);
+        for(int i=0; i<key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if(node == null) {
+                return;
+            }
+            this.add(node.prefix, change, matches);
+        }
+        this.add(node.exact, change, matches);
+    }
+
+    private void add(List<ConfigListener> listeners, ConfigChange change, 
+            Map<ConfigListener, List<ConfigChange>> matches) {
+        for(ConfigListener listener : listeners) {
+            final List<ConfigChange> list = matches.computeIfAbsent(listener, (k) -> new ArrayList<>());
+            if(list.isEmpty() || list.get(list.size() - 1) != change) {
+                list.add(change);
+            }
+        }
+    }
+}
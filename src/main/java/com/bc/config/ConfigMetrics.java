@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+/**
+ * Receives measurements from {@link com.bc.config.AbstractConfig AbstractConfig}s
+ * and {@link com.bc.config.AbstractConfigService AbstractConfigService}s.
+ * <p>
+ * Metrics are opt-in. Configs and services record nothing, not even the time,
+ * until given metrics via <code>setMetrics</code>. A service passes its
+ * metrics on to the configs it loads. Implementations are called on the
+ * threads reading and writing configs, and so must be thread safe and cheap.
+ * </p>
+ * @see com.bc.config.SimpleConfigMetrics
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:10:22 PM
+ */
+public interface ConfigMetrics {
+
+    /**
+     * Records nothing. Setting these metrics turns recording off.
+     */
+    ConfigMetrics NONE = new ConfigMetrics() {
+        @Override
+        public void recordGet(String key, boolean found, long nanos) { }
+        @Override
+        public void recordSet(String key) { }
+        @Override
+        public void recordResolve(long nanos) { }
+        @Override
+        public void recordLoad(String name, long nanos) { }
+        @Override
+        public void recordStore(String name, long nanos) { }
+        @Override
+        public void recordCacheHit(String name) { }
+        @Override
+        public void recordCacheMiss(String name) { }
+        @Override
+        public ConfigMetricsSnapshot snapshot() {
+            return ConfigMetricsSnapshot.EMPTY;
+        }
+        @Override
+        public String toString() {
+            return ConfigMetrics.class.getSimpleName() + ".NONE";
+        }
+    };
+
+    /**
+     * @param key The key read
+     * @param found true if a value was returned, including a default value
+     * @param nanos The time taken to read, including resolving references
+     */
+    void recordGet(String key, boolean found, long nanos);
+
+    /**
+     * @param key The key set
+     */
+    void recordSet(String key);
+
+    /**
+     * Recorded for each value with <code>${}</code> references resolved while reading
+     * @param nanos The time taken to resolve the references of the value
+     */
+    void recordResolve(long nanos);
+
+    /**
+     * @param name The name of the config loaded
+     * @param nanos The time taken to load the config
+     */
+    void recordLoad(String name, long nanos);
+
+    /**
+     * @param name The name of the config stored
+     * @param nanos The time taken to store the config
+     */
+    void recordStore(String name, long nanos);
+
+    /**
+     * A request for the config was served from the cache of the service,
+     * or by a load already in progress
+     * @param name The name of the config
+     */
+    void recordCacheHit(String name);
+
+    /**
+     * A request for the config caused it to be loaded
+     * @param name The name of the config
+     */
+    void recordCacheMiss(String name);
+
+    /**
+     * @return The measurements recorded so far
+     */
+    ConfigMetricsSnapshot snapshot();
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the measurements of a {@link com.bc.config.ConfigMetrics ConfigMetrics}.
+ * <p>
+ * Use {@link #toMap()} to export the measurements to a metrics library, 
+ * e.g as gauges, under flat names such as <code>get.count</code> and 
+ * <code>load.p99.nanos</code>.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:22:05 PM
+ */
+public final class ConfigMetricsSnapshot {
+
+    /**
+     * A copy of a latency histogram, in nanoseconds
+     */
+    public static final class Latency {
+
+        static final Latency EMPTY = new Latency(new long[0], 0, 0);
+
+        private final long [] counts;
+
+        private final long count;
+
+        private final long totalNanos;
+
+        private final long maxNanos;
+
+        Latency(long [] counts, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            long sum = 0;
+            for(long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double)totalNanos / count;
+        }
+
+        /**
+         * @param percentile The percentile, from 0 to 100
+         * @return The value at or below which the percentile of values fall,
+         * to within 12.5%, or 0 if no values were recorded
+         */
+        public long getPercentileNanos(double percentile) {
+            if(percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile not in range 0 to 100: " + percentile);
+            }
+            if(count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long)Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for(int i=0; i<counts.length; i++) {
+                seen += counts[i];
+                if(seen >= rank) {
+                    return Math.min(LatencyHistogram.highestValueAt(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + (long)this.getMeanNanos() + 
+                    ", p50=" + this.getPercentileNanos(50) + ", p99=" + this.getPercentileNanos(99) + 
+                    ", max=" + maxNanos + "}";
+        }
+    }
+
+    static final ConfigMetricsSnapshot EMPTY = new ConfigMetricsSnapshot(0, 0, 0, 0, 
+            Latency.EMPTY, Latency.EMPTY, Latency.EMPTY, Latency.EMPTY, Collections.emptyMap());
+
+    private final long getMisses;
+
+    private final long sets;
+
+    private final long cacheHits;
+
+    private final long cacheMisses;
+
+    private final Latency get;
+
+    private final Latency resolve;
+
+    private final Latency load;
+
+    private final Latency store;
+
+    private final Map<String, Long> keyCounts;
+
+    ConfigMetricsSnapshot(long getMisses, long sets, long cacheHits, long cacheMisses, 
+            Latency get, Latency resolve, Latency load, Latency store, 
+            Map<String, Long> keyCounts) {
+        this.getMisses = getMisses;
+        this.sets = sets;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.get = get;
+        this.resolve = resolve;
+        this.load = load;
+        this.store = store;
+        this.keyCounts = Collections.unmodifiableMap(keyCounts);
+    }
+
+    public long getGets() {
+        return get.getCount();
+    }
+
+    /**
+     * @return The number of reads which returned no value
+     */
+    public long getGetMisses() {
+        return getMisses;
+    }
+
+    public long getSets() {
+        return sets;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * @return The fraction of requests for configs served from the cache,
+     * or 0 if there were no requests
+     */
+    public double getCacheHitRatio() {
+        final long requests = cacheHits + cacheMisses;
+        return requests == 0 ? 0 : (double)cacheHits / requests;
+    }
+
+    public Latency getGetLatency() {
+        return get;
+    }
+
+    public Latency getResolveLatency() {
+        return resolve;
+    }
+
+    public Latency getLoadLatency() {
+        return load;
+    }
+
+    public Latency getStoreLatency() {
+        return store;
+    }
+
+    /**
+     * @return The read count of each key tracked, most read first
+     */
+    public Map<String, Long> getKeyCounts() {
+        return keyCounts;
+    }
+
+    /**
+     * @param limit The maximum number of keys to return
+     * @return The most read keys, most read first
+     */
+    public List<String> getHotKeys(int limit) {
+        final List<String> output = new ArrayList<>(Math.min(limit, keyCounts.size()));
+        for(String key : keyCounts.keySet()) {
+            if(output.size() >= limit) {
+                break;
+            }
+            output.add(key);
+        }
+        return output;
+    }
+
+    /**
+     * @return The measurements by flat name. Latencies are in nanoseconds.
+     */
+    public Map<String, Number> toMap() {
+        final Map<String, Number> output = new LinkedHashMap<>();
+        output.put("get.misses", getMisses);
+        output.put("set.count", sets);
+        output.put("cache.hits", cacheHits);
+        output.put("cache.misses", cacheMisses);
+        output.put("cache.hitRatio", this.getCacheHitRatio());
+        this.put(output, "get", get);
+        this.put(output, "resolve", resolve);
+        this.put(output, "load", load);
+        this.put(output, "store", store);
+        return output;
+    }
+
+    private void put(Map<String, Number> output, String name, Latency latency) {
+        output.put(name + ".count", latency.getCount());
+        output.put(name + ".mean.nanos", latency.getMeanNanos());
+        output.put(name + ".p50.nanos", latency.getPercentileNanos(50));
+        output.put(name + ".p90.nanos", latency.getPercentileNanos(90));
+        output.put(name + ".p99.nanos", latency.getPercentileNanos(99));
+        output.put(name + ".max.nanos", latency.getMaxNanos());
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + this.toMap();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A read only view of the properties of a parent {@link com.bc.config.Config Config}
+ * whose names start with a prefix, with the prefix removed from the names.
+ * <p>
+ * Nothing is copied. Values are read from the parent on demand, and names 
+ * are read from a range of the parent's sorted name index (see
+ * {@link com.bc.config.AbstractConfig#getNamesStartingWith(java.lang.String)}), so changes to the 
+ * parent are reflected in the view. Subsets of a view are views over the same 
+ * parent with a longer prefix.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * The {@link #getData()} method returns a copy. Hence changes to the
+ * properties returned by that method will not be reflected in this config.
+ * </p>
+ * @see com.bc.config.Config#subset(java.lang.String, java.lang.String) 
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 8:02:26 PM
+ */
+public class ConfigSubsetView extends AbstractConfig<Properties> {
+
+    private final Config parent;
+    
+    private final String prefix;
+    
+    private final Set<String> names;
+    
+    /**
+     * The size at a version of the parent
+     * @see #size() 
+     */
+    private transient volatile AbstractCompositeConfig.Versioned<Integer> size;
+
+    public ConfigSubsetView(Config parent, String subset_name, String separator) {
+        super(parent.getTimePattern());
+        this.parent = Objects.requireNonNull(parent);
+        this.prefix = subset_name + separator;
+        this.names = new Names();
+    }
+
+    /**
+     * <b>Returns a copy</b>
+     * @return A copy of the resolved values of this view. Changes to the 
+     * returned {@link java.util.Properties Properties} are <b>NOT</b> reflected 
+     * in this config.
+     */
+    @Override
+    public Properties getData() {
+        final Properties data = new Properties();
+        for(String name : names) {
+            final String value = parent.get(prefix + name);
+            if(value != null) {
+                data.setProperty(name, value);
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public String get(String key) {
+        return this.get(key, null);
+    }
+
+    /**
+     * Values are resolved by the parent.
+     */
+    @Override
+    public String get(String key, String defaultValue) {
+        return key.isEmpty() ? defaultValue : parent.get(prefix + key, defaultValue);
+    }
+
+    @Override
+    protected String doGet(String key, String defaultValue) {
+        return this.get(key, defaultValue);
+    }
+
+    @Override
+    public Object set(String key, String value) {
+        throw new UnsupportedOperationException("Read only");
+    }
+    
+    @Override
+    protected Object doSet(String key, String value) {
+        throw new UnsupportedOperationException("Read only");
+    }
+
+    /**
+     * @return A view over the same parent, with prefix 
+     * <tt>this view's prefix + subset_name + separator</tt>
+     */
+    @Override
+    public Config subset(String subset_name, String separator) {
+        return new ConfigSubsetView(parent, prefix + subset_name, separator);
+    }
+
+    /**
+     * Names are counted on the first call, and counted again when the 
+     * {@link com.bc.config.AbstractConfig#getVersion() version} of the parent
+     * changes. If the parent does not {@link com.bc.config.Config#isChangeTracked() track every change},
+     * names are counted on each call.
+     * @return The number of names in this view
+     */
+    @Override
+    public int size() {
+        final long version = parent instanceof AbstractConfig && parent.isChangeTracked() ?
+                ((AbstractConfig)parent).getVersion() : -1;
+        final AbstractCompositeConfig.Versioned<Integer> current = this.size;
+        if(current != null && current.isVersion(version)) {
+            return current.value;
+        }
+        final int n = names.size();
+        if(version != -1) {
+            this.size = new AbstractCompositeConfig.Versioned<>(version, n);
+        }
+        return n;
+    }
+
+    /**
+     * @return A read only view of the names of this config
+     */
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+    
+    public final Config getParent() {
+        return parent;
+    }
+
+    public final String getPrefix() {
+        return prefix;
+    }
+    
+    /**
+     * @return The names of the parent which start with the prefix. The 
+     * iterator may also return names following those names.
+     */
+    private Iterator<String> range() {
+        return parent instanceof AbstractConfig ?
+                ((AbstractConfig)parent).getNamesStartingWith(prefix) : 
+                new TreeSet<String>(parent.getNames()).tailSet(prefix).iterator();
+    }
+
+    private final class Names extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            if(!(o instanceof String) || ((String)o).isEmpty()) {
+                return false;
+            }
+            final String name = prefix + o;
+            return parent instanceof AbstractConfig ?
+                    ((AbstractConfig)parent).containsName(name) :
+                    parent.getNames().contains(name);
+        }
+        @Override
+        public int size() {
+            int n = 0;
+            for(Iterator<String> iter = this.iterator(); iter.hasNext(); iter.next()) {
+                ++n;
+            }
+            return n;
+        }
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<String> range = range();
+            return new Iterator<String>() {
+                private String next = advance();
+                private String advance() {
+                    while(range.hasNext()) {
+                        final String name = range.next();
+                        if(!name.startsWith(prefix)) {
+                            break;
+                        }
+                        if(name.length() > prefix.length()) {
+                            return name.substring(prefix.length());
+                        }
+                    }
+                    return null;
+                }
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+                @Override
+                public String next() {
+                    if(next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    final String name = next;
+                    next = advance();
+                    return name;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches directories for changes to config files and reloads the configs
+ * of the changed files.
+ * <p>
+ * Bursts of events are debounced: reloading starts only after no event has
+ * been received for the debounce period, and each affected config is then
+ * reloaded once. A config which fails to reload is left as it was.
+ * </p>
+ * Instances are obtained from the config services, e.g
+ * {@link com.bc.config.DirConfigService#watch(long)}, and must be
+ * {@link #close() closed} when no longer required.
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 6:12:40 PM
+ */
+public class ConfigWatcher implements Closeable {
+
+    private transient static final Logger logger = Logger.getLogger(ConfigWatcher.class.getName());
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    @FunctionalInterface
+    interface Reloader {
+        void reload(String name) throws IOException;
+    }
+
+    private final WatchService watchService;
+
+    private final Function<Path, Collection<String>> nameResolver;
+
+    private final Supplier<Collection<String>> allNames;
+
+    private final Reloader reloader;
+
+    private final long debounceMillis;
+
+    private final Thread thread;
+
+    /**
+     * @param dirs The directories to watch. Directories which do not exist are ignored.
+     * @param nameResolver Resolves the path of a changed file to the names of
+     * the configs to reload, which are none if the file is not a config file
+     * @param allNames Supplies the names of all configs, which are reloaded
+     * when events may have been lost
+     * @param reloader Reloads the config with the given name
+     * @param debounceMillis The debounce period in milliseconds
+     * @throws IOException
+     */
+    ConfigWatcher(Collection<Path> dirs, Function<Path, Collection<String>> nameResolver,
+            Supplier<Collection<String>> allNames, Reloader reloader,
+            long debounceMillis) throws IOException {
+        if(dirs.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to watch");
+        }
+        this.nameResolver = Objects.requireNonNull(nameResolver);
+        this.allNames = Objects.requireNonNull(allNames);
+        this.reloader = Objects.requireNonNull(reloader);
+        this.debounceMillis = debounceMillis;
+        this.watchService = dirs.iterator().next().getFileSystem().newWatchService();
+        try{
+            for(Path dir : new LinkedHashSet<>(dirs)) {
+                if(Files.isDirectory(dir)) {
+                    dir.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    logger.log(Level.FINE, "Watching: {0}", dir);
+                }else{
+                    logger.log(Level.WARNING, "Not a directory, will not be watched: {0}", dir);
+                }
+            }
+        }catch(IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = new Thread(this::run, this.getClass().getSimpleName() + '-' + threadCount.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try{
+            while(!Thread.currentThread().isInterrupted()) {
+                final Set<String> pending = new LinkedHashSet<>();
+                this.collect(watchService.take(), pending);
+                WatchKey next;
+                while((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    this.collect(next, pending);
+                }
+                this.reload(pending);
+            }
+        }catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }catch(ClosedWatchServiceException ignored) { }
+        logger.log(Level.FINE, "Stopped: {0}", Thread.currentThread().getName());
+    }
+
+    private void collect(WatchKey key, Set<String> pending) {
+        final Path dir = (Path)key.watchable();
+        for(WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                pending.addAll(allNames.get());
+                continue;
+            }
+            final Path path = dir.resolve((Path)event.context());
+            final Collection<String> names = nameResolver.apply(path);
+            if(logger.isLoggable(Level.FINER)) {
+                logger.log(Level.FINER, "{0} {1}, configs: {2}", new Object[]{event.kind(), path, names});
+            }
+            pending.addAll(names);
+        }
+        key.reset();
+    }
+
+    private void reload(Set<String> names) {
+        for(String name : names) {
+            try{
+                reloader.reload(name);
+                logger.log(Level.INFO, "Reloaded: {0}", name);
+            }catch(IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to reload: " + name, e);
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return thread.isAlive();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
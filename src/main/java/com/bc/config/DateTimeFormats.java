@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiles time patterns into immutable, thread-safe {@link java.time.format.DateTimeFormatter}s
+ * which parse the way {@link java.text.SimpleDateFormat} does, i.e:
+ * <ul>
+ *   <li>Parsing is case insensitive and lenient</li>
+ *   <li>Text after the parsed portion is ignored</li>
+ *   <li>Fields missing from the pattern default to <tt>1970-01-01 00:00:00</tt></li>
+ *   <li>The system default time zone is used when no zone is parsed</li>
+ * </ul>
+ * Pattern letters are those of SimpleDateFormat. The letters whose meaning 
+ * differs in DateTimeFormatter are mapped to the fields SimpleDateFormat uses:
+ * <ul>
+ *   <li><tt>S</tt> is the number of milliseconds, e.g <tt>.5</tt> for 
+ *   <tt>.S</tt> is 5 milliseconds, not half a second</li>
+ *   <li><tt>u</tt> is the day number of the week, 1 being Monday, not the year</li>
+ *   <li><tt>yy</tt> parses two digit years to within 80 years before and 
+ *   20 years after the time the pattern is compiled, not to 2000 - 2099</li>
+ * </ul>
+ * Differences which remain:
+ * <ul>
+ *   <li><tt>Y</tt> is the week based year of the default locale, as for 
+ *   SimpleDateFormat, only if the pattern also has week of year <tt>w</tt>. 
+ *   Otherwise it is taken as the year <tt>y</tt>, e.g <tt>YYYY-MM-dd</tt> 
+ *   parses <tt>2020-06-15</tt> to that date</li>
+ *   <li>Letters not supported by SimpleDateFormat (e.g <tt>n</tt>, <tt>Q</tt>) 
+ *   have their DateTimeFormatter meaning rather than being rejected</li>
+ * </ul>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 1:24:09 PM
+ */
+final class DateTimeFormats {
+
+    private static final ConcurrentMap<String, DateTimeFormatter> compiled = new ConcurrentHashMap<>();
+
+    private DateTimeFormats() { }
+
+    /**
+     * @param pattern The pattern to compile
+     * @return The compiled formatter. Formatters are cached by pattern.
+     */
+    static DateTimeFormatter compile(String pattern) {
+        Objects.requireNonNull(pattern);
+        return compiled.computeIfAbsent(pattern, DateTimeFormats::doCompile);
+    }
+
+    private static DateTimeFormatter doCompile(String pattern) {
+        final String letters = patternLetters(pattern);
+        final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .parseLenient();
+        appendPattern(builder, pattern, letters.indexOf('w') != -1);
+        if(!containsAny(letters, "yY")) {
+            builder.parseDefaulting(ChronoField.YEAR_OF_ERA, 1970);
+        }
+        if(!containsAny(letters, "MLDwW")) {
+            builder.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1);
+        }
+        if(!containsAny(letters, "dDEeFuwW")) {
+            builder.parseDefaulting(ChronoField.DAY_OF_MONTH, 1);
+        }
+        if(!containsAny(letters, "HkKh")) {
+            builder.parseDefaulting(ChronoField.HOUR_OF_DAY, 0);
+        }else if(containsAny(letters, "Kh") && !containsAny(letters, "a")) {
+            // Without AM/PM the hour of am-pm is never resolved to a time of day
+            builder.parseDefaulting(ChronoField.AMPM_OF_DAY, 0);
+        }
+        if(!containsAny(letters, "m")) {
+            builder.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0);
+        }
+        if(!containsAny(letters, "s")) {
+            builder.parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0);
+        }
+        return builder.toFormatter(Locale.getDefault()).withResolverStyle(ResolverStyle.LENIENT);
+    }
+
+    /**
+     * @param formatter The formatter to parse with
+     * @param text The text to parse. Text after the parsed portion is ignored.
+     * @return The parsed date time, in the system default time zone if no zone was parsed
+     * @throws ParseException If the text could not be parsed
+     */
+    static ZonedDateTime parse(DateTimeFormatter formatter, String text) throws ParseException {
+        final ParsePosition position = new ParsePosition(0);
+        try{
+            final TemporalAccessor parsed = formatter.parse(text, position);
+            LocalDate date = parsed.query(TemporalQueries.localDate());
+            if(date == null) {
+                date = LocalDate.of(1970, 1, 1);
+            }
+            LocalTime time = parsed.query(TemporalQueries.localTime());
+            if(time == null) {
+                time = LocalTime.MIDNIGHT;
+            }
+            ZoneId zone = parsed.query(TemporalQueries.zone());
+            if(zone == null) {
+                zone = ZoneId.systemDefault();
+            }
+            return ZonedDateTime.of(date, time, zone);
+        }catch(DateTimeException e) {
+            final int errorIndex = position.getErrorIndex() < 0 ?
+                    position.getIndex() : position.getErrorIndex();
+            final ParseException pe = new ParseException(
+                    "Unparseable date: \"" + text + "\"", errorIndex);
+            pe.initCause(e);
+            throw pe;
+        }
+    }
+
+    /**
+     * @param formatter The formatter to parse with
+     * @param text The text to parse. Text after the parsed portion is ignored.
+     * @return The parsed date time, as by {@link #parse(java.time.format.DateTimeFormatter, java.lang.String)}, 
+     * or null if the text could not be parsed. The text is first matched 
+     * against the pattern without throwing, so that text which does not 
+     * match costs no exception.
+     */
+    static ZonedDateTime tryParse(DateTimeFormatter formatter, String text) {
+        if(formatter.parseUnresolved(text, new ParsePosition(0)) == null) {
+            return null;
+        }
+        try{
+            return parse(formatter, text);
+        }catch(ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Appends the pattern, with the letters whose meaning differs from that 
+     * of SimpleDateFormat mapped to the fields SimpleDateFormat uses
+     * @param weekDates If true, <tt>Y</tt> is the week based year, otherwise the year
+     */
+    private static void appendPattern(DateTimeFormatterBuilder builder, String pattern, boolean weekDates) {
+        final StringBuilder pending = new StringBuilder(pattern.length());
+        boolean quoted = false;
+        int i = 0;
+        while(i < pattern.length()) {
+            final char ch = pattern.charAt(i);
+            if(ch == '\'') {
+                quoted = !quoted;
+            }
+            if(quoted || !isLetter(ch)) {
+                pending.append(ch);
+                ++i;
+                continue;
+            }
+            int end = i + 1;
+            while(end < pattern.length() && pattern.charAt(end) == ch) {
+                ++end;
+            }
+            final int count = end - i;
+            final char letter = ch == 'Y' && !weekDates ? 'y' : ch;
+            if(letter == 'S' || letter == 'u' || (letter == 'y' && count == 2)) {
+                if(pending.length() > 0) {
+                    builder.appendPattern(pending.toString());
+                    pending.setLength(0);
+                }
+                switch(letter) {
+                    case 'S':
+                        if(count >= 3) {
+                            builder.appendValue(ChronoField.MILLI_OF_SECOND, count);
+                        }else{
+                            builder.appendValue(ChronoField.MILLI_OF_SECOND, count, 3, SignStyle.NORMAL);
+                        }
+                        break;
+                    case 'u':
+                        builder.appendValue(ChronoField.DAY_OF_WEEK, count);
+                        break;
+                    default:
+                        builder.appendValueReduced(ChronoField.YEAR_OF_ERA, 2, 2, 
+                                LocalDate.now().minusYears(80));
+                }
+            }else{
+                for(int j=0; j<count; j++) {
+                    pending.append(letter);
+                }
+            }
+            i = end;
+        }
+        if(pending.length() > 0) {
+            builder.appendPattern(pending.toString());
+        }
+    }
+    
+    private static boolean isLetter(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    /**
+     * @return The unquoted pattern letters in the pattern
+     */
+    private static String patternLetters(String pattern) {
+        final StringBuilder builder = new StringBuilder(pattern.length());
+        boolean quoted = false;
+        for(int i=0; i<pattern.length(); i++) {
+            final char ch = pattern.charAt(i);
+            if(ch == '\'') {
+                quoted = !quoted;
+            }else if(!quoted && isLetter(ch)) {
+                builder.append(ch);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean containsAny(String letters, String candidates) {
+        for(int i=0; i<candidates.length(); i++) {
+            if(letters.indexOf(candidates.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
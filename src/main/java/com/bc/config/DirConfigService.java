@@ -20,12 +20,29 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
+ * Loads each file in a directory as a config, named by the file name.
+ * <p>
+ * By default, the files accepted are properties files, and files with an 
+ * extension registered with {@link com.bc.config.ConfigFormats ConfigFormats}, 
+ * e.g <code>.json</code>, <code>.yaml</code> and <code>.toml</code>. Hence 
+ * a directory may mix formats. Each file is read and written in the format 
+ * of its extension.
+ * </p>
  * @author Chinomso Bassey Ikwuagwu on Jul 18, 2016 11:10:41 AM
  */
 public class DirConfigService extends PropertiesConfigService {
@@ -38,6 +55,8 @@ public class DirConfigService extends PropertiesConfigService {
     
     private final FilenameFilter filenameFilter;
     
+    private volatile Executor loadExecutor;
+    
     public DirConfigService(
             String defaultPropertiesDir, String propertiesDir, String timePattern) { 
         this(
@@ -54,7 +73,7 @@ public class DirConfigService extends PropertiesConfigService {
                 new FilenameFilter() {
                     @Override
                     public boolean accept(File dir, String name) {
-                        return name.endsWith(".properties");
+                        return name.endsWith(".properties") || ConfigFormats.get(name) != null;
                     }
                 }, timePattern, true
         );
@@ -110,32 +129,87 @@ new Object[]{this.defaultPropertiesDir, this.propertiesDir});
 
 logger.log(Level.INFO, "Loading properties files from: {0}", dirString);
 
-        for(String name:fileNames) {
+        final Executor executor = this.loadExecutor;
+        
+        if(executor == null || fileNames.length < 2) {
             
+            for(String name:fileNames) {
+
 logger.log(Level.CONFIG, "Loading: {0}", name); 
 
-            // If use cache is true add the loaded properties to the cache
-            //
-            final Config config = this.loadByName(name, name);
+                // If use cache is true add the loaded properties to the cache
+                //
+                final Config config = this.loadByName(name, name);
+
+                output.put(name, config);
+            }
+        }else{
             
-            output.put(name, config);
+            this.loadAll(fileNames, executor, output);
         }
         
         return output;
     }
     
+    /**
+     * Loads the files in parallel on the executor. Results are added to the
+     * output in the order of the file names, after all loads complete.
+     * @throws IOException If any of the files could not be loaded. Failures
+     * beyond the first are added as suppressed exceptions.
+     */
+    private void loadAll(String [] fileNames, Executor executor, 
+            ConfigGroup<Properties> output) throws IOException {
+        
+        final List<CompletableFuture<Config<Properties>>> futures = new ArrayList<>(fileNames.length);
+        
+        for(String name:fileNames) {
+            
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                
+logger.log(Level.CONFIG, "Loading: {0}", name); 
+
+                try{
+                    // If use cache is true add the loaded properties to the cache
+                    //
+                    return this.loadByName(name, name);
+                }catch(IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        
+        final List<String> failed = new ArrayList<>();
+        final List<Throwable> causes = new ArrayList<>();
+        
+        for(int i=0; i<fileNames.length; i++) {
+            try{
+                output.put(fileNames[i], futures.get(i).join());
+            }catch(CompletionException e) {
+                failed.add(fileNames[i]);
+                causes.add(e.getCause() == null ? e : e.getCause());
+            }
+        }
+        
+        if(!causes.isEmpty()) {
+            final IOException failure = new IOException("Failed to load " + failed.size() + 
+                    " of " + fileNames.length + " files: " + failed, causes.get(0));
+            for(int i=1; i<causes.size(); i++) {
+                failure.addSuppressed(causes.get(i));
+            }
+            throw failure;
+        }
+    }
+    
     @Override
     public void store() throws IOException {
         
         final String [] fileNames = this.getFileNames(propertiesDir);
         
-        final ConfigGroup configGroup = this.getCachedConfigs();
-        
         for(String fileName : fileNames) {
             
-            Config config = configGroup.get(fileName);
-            
-            this.store((Properties)config.getData(), this.getPath(fileName));
+            // Only dirty configs are stored
+            //
+            this.store(this.getPath(fileName));
         }
     }
 
@@ -157,6 +231,60 @@ logger.log(Level.CONFIG, "Loading: {0}", name);
         return this.propertiesDir + File.separatorChar + filename;
     }
 
+    /**
+     * Watches the properties directory and the default properties directory
+     * for changes, and {@link #reload(java.lang.String[], java.lang.String) reloads}
+     * the configs of changed files.
+     * @param debounceMillis Reloading starts only after no change has been 
+     * detected for this number of milliseconds
+     * @return The watcher, which should be closed when no longer required
+     * @throws IOException 
+     * @see com.bc.config.ConfigWatcher
+     */
+    public ConfigWatcher watch(long debounceMillis) throws IOException {
+        
+        final List<Path> dirs = new ArrayList<>(2);
+        dirs.add(Paths.get(this.propertiesDir));
+        if(this.defaultPropertiesDir != null) {
+            dirs.add(Paths.get(this.defaultPropertiesDir));
+        }
+        
+        return new ConfigWatcher(dirs, 
+                (path) -> {
+                    final String name = path.getFileName().toString();
+                    final FilenameFilter filter = this.getFilenameFilter();
+                    return filter == null || filter.accept(path.getParent().toFile(), name) ?
+                            Collections.singleton(name) : Collections.emptySet();
+                }, 
+                () -> {
+                    try{
+                        return Arrays.asList(this.getFileNames(this.defaultPropertiesDir == null ? 
+                                this.propertiesDir : this.defaultPropertiesDir));
+                    }catch(FileNotFoundException e) {
+                        throw new RuntimeException(e);
+                    }
+                },
+                (name) -> this.reload(this.getDefaultPaths(name), this.getPath(name)), 
+                debounceMillis);
+    }
+
+    public final Executor getLoadExecutor() {
+        return this.loadExecutor;
+    }
+
+    /**
+     * If not null, files are loaded in parallel on the executor by 
+     * {@link #load()}. E.g a {@link java.util.concurrent.ForkJoinPool ForkJoinPool}, 
+     * or on Java 21+, a virtual thread per task executor. Otherwise files 
+     * are loaded sequentially.
+     * @param loadExecutor
+     * @return this
+     */
+    public DirConfigService setLoadExecutor(Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+        return this;
+    }
+
     public final FilenameFilter getFilenameFilter() {
         return this.filenameFilter;
     }
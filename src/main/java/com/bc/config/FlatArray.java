@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Flattens the elements of an array, as they are parsed. Values are held
+ * until the end of the array and then joined with commas under the key of
+ * the array. Once an element which is an object or array is met, the held
+ * values and all following elements are given keys indexed from 0 instead,
+ * e.g <code>servers.0.host</code>. Null values are skipped, but still
+ * take an index.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:11:37 AM
+ */
+final class FlatArray {
+
+    private final String key;
+
+    private final BiConsumer<String, String> sink;
+
+    /**
+     * The values held for joining, or null once keys are indexed
+     */
+    private List<String> values;
+
+    private int size;
+
+    FlatArray(String key, BiConsumer<String, String> sink) {
+        this.key = key;
+        this.sink = sink;
+        this.values = new ArrayList<>();
+    }
+
+    /**
+     * Adds a value element
+     * @param value The value, or null
+     */
+    void add(String value) {
+        if(values != null) {
+            values.add(value);
+        }else if(value != null) {
+            sink.accept(key + '.' + size, value);
+        }
+        ++size;
+    }
+
+    /**
+     * Adds an object or array element
+     * @return The key of the element, under which its own entries are to be
+     * flattened
+     */
+    String addContainer() {
+        if(values != null) {
+            for(int i=0; i<values.size(); i++) {
+                if(values.get(i) != null) {
+                    sink.accept(key + '.' + i, values.get(i));
+                }
+            }
+            values = null;
+        }
+        return key + '.' + size++;
+    }
+
+    /**
+     * Ends the array, joining the held values, if any
+     */
+    void end() {
+        if(values != null) {
+            final StringBuilder joined = new StringBuilder();
+            for(String value : values) {
+                if(value != null) {
+                    if(joined.length() > 0) {
+                        joined.append(',');
+                    }
+                    joined.append(value);
+                }
+            }
+            sink.accept(key, joined.toString());
+            values = null;
+        }
+    }
+}
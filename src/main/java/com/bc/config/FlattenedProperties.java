@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link java.util.Properties Properties} merged from layers of defaults and
+ * a top layer, with the layer which supplied each entry.
+ * <p>
+ * Unlike chained Properties, i.e <code>new Properties(defaults)</code> per 
+ * layer, the layers are merged once, so that a miss in {@link #getProperty(java.lang.String)} 
+ * does not walk the layers, and {@link #stringPropertyNames()} enumerates 
+ * a single table. Hence the defaults are entries of these properties, e.g
+ * {@link #get(java.lang.Object)} returns them.
+ * </p>
+ * <p>
+ * Otherwise changes behave as they would for chained Properties, i.e they 
+ * apply to the top layer. Entries put after the layers are merged belong to 
+ * the top layer. Removing an entry of the top layer exposes the default for
+ * its key, if any, again. Entries supplied by defaults are not removed, and 
+ * are treated as absent by e.g {@link #putIfAbsent(java.lang.Object, java.lang.Object)}.
+ * {@link #getTopLayer()} returns the entries to store. Changes made via the
+ * {@link #entrySet() entry}, {@link #keySet() key} and {@link #values() value} 
+ * views are not tracked.
+ * </p>
+ * @see com.bc.config.PropertiesConfigService#setFlattenDefaults(boolean)
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 3:25:09 PM
+ */
+public class FlattenedProperties extends Properties {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> sources;
+
+    /**
+     * The merged default layers
+     */
+    private final Map<Object, Object> defaultValues;
+
+    /**
+     * The source of the default layer which supplied each default
+     */
+    private final Map<Object, String> defaultSources;
+
+    /**
+     * The keys whose entries are supplied by defaults, i.e not since replaced
+     */
+    private final Set<Object> fromDefaults;
+
+    /**
+     * @param layers The layers, defaults first. Defaults of the layers are ignored.
+     * @param sources The source of each layer, e.g the path it was loaded from
+     * @throws IllegalArgumentException If the number of layers and sources differ,
+     * or there are no layers
+     */
+    public FlattenedProperties(List<Properties> layers, List<String> sources) {
+        if(layers.size() != sources.size() || layers.isEmpty()) {
+            throw new IllegalArgumentException("Layers: " + layers.size() + ", sources: " + sources.size());
+        }
+        this.sources = Collections.unmodifiableList(new ArrayList<>(sources));
+        this.defaultValues = new HashMap<>();
+        this.defaultSources = new HashMap<>();
+        this.fromDefaults = ConcurrentHashMap.newKeySet();
+        final int top = layers.size() - 1;
+        for(int i=0; i<top; i++) {
+            final String source = sources.get(i);
+            for(Map.Entry<Object, Object> entry : layers.get(i).entrySet()) {
+                defaultValues.put(entry.getKey(), entry.getValue());
+                defaultSources.put(entry.getKey(), source);
+            }
+        }
+        this.restoreDefaults();
+        for(Map.Entry<Object, Object> entry : layers.get(top).entrySet()) {
+            super.put(entry.getKey(), entry.getValue());
+            fromDefaults.remove(entry.getKey());
+        }
+    }
+
+    /**
+     * @param key The key of the entry
+     * @return The source of the layer which supplied the entry, or null if
+     * there is no entry for the key
+     */
+    public String getSource(String key) {
+        if(fromDefaults.contains(key)) {
+            return defaultSources.get(key);
+        }
+        return this.containsKey(key) ? sources.get(sources.size() - 1) : null;
+    }
+
+    /**
+     * @param props The properties containing the name
+     * @param name The name of an entry of the properties
+     * @return true if the entry was supplied by defaults, i.e is not stored
+     * with the properties. For chained properties, true if the entry is not
+     * held by the properties themselves.
+     */
+    static boolean isFromDefaults(Properties props, String name) {
+        if(props instanceof FlattenedProperties) {
+            return ((FlattenedProperties)props).fromDefaults.contains(name);
+        }
+        return !props.containsKey(name);
+    }
+
+    /**
+     * @return The sources of the layers, defaults first
+     */
+    public List<String> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return A copy of the entries of the top layer, i.e the entries not 
+     * supplied by a default layer
+     */
+    public Properties getTopLayer() {
+        final Properties output = new Properties();
+        for(Map.Entry<Object, Object> entry : this.entrySet()) {
+            if(!fromDefaults.contains(entry.getKey())) {
+                output.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return output;
+    }
+
+    /**
+     * @return The value of the top layer for the key, or null if none
+     */
+    private Object getTop(Object key) {
+        return fromDefaults.contains(key) ? null : super.get(key);
+    }
+
+    private void restoreDefaults() {
+        for(Map.Entry<Object, Object> entry : defaultValues.entrySet()) {
+            super.put(entry.getKey(), entry.getValue());
+            fromDefaults.add(entry.getKey());
+        }
+    }
+
+    @Override
+    public synchronized Object put(Object key, Object value) {
+        final Object previous = super.put(key, value);
+        fromDefaults.remove(key);
+        return previous;
+    }
+
+    @Override
+    public synchronized void putAll(Map<?, ?> map) {
+        for(Map.Entry<?, ?> entry : map.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        final Object previous = this.getTop(key);
+        if(previous == null) {
+            return null;
+        }
+        final Object defaultValue = defaultValues.get(key);
+        if(defaultValue == null) {
+            super.remove(key);
+        }else{
+            super.put(key, defaultValue);
+            fromDefaults.add(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        final Object current = this.getTop(key);
+        if(current == null || !current.equals(value)) {
+            return false;
+        }
+        this.remove(key);
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        fromDefaults.clear();
+        this.restoreDefaults();
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Object key, Object value) {
+        Objects.requireNonNull(value);
+        final Object current = this.getTop(key);
+        if(current == null) {
+            this.put(key, value);
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized Object replace(Object key, Object value) {
+        Objects.requireNonNull(value);
+        final Object current = this.getTop(key);
+        if(current != null) {
+            this.put(key, value);
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+        Objects.requireNonNull(newValue);
+        final Object current = this.getTop(key);
+        if(current == null || !current.equals(oldValue)) {
+            return false;
+        }
+        this.put(key, newValue);
+        return true;
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+        for(Map.Entry<Object, Object> entry : this.getTopLayer().entrySet()) {
+            this.put(entry.getKey(), function.apply(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(Object key, 
+            Function<? super Object, ?> mappingFunction) {
+        final Object current = this.getTop(key);
+        if(current != null) {
+            return current;
+        }
+        final Object value = mappingFunction.apply(key);
+        if(value != null) {
+            this.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(Object key, 
+            BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        final Object current = this.getTop(key);
+        if(current == null) {
+            return null;
+        }
+        return this.update(key, current, remappingFunction.apply(key, current));
+    }
+
+    @Override
+    public synchronized Object compute(Object key, 
+            BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        final Object current = this.getTop(key);
+        return this.update(key, current, remappingFunction.apply(key, current));
+    }
+
+    @Override
+    public synchronized Object merge(Object key, Object value, 
+            BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        Objects.requireNonNull(value);
+        final Object current = this.getTop(key);
+        return this.update(key, current, current == null ? value : remappingFunction.apply(current, value));
+    }
+
+    /**
+     * Puts the value, or if it is null, removes the current value
+     * @return The value
+     */
+    private Object update(Object key, Object current, Object value) {
+        if(value != null) {
+            this.put(key, value);
+        }else if(current != null) {
+            this.remove(key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, sorted set of strings stored with front coding: each string
+ * is stored as the length of the prefix it shares with the previous string,
+ * followed by the rest of its characters. Every {@link #RESTART_INTERVAL}th
+ * string is stored in full, as a restart point for lookups.
+ * <p>
+ * All strings are held in a single <code>char</code> array, addressed by an
+ * array of offsets. Hence there is no per string object overhead, and keys
+ * sharing long prefixes, e.g <code>app.module.feature.x</code>, take little
+ * more than their distinct suffixes.
+ * </p>
+ * <p>
+ * A lookup binary searches the restart points, then scans a single block
+ * of at most {@link #RESTART_INTERVAL} strings, comparing each string's
+ * suffix with the searched string without decoding the string.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:31:06 PM
+ */
+final class FrontCodedKeys {
+
+    static final int RESTART_INTERVAL = 16;
+
+    /**
+     * The entries; for each entry, the length of the shared prefix as a 
+     * single char, then the suffix
+     */
+    private final char [] data;
+
+    /**
+     * The offset of each entry in the data, followed by the length of the data
+     */
+    private final int [] offsets;
+
+    /**
+     * @param sorted Distinct strings, in ascending {@link java.lang.String#compareTo(java.lang.String) order}
+     * @throws IllegalArgumentException If the strings are not distinct and
+     * sorted, or two consecutive strings share a prefix longer than 65535 chars
+     */
+    FrontCodedKeys(String [] sorted) {
+        this.offsets = new int[sorted.length + 1];
+        int length = 0;
+        for(int i=0; i<sorted.length; i++) {
+            length += 1 + sorted[i].length() - this.shared(sorted, i);
+        }
+        this.data = new char[length];
+        int pos = 0;
+        for(int i=0; i<sorted.length; i++) {
+            final String s = sorted[i];
+            final int shared = this.shared(sorted, i);
+            offsets[i] = pos;
+            data[pos++] = (char)shared;
+            s.getChars(shared, s.length(), data, pos);
+            pos += s.length() - shared;
+        }
+        offsets[sorted.length] = pos;
+    }
+
+    private int shared(String [] sorted, int i) {
+        if(i == 0) {
+            return 0;
+        }
+        final String previous = sorted[i - 1];
+        final String s = sorted[i];
+        if(previous.compareTo(s) >= 0) {
+            throw new IllegalArgumentException("Not distinct and sorted: " + previous + ", " + s);
+        }
+        if(i % RESTART_INTERVAL == 0) {
+            return 0;
+        }
+        final int max = Math.min(previous.length(), s.length());
+        int n = 0;
+        while(n < max && previous.charAt(n) == s.charAt(n)) {
+            ++n;
+        }
+        if(n > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Shared prefix longer than " + (int)Character.MAX_VALUE + ": " + s);
+        }
+        return n;
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The number of chars stored, excluding the shared prefixes
+     */
+    int getDataLength() {
+        return data.length;
+    }
+
+    /**
+     * @param key The string to find
+     * @return As {@link java.util.Arrays#binarySearch(java.lang.Object[], java.lang.Object)},
+     * the index of the string if found, otherwise <code>(-(insertion point) - 1)</code>
+     */
+    int indexOf(String key) {
+        final int size = this.size();
+        if(size == 0) {
+            return -1;
+        }
+
+        // The last block whose first string is less than or equal to the key
+        int lo = 0;
+        int hi = (size - 1) / RESTART_INTERVAL;
+        while(lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int cmp = this.compareRestart(mid * RESTART_INTERVAL, key);
+            if(cmp < 0) {
+                lo = mid + 1;
+            }else if(cmp > 0) {
+                hi = mid - 1;
+            }else{
+                return mid * RESTART_INTERVAL;
+            }
+        }
+        if(hi < 0) {
+            return -1;
+        }
+
+        final int start = hi * RESTART_INTERVAL;
+        final int end = Math.min(start + RESTART_INTERVAL, size);
+
+        // The length of the prefix shared by the key and the previous string,
+        // which is less than the key
+        int matched = this.matchSuffix(start, key, 0);
+
+        for(int i = start + 1; i < end; i++) {
+            final int shared = data[offsets[i]];
+            if(shared > matched) {
+                // Differs from the key where the previous string did, hence less than the key
+                continue;
+            }
+            if(shared < matched) {
+                // Greater than the previous string where the previous string equals the key
+                return -i - 1;
+            }
+            final int suffixLength = offsets[i + 1] - offsets[i] - 1;
+            final int n = this.matchSuffix(i, key, matched);
+            if(n == suffixLength) {
+                if(matched + n == key.length()) {
+                    return i;
+                }
+            }else if(matched + n == key.length() || data[offsets[i] + 1 + n] > key.charAt(matched + n)) {
+                return -i - 1;
+            }
+            matched += n;
+        }
+
+        return -end - 1;
+    }
+
+    /**
+     * @return The number of chars of the suffix of the entry, which equal the
+     * chars of the key from the offset
+     */
+    private int matchSuffix(int index, String key, int offset) {
+        final int from = offsets[index] + 1;
+        final int max = Math.min(offsets[index + 1] - from, key.length() - offset);
+        int n = 0;
+        while(n < max && data[from + n] == key.charAt(offset + n)) {
+            ++n;
+        }
+        return n;
+    }
+
+    private int compareRestart(int index, String key) {
+        final int from = offsets[index] + 1;
+        final int length = offsets[index + 1] - from;
+        final int max = Math.min(length, key.length());
+        for(int n=0; n<max; n++) {
+            final char c = data[from + n];
+            final char k = key.charAt(n);
+            if(c != k) {
+                return c - k;
+            }
+        }
+        return length - key.length();
+    }
+
+    /**
+     * @param from The index of the first string to return
+     * @return The strings from the index, in order
+     */
+    Iterator<String> iterator(int from) {
+        return new Decoder(from);
+    }
+
+    private final class Decoder implements Iterator<String> {
+
+        private char [] buffer = new char[32];
+
+        private int length;
+
+        private int next;
+
+        private Decoder(int from) {
+            // Decode from the restart point at or before the first string
+            for(int i = from - from % RESTART_INTERVAL; i < from; i++) {
+                this.decode(i);
+            }
+            this.next = from;
+        }
+
+        private void decode(int index) {
+            final int shared = data[offsets[index]];
+            final int suffixLength = offsets[index + 1] - offsets[index] - 1;
+            if(shared + suffixLength > buffer.length) {
+                final char [] grown = new char[Math.max(buffer.length * 2, shared + suffixLength)];
+                System.arraycopy(buffer, 0, grown, 0, shared);
+                buffer = grown;
+            }
+            System.arraycopy(data, offsets[index] + 1, buffer, shared, suffixLength);
+            length = shared + suffixLength;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size();
+        }
+
+        @Override
+        public String next() {
+            if(!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.decode(next++);
+            return new String(buffer, 0, length);
+        }
+    }
+}
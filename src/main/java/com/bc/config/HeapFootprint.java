@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * An estimate of the heap retained by the data of configs, e.g to measure
+ * the gain of a {@link com.bc.config.StringPool StringPool} or of 
+ * {@link com.bc.config.CompactConfig CompactConfig}s.
+ * <pre><code>
+ * HeapFootprint footprint = HeapFootprint.of(service.getCachedConfigs().values());
+ * </code></pre>
+ * <p>
+ * The estimate assumes a 64 bit JVM with compressed references, 8 byte 
+ * alignment and, after Java 8, compact strings. Each string instance is 
+ * counted once, however many configs or entries refer to it. Strings equal
+ * to a string already counted are reported as duplicates, i.e the heap a
+ * pool would save. Map entries are estimated at 32 bytes each, plus the 
+ * hash table. Data held off-heap, e.g by a {@link com.bc.config.MappedConfig MappedConfig}, 
+ * is not counted. Configs which are views of other configs, e.g subsets, 
+ * are measured by the data they return.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 2:14:55 PM
+ */
+public final class HeapFootprint {
+
+    private static final boolean COMPACT_STRINGS = 
+            !System.getProperty("java.specification.version", "").startsWith("1.");
+
+    private static final int ENTRY_BYTES = 32;
+
+    private final Map<String, Boolean> counted;
+
+    private final Map<String, String> distinct;
+
+    private int configs;
+
+    private long strings;
+
+    private long entries;
+
+    private long stringBytes;
+
+    private long duplicateStrings;
+
+    private long duplicateBytes;
+
+    private long structureBytes;
+
+    private HeapFootprint() {
+        this.counted = new IdentityHashMap<>();
+        this.distinct = new HashMap<>();
+    }
+
+    public static HeapFootprint of(Config<?> config) {
+        return of(Collections.singleton(config));
+    }
+
+    /**
+     * @param configs The configs to measure together. Strings shared by the
+     * configs are counted once.
+     * @return The estimated footprint of the configs
+     */
+    public static HeapFootprint of(Iterable<? extends Config<?>> configs) {
+        final HeapFootprint footprint = new HeapFootprint();
+        for(Config<?> config : configs) {
+            footprint.add(config);
+        }
+        // Release the strings of the configs
+        footprint.counted.clear();
+        footprint.distinct.clear();
+        return footprint;
+    }
+
+    private void add(Config<?> config) {
+        if(config instanceof CompactConfig) {
+            ((CompactConfig)config).addTo(this);
+        }else if(config instanceof MappedConfig) {
+            ((MappedConfig)config).addTo(this);
+        }else{
+            final Object data = config.getData();
+            if(data instanceof Properties) {
+                this.addProperties((Properties)data);
+            }else if(data instanceof Map) {
+                this.addConfig(((Map)data).size());
+                this.addMap((Map)data);
+            }else{
+                this.addConfig(0);
+            }
+        }
+    }
+
+    /**
+     * Adds the properties and their defaults
+     */
+    private void addProperties(Properties props) {
+        this.addConfig(props.size());
+        this.addMap(props);
+        final Set<String> names = props.stringPropertyNames();
+        if(names.size() > props.size()) {
+            int defaults = 0;
+            for(String name : names) {
+                if(!props.containsKey(name)) {
+                    this.addString(name);
+                    this.addString(props.getProperty(name));
+                    ++defaults;
+                }
+            }
+            entries += defaults;
+            structureBytes += (long)defaults * ENTRY_BYTES + tableBytes(defaults);
+        }
+    }
+
+    void addConfig(int entryCount) {
+        ++configs;
+        entries += entryCount;
+    }
+
+    /**
+     * Adds the entries of the map and the hash table. The entries should be
+     * added to the count of entries separately.
+     */
+    void addMap(Map<?, ?> map) {
+        int size = 0;
+        for(Map.Entry<?, ?> entry : map.entrySet()) {
+            if(entry.getKey() instanceof String) {
+                this.addString((String)entry.getKey());
+            }
+            if(entry.getValue() instanceof String) {
+                this.addString((String)entry.getValue());
+            }
+            ++size;
+        }
+        structureBytes += (long)size * ENTRY_BYTES + tableBytes(size);
+    }
+
+    void addString(String s) {
+        if(s == null || counted.put(s, Boolean.TRUE) != null) {
+            return;
+        }
+        final long bytes = stringBytes(s);
+        ++strings;
+        stringBytes += bytes;
+        if(distinct.putIfAbsent(s, s) != null) {
+            ++duplicateStrings;
+            duplicateBytes += bytes;
+        }
+    }
+
+    void addStructure(long bytes) {
+        structureBytes += bytes;
+    }
+
+    /**
+     * @return The estimated bytes of the string and its characters
+     */
+    static long stringBytes(String s) {
+        int elementSize = 2;
+        if(COMPACT_STRINGS) {
+            elementSize = 1;
+            for(int i=0; i<s.length(); i++) {
+                if(s.charAt(i) > 0xFF) {
+                    elementSize = 2;
+                    break;
+                }
+            }
+        }
+        return 24 + arrayBytes(s.length(), elementSize);
+    }
+
+    static long arrayBytes(int length, int elementSize) {
+        return align(16 + (long)length * elementSize);
+    }
+
+    private static long tableBytes(int size) {
+        if(size == 0) {
+            return 0;
+        }
+        return arrayBytes(Integer.highestOneBit(Math.max(1, (int)(size / 0.75f)) * 2 - 1), 4);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @return The number of configs measured
+     */
+    public int getConfigs() {
+        return configs;
+    }
+
+    /**
+     * @return The number of entries, including defaults
+     */
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return The number of distinct string instances
+     */
+    public long getStrings() {
+        return strings;
+    }
+
+    public long getStringBytes() {
+        return stringBytes;
+    }
+
+    /**
+     * @return The number of string instances equal to another instance
+     */
+    public long getDuplicateStrings() {
+        return duplicateStrings;
+    }
+
+    /**
+     * @return The bytes of the string instances equal to another instance,
+     * i.e the bytes which deduplication would save
+     */
+    public long getDuplicateBytes() {
+        return duplicateBytes;
+    }
+
+    /**
+     * @return The bytes of the structures holding the strings, e.g map
+     * entries, hash tables and arrays
+     */
+    public long getStructureBytes() {
+        return structureBytes;
+    }
+
+    public long getTotalBytes() {
+        return stringBytes + structureBytes;
+    }
+
+    /**
+     * @return The figures of this footprint, by name
+     */
+    public Map<String, Long> toMap() {
+        final Map<String, Long> output = new LinkedHashMap<>();
+        output.put("configs", (long)configs);
+        output.put("entries", entries);
+        output.put("strings", strings);
+        output.put("string.bytes", stringBytes);
+        output.put("duplicate.strings", duplicateStrings);
+        output.put("duplicate.bytes", duplicateBytes);
+        output.put("structure.bytes", structureBytes);
+        output.put("total.bytes", this.getTotalBytes());
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + this.toMap();
+    }
+}
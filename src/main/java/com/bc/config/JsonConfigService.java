@@ -16,13 +16,36 @@
 
 package com.bc.config;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
+ * Loads and stores configs as JSON documents. 
+ * <p>
+ * Documents are parsed by a streaming parser, without building a tree, and 
+ * nested objects are flattened into dotted keys, e.g <code>{"db":{"url":"x"}}</code> 
+ * is loaded as <code>db.url=x</code>, so that <code>subset("db", ".")</code> 
+ * returns the properties of the nested object. Arrays of values are joined 
+ * with commas, for use with {@link com.bc.config.Config#getArray(java.lang.String)}.
+ * Arrays containing objects or arrays give keys indexed from 0, e.g 
+ * <code>servers.0.host</code>. Stored documents nest dotted keys back into objects.
+ * </p>
+ * The layout of the files is left to subclasses, e.g {@link com.bc.config.SimpleJsonConfigService}
  * @author Chinomso Bassey Ikwuagwu on Jun 23, 2018 3:25:26 AM
  */
 public abstract class JsonConfigService extends AbstractConfigService<Map> {
@@ -38,25 +61,94 @@ public abstract class JsonConfigService extends AbstractConfigService<Map> {
     }
 
 
-    public abstract void load(Map props, String path) throws IOException;
+    /**
+     * Loads the flattened entries of the JSON document at the path into the map
+     * @param props The map to load the entries into
+     * @param path The path of the JSON document
+     * @throws IOException 
+     */
+    public void load(Map props, String path) throws IOException {
+        
+        try(InputStream in = getInputStream(path)){
+            
+            logger.log(Level.FINER, "Loading JSON from: {0}", path);           
+            
+            final int sizeBefore = props.size();
+            
+            final StringPool pool = this.getStringPool();
+            
+            if(pool == null) {
+                JsonReader.flatten(new InputStreamReader(in, StandardCharsets.UTF_8), props::put);
+            }else{
+                JsonReader.flatten(new InputStreamReader(in, StandardCharsets.UTF_8), 
+                        (key, value) -> props.put(pool.intern(key), pool.intern(value)));
+            }
+            
+            Level level = this.isUseCache() ? Level.INFO : Level.FINE;
+
+            if(logger.isLoggable(level))            
+            logger.log(level, "  From: {0}\nLoaded: {1} properties", new Object[]{path, props.size() - sizeBefore});           
+        }
+    }
+    
+    /**
+     * Compares the config's data with the JSON document at the path
+     * @return The names whose values differ, or null if the document does
+     * not exist or could not be read
+     */
+    @Override
+    protected Set<String> getUntrackedChanges(Config<Map> config, String path) {
+        final Path file = Paths.get(path).toAbsolutePath();
+        if(!Files.isRegularFile(file)) {
+            return null;
+        }
+        final Map<String, String> stored = new LinkedHashMap<>();
+        try(Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonReader.flatten(in, stored::put);
+        }catch(IOException e) {
+            logger.log(Level.FINE, "Failed to compare with: {0}, {1}", new Object[]{file, e});
+            return null;
+        }
+        return getChangedKeys(config.getData(), stored);
+    }
+    
+    @Override
+    public void load(Properties props, String path) throws IOException {
+        this.load((Map)props, path);
+    }
     
+    /**
+     * Stores the entries of the map as a JSON document, nesting dotted keys 
+     * into objects
+     * @param props The entries to store
+     * @param path The path of the JSON document
+     * @throws IOException 
+     */
     @Override
-    public abstract void store(Map props, String path) throws IOException;
+    public void store(Map props, String path) throws IOException {
+        
+        try(AtomicFile file = this.openStoreFile(path)){
+            
+            Level level = this.isUseCache() ? Level.INFO : Level.FINE;
+
+            if(logger.isLoggable(level)) {
+                logger.log(level, "Saving to: {0} properties:\n{1}", new Object[]{path, props.keySet()}); 
+            }
+            
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(file.getOutputStream(), StandardCharsets.UTF_8));
+            
+            JsonWriter.write(writer, props);
+            
+            file.commit();
+        }
+    }
 
     @Override
     public Config<Map> load(String [] defaultPaths, String path) throws IOException {
         
         final String name = this.getName(path);
         
-        Config<Map> output = null;
-        
-        final ConfigGroup<Map> cachedConfigs = this.getCachedConfigs();
-        
-        if(this.isUseCache()) {
-            output = cachedConfigs.get(name);
-        }
-        
-        if(output == null) {
+        return this.getOrLoad(name, () -> {
             
             Map defaults = null;
             if(defaultPaths != null) {
@@ -70,21 +162,15 @@ public abstract class JsonConfigService extends AbstractConfigService<Map> {
                 }
             }
 
-            Map outputProps = new LinkedHashMap(defaults);
+            Map outputProps = defaults == null ? new LinkedHashMap() : new LinkedHashMap(defaults);
             load(outputProps, path);
             
             if(logger.isLoggable(Level.FINER)) {
                 logger.log(Level.FINER, "{0} = {1}\n{2}", new Object[]{path, name, outputProps});
             }
             
-            output = new MapConfig(outputProps, this.getTimePattern());
-            
-            if(this.isUseCache()) {
-                cachedConfigs.put(name, output);
-            }
-        }
-        
-        return output;
+            return new MapConfig(outputProps, this.getTimePattern());
+        });
     }
 }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * JSON, as read by {@link com.bc.config.JsonReader JsonReader} and written by
+ * {@link com.bc.config.JsonWriter JsonWriter}
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:20:03 AM
+ */
+final class JsonFormat implements ConfigFormat {
+
+    @Override
+    public String [] getExtensions() {
+        return new String[]{"json"};
+    }
+
+    @Override
+    public void read(Reader in, BiConsumer<String, String> sink) throws IOException {
+        JsonReader.flatten(in, sink);
+    }
+
+    @Override
+    public void write(Writer out, Map<?, ?> data) throws IOException {
+        JsonWriter.write(out, data);
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A streaming (pull) JSON parser. Tokens are read on demand from a fixed
+ * size buffer, so documents of any size are parsed without building a tree.
+ * <p>
+ * Use {@link #flatten(java.io.Reader, java.util.function.BiConsumer)} to read
+ * a document as flattened, dotted keys.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 10:41:19 PM
+ */
+final class JsonReader implements Closeable {
+
+    enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+
+    private final char [] buffer = new char[8192];
+
+    private int pos;
+
+    private int limit;
+
+    private int line = 1;
+
+    private int [] stack = new int[32];
+
+    private int depth;
+
+    private Token peeked;
+
+    /**
+     * The text of the peeked name or value
+     */
+    private String text;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    JsonReader(Reader in) {
+        this.in = in;
+        this.stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Reads a JSON document as flattened key/value pairs. The names of nested
+     * objects are joined with dots, e.g <code>{"db":{"url":"x"}}</code> gives
+     * <code>db.url=x</code>. Arrays of values are joined with commas. Arrays
+     * containing objects or arrays give keys indexed from 0, e.g
+     * <code>servers.0.host</code>. Null values are skipped.
+     * @param in The reader to read the document from
+     * @param sink Receives each flattened key and value, in document order
+     * @throws IOException If the document could not be read or is malformed
+     */
+    static void flatten(Reader in, BiConsumer<String, String> sink) throws IOException {
+        final JsonReader reader = new JsonReader(in);
+        final Token token = reader.peek();
+        if(token == Token.END_DOCUMENT) {
+            return;
+        }
+        if(token != Token.BEGIN_OBJECT) {
+            throw reader.syntaxError("Expected an object but was " + token);
+        }
+        reader.flattenValue(null, sink);
+        if(reader.peek() != Token.END_DOCUMENT) {
+            throw reader.syntaxError("Expected end of document");
+        }
+    }
+
+    private void flattenValue(String key, BiConsumer<String, String> sink) throws IOException {
+        switch(this.peek()) {
+            case BEGIN_OBJECT:
+                this.beginObject();
+                while(this.peek() == Token.NAME) {
+                    final String name = this.nextName();
+                    this.flattenValue(key == null ? name : key + '.' + name, sink);
+                }
+                this.endObject();
+                break;
+            case BEGIN_ARRAY:
+                this.flattenArray(key, sink);
+                break;
+            case NULL:
+                this.nextValue();
+                break;
+            default:
+                sink.accept(key, this.nextValue());
+        }
+    }
+
+    private void flattenArray(String key, BiConsumer<String, String> sink) throws IOException {
+        this.beginArray();
+        final FlatArray array = new FlatArray(key, sink);
+        for(Token token = this.peek(); token != Token.END_ARRAY; token = this.peek()) {
+            if(token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+                this.flattenValue(array.addContainer(), sink);
+            }else{
+                array.add(this.nextValue());
+            }
+        }
+        this.endArray();
+        array.end();
+    }
+
+    Token peek() throws IOException {
+        if(peeked != null) {
+            return peeked;
+        }
+        final int scope = stack[depth - 1];
+        int c;
+        switch(scope) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = this.nextNonWhitespace();
+                if(c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                break;
+            case NONEMPTY_ARRAY:
+                c = this.nextNonWhitespace();
+                if(c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if(c != ',') {
+                    throw this.syntaxError("Expected ',' or ']'");
+                }
+                c = this.nextNonWhitespace();
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = this.nextNonWhitespace();
+                if(c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if(scope == NONEMPTY_OBJECT) {
+                    if(c != ',') {
+                        throw this.syntaxError("Expected ',' or '}'");
+                    }
+                    c = this.nextNonWhitespace();
+                }
+                if(c != '"') {
+                    throw this.syntaxError("Expected a name");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                text = this.readString();
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if(this.nextNonWhitespace() != ':') {
+                    throw this.syntaxError("Expected ':'");
+                }
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                c = this.nextNonWhitespace();
+                break;
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                c = this.nextNonWhitespace();
+                if(c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                break;
+            default:
+                c = this.nextNonWhitespace();
+                if(c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw this.syntaxError("Expected end of document");
+        }
+        switch(c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                text = this.readString();
+                return peeked = Token.STRING;
+            case 't':
+            case 'f':
+            case 'n':
+                text = this.readLiteral((char)c);
+                return peeked = "null".equals(text) ? Token.NULL : Token.BOOLEAN;
+            default:
+                if(c == '-' || (c >= '0' && c <= '9')) {
+                    text = this.readNumber((char)c);
+                    return peeked = Token.NUMBER;
+                }
+                throw this.syntaxError(c == -1 ? "Unexpected end of document" : "Unexpected character: " + (char)c);
+        }
+    }
+
+    void beginObject() throws IOException {
+        this.expect(Token.BEGIN_OBJECT);
+        this.push(EMPTY_OBJECT);
+    }
+
+    void endObject() throws IOException {
+        this.expect(Token.END_OBJECT);
+        --depth;
+    }
+
+    void beginArray() throws IOException {
+        this.expect(Token.BEGIN_ARRAY);
+        this.push(EMPTY_ARRAY);
+    }
+
+    void endArray() throws IOException {
+        this.expect(Token.END_ARRAY);
+        --depth;
+    }
+
+    String nextName() throws IOException {
+        this.expect(Token.NAME);
+        return text;
+    }
+
+    /**
+     * @return The text of the next string, number or boolean, or null if
+     * the next value is null
+     * @throws IOException If the next token is not a string, number, boolean or null
+     */
+    String nextValue() throws IOException {
+        final Token token = this.peek();
+        if(token != Token.STRING && token != Token.NUMBER &&
+                token != Token.BOOLEAN && token != Token.NULL) {
+            throw this.syntaxError("Expected a value but was " + token);
+        }
+        peeked = null;
+        return token == Token.NULL ? null : text;
+    }
+
+    private void expect(Token token) throws IOException {
+        if(this.peek() != token) {
+            throw this.syntaxError("Expected " + token + " but was " + peeked);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if(depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while(pos < limit || this.fill()) {
+            final char c = buffer[pos++];
+            if(c == '\n') {
+                ++line;
+            }else if(c != ' ' && c != '\t' && c != '\r') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private int peekChar() throws IOException {
+        return pos < limit || this.fill() ? buffer[pos] : -1;
+    }
+
+    private char readChar() throws IOException {
+        if(pos == limit && !this.fill()) {
+            throw this.syntaxError("Unexpected end of document");
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        pos = 0;
+        final int n = in.read(buffer, 0, buffer.length);
+        limit = n < 0 ? 0 : n;
+        return limit > 0;
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been read
+     */
+    private String readString() throws IOException {
+        builder.setLength(0);
+        while(true) {
+            final int start = pos;
+            while(pos < limit) {
+                final char c = buffer[pos];
+                if(c == '"' || c == '\\' || c < 0x20) {
+                    break;
+                }
+                ++pos;
+            }
+            builder.append(buffer, start, pos - start);
+            final char c = this.readChar();
+            if(c == '"') {
+                return builder.toString();
+            }else if(c == '\\') {
+                builder.append(this.readEscape());
+            }else if(c < 0x20) {
+                throw this.syntaxError("Unescaped control character in string");
+            }else{
+                // The buffer was exhausted and refilled
+                builder.append(c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        final char c = this.readChar();
+        switch(c) {
+            case '"': case '\\': case '/': return c;
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int value = 0;
+                for(int i=0; i<4; i++) {
+                    final int digit = Character.digit(this.readChar(), 16);
+                    if(digit == -1) {
+                        throw this.syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char)value;
+            default:
+                throw this.syntaxError("Invalid escape: \\" + c);
+        }
+    }
+
+    private String readLiteral(char first) throws IOException {
+        builder.setLength(0);
+        builder.append(first);
+        int c;
+        while((c = this.peekChar()) >= 'a' && c <= 'z') {
+            builder.append((char)c);
+            ++pos;
+        }
+        final String literal = builder.toString();
+        switch(literal) {
+            case "true": return "true";
+            case "false": return "false";
+            case "null": return "null";
+            default: throw this.syntaxError("Unexpected literal: " + literal);
+        }
+    }
+
+    private String readNumber(char first) throws IOException {
+        builder.setLength(0);
+        builder.append(first);
+        int c;
+        while(((c = this.peekChar()) >= '0' && c <= '9') ||
+                c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+            builder.append((char)c);
+            ++pos;
+        }
+        final char last = builder.charAt(builder.length() - 1);
+        if(last < '0' || last > '9') {
+            throw this.syntaxError("Malformed number: " + builder);
+        }
+        return builder.toString();
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at line " + line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
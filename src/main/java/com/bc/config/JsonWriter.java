@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes flattened, dotted keys as a JSON document of nested objects, e.g
+ * <code>db.url=x</code> gives <code>{"db":{"url":"x"}}</code>. Entries are
+ * written as they are visited, in the order of their keys.
+ * <p>
+ * A dotted key is nested only where the part before a dot is not itself a
+ * key, and is not empty. Otherwise the rest of the key is written as a
+ * single name containing dots, e.g <code>a=1</code> and <code>a.b=2</code>
+ * give <code>{"a":"1","a.b":"2"}</code>. Either way,
+ * {@link com.bc.config.JsonReader#flatten(java.io.Reader, java.util.function.BiConsumer) flattening}
+ * the document gives back the same keys. All values are written as strings.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 11:10:52 PM
+ */
+final class JsonWriter {
+
+    private static final String INDENT = "  ";
+
+    private final Writer out;
+
+    private final Set<?> keys;
+
+    /**
+     * The names of the currently open objects, below the root object
+     */
+    private final List<String> open = new ArrayList<>();
+
+    /**
+     * Whether the currently open objects, including the root, have members
+     */
+    private boolean [] hasMembers = new boolean[8];
+
+    private JsonWriter(Writer out, Set<?> keys) {
+        this.out = out;
+        this.keys = keys;
+    }
+
+    /**
+     * @param out The writer to write the document to
+     * @param data The flattened keys and their values. Values are written
+     * using their <code>toString()</code> method. Null values are skipped.
+     * @throws IOException
+     */
+    static void write(Writer out, Map<?, ?> data) throws IOException {
+        final Object [] sorted = data.keySet().toArray();
+        final String [] keys = new String[sorted.length];
+        for(int i=0; i<sorted.length; i++) {
+            keys[i] = String.valueOf(sorted[i]);
+        }
+        Arrays.sort(keys);
+        final JsonWriter writer = new JsonWriter(out, data.keySet());
+        out.write('{');
+        for(String key : keys) {
+            final Object value = data.get(key);
+            if(value != null) {
+                writer.writeEntry(key, value.toString());
+            }
+        }
+        writer.close(0);
+        out.write("\n}\n");
+        out.flush();
+    }
+
+    private void writeEntry(String key, String value) throws IOException {
+        final List<String> path = new ArrayList<>();
+        int start = 0;
+        int dot;
+        while((dot = key.indexOf('.', start)) != -1) {
+            if(dot == start || keys.contains(key.substring(0, dot))) {
+                break;
+            }
+            path.add(key.substring(start, dot));
+            start = dot + 1;
+        }
+        int common = 0;
+        while(common < open.size() && common < path.size() && open.get(common).equals(path.get(common))) {
+            ++common;
+        }
+        this.close(common);
+        for(int i=common; i<path.size(); i++) {
+            this.writeName(path.get(i));
+            out.write('{');
+            open.add(path.get(i));
+            if(hasMembers.length <= open.size()) {
+                hasMembers = Arrays.copyOf(hasMembers, hasMembers.length * 2);
+            }
+            hasMembers[open.size()] = false;
+        }
+        this.writeName(key.substring(start));
+        writeString(out, value);
+    }
+
+    /**
+     * Closes the open objects below the depth
+     */
+    private void close(int depth) throws IOException {
+        while(open.size() > depth) {
+            this.newline(open.size());
+            open.remove(open.size() - 1);
+            out.write('}');
+        }
+    }
+
+    private void writeName(String name) throws IOException {
+        final int depth = open.size();
+        if(hasMembers[depth]) {
+            out.write(',');
+        }
+        hasMembers[depth] = true;
+        this.newline(depth + 1);
+        writeString(out, name);
+        out.write(": ");
+    }
+
+    private void newline(int depth) throws IOException {
+        out.write('\n');
+        for(int i=0; i<depth; i++) {
+            out.write(INDENT);
+        }
+    }
+
+    private static void writeString(Writer out, String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        final int length = s.length();
+        for(int i=0; i<length; i++) {
+            final char c = s.charAt(i);
+            final String escaped;
+            switch(c) {
+                case '"': escaped = "\\\""; break;
+                case '\\': escaped = "\\\\"; break;
+                case '\n': escaped = "\\n"; break;
+                case '\r': escaped = "\\r"; break;
+                case '\t': escaped = "\\t"; break;
+                case '\b': escaped = "\\b"; break;
+                case '\f': escaped = "\\f"; break;
+                default:
+                    escaped = c < 0x20 ? String.format("\\u%04x", (int)c) : null;
+            }
+            if(escaped != null) {
+                out.write(s, start, i - start);
+                out.write(escaped);
+                start = i + 1;
+            }
+        }
+        out.write(s, start, length - start);
+        out.write('"');
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts latencies in log-linear buckets, as HdrHistogram does: values 
+ * below 16 have a bucket each, and each power of two above is split into
+ * 8 buckets. Hence a recorded value is reported to within 12.5%. Values 
+ * above about 73 minutes, in nanoseconds, share the last bucket.
+ * <p>
+ * Each bucket is a {@link java.util.concurrent.atomic.LongAdder LongAdder}, 
+ * so concurrent recording does not contend on a single counter.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:16:47 PM
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+
+    private static final int LINEAR = 1 << (SUB_BITS + 1);
+
+    private static final int MAX_EXPONENT = 41;
+
+    static final int BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BITS) * (1 << SUB_BITS);
+
+    private final LongAdder [] counts;
+
+    private final LongAdder total;
+
+    private final LongAccumulator max;
+
+    LatencyHistogram() {
+        this.counts = new LongAdder[BUCKETS];
+        for(int i=0; i<counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    void record(long value) {
+        if(value < 0) {
+            value = 0;
+        }
+        counts[indexOf(value)].increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    ConfigMetricsSnapshot.Latency snapshot() {
+        final long [] copy = new long[counts.length];
+        for(int i=0; i<copy.length; i++) {
+            copy[i] = counts[i].sum();
+        }
+        return new ConfigMetricsSnapshot.Latency(copy, total.sum(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if(value < LINEAR) {
+            return (int)value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if(exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        final int sub = (int)(value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * (1 << SUB_BITS) + sub;
+    }
+
+    /**
+     * @return The highest value counted in the bucket
+     */
+    static long highestValueAt(int index) {
+        if(index < LINEAR) {
+            return index;
+        }
+        final int exponent = SUB_BITS + 1 + (index - LINEAR) / (1 << SUB_BITS);
+        final int sub = (index - LINEAR) % (1 << SUB_BITS);
+        final int shift = exponent - SUB_BITS;
+        return (((long)(1 << SUB_BITS) + sub) << shift) + (1L << shift) - 1;
+    }
+}
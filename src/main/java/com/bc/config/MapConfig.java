@@ -35,7 +35,11 @@ public class MapConfig extends AbstractConfig<Map> {
     }
 
     public MapConfig(Map data, String timePattern) {
-        super(timePattern);
+        this(data, timePattern, false);
+    }
+
+    public MapConfig(Map data, String timePattern, boolean cacheResolvedValues) {
+        super(timePattern, cacheResolvedValues);
         this.data = Objects.requireNonNull(data);
     }
 
@@ -50,10 +54,23 @@ public class MapConfig extends AbstractConfig<Map> {
         return data;
     }
     
+    /**
+     * @return false, as changes made directly to the {@link #getData() data}
+     * are not tracked
+     */
+    @Override
+    public boolean isChangeTracked() {
+        return false;
+    }
+    
+    /**
+     * Values which are not Strings, e.g numbers, are returned as per their 
+     * <code>toString()</code> method.
+     */
     @Override
     public String doGet(String key, String defaultValue) {
-        final String value = (String)data.getOrDefault(key, defaultValue);
-        return value;
+        final Object value = data.get(key);
+        return value == null ? defaultValue : value.toString();
     }
     
     @Override
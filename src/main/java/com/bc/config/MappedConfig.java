@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A {@link com.bc.config.Config Config} which serves lookups directly from a
+ * memory mapped {@link com.bc.config.BinaryConfigFile binary config file},
+ * for very large property sets.
+ * <p>
+ * The keys and values stay off-heap in the mapped file, which holds a hash
+ * index for lookups and a sorted index for {@link #subset(java.lang.String, java.lang.String) subsets}.
+ * Values are decoded from UTF-8 only when read. Values set via
+ * {@link #set(java.lang.String, java.lang.String)} are held on the heap and
+ * override the values in the file. The file itself is never modified.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * The {@link #getData()} method returns a copy, which materializes every
+ * property on the heap. Hence changes to the properties returned by that
+ * method will not be reflected in this config.
+ * </p>
+ * @see com.bc.config.PropertiesConfigService#setMapped(boolean)
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 10:05:38 PM
+ */
+public class MappedConfig extends AbstractConfig<Properties> {
+
+    private final BinaryConfigFile file;
+
+    /**
+     * Values set via this config
+     */
+    private final ConcurrentMap<String, String> overrides;
+
+    /**
+     * Names set via this config which are not in the file
+     */
+    private final ConcurrentSkipListSet<String> added;
+
+    private final Set<String> names;
+
+    public MappedConfig(Path file) throws IOException {
+        this(file, "EEE MMM dd HH:mm:ss z yyyy");
+    }
+
+    /**
+     * @param file The binary config file to map. The checksum of the file is
+     * verified, which reads the whole file once.
+     * @param timePattern The pattern used to format and parse time values
+     * @throws IOException If the file could not be read or is not a valid
+     * binary config file
+     */
+    public MappedConfig(Path file, String timePattern) throws IOException {
+        this(BinaryConfigFile.open(file, true), timePattern);
+    }
+
+    MappedConfig(BinaryConfigFile file, String timePattern) {
+        super(timePattern);
+        this.file = Objects.requireNonNull(file);
+        this.overrides = new ConcurrentHashMap<>();
+        this.added = new ConcurrentSkipListSet<>();
+        this.names = new Names();
+    }
+
+    /**
+     * <b>Returns a copy</b>
+     * @return A copy of this config's data, with defaults as in the source
+     * files. Changes to the returned {@link java.util.Properties Properties}
+     * are <b>NOT</b> reflected in this config.
+     */
+    @Override
+    public Properties getData() {
+        final Properties [] layers = new Properties[Math.max(1, file.getLayerCount())];
+        for(int i=0; i<layers.length; i++) {
+            layers[i] = i == 0 ? new Properties() : new Properties(layers[i - 1]);
+        }
+        file.forEach((layer, key, value, resolved) -> layers[layer].setProperty(key, value));
+        final Properties data = layers[layers.length - 1];
+        data.putAll(overrides);
+        return data;
+    }
+
+    @Override
+    protected String doGet(String key, String defaultValue) {
+        String value = overrides.get(key);
+        if(value == null) {
+            value = file.get(key);
+        }
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    protected Object doSet(String key, String value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final String previous = overrides.put(key, value);
+        if(previous != null) {
+            return previous;
+        }
+        final String fromFile = file.get(key);
+        if(fromFile == null) {
+            added.add(key);
+        }
+        return fromFile;
+    }
+
+    @Override
+    protected boolean containsName(String name) {
+        return overrides.containsKey(name) || file.contains(name);
+    }
+
+    /**
+     * @return The names in the file which start with the prefix, in the
+     * order of their UTF-8 bytes, followed by the names set via this config,
+     * which are not in the file and start with the prefix.
+     */
+    @Override
+    protected Iterator<String> getNamesStartingWith(String prefix) {
+        return new Concat(file.keys(prefix), added.tailSet(prefix).iterator(), prefix);
+    }
+
+    @Override
+    public int size() {
+        return file.size() + added.size();
+    }
+
+    /**
+     * @return A read only view of the names of this config. Names are decoded
+     * from the file during iteration.
+     */
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Adds the values set via this config to the footprint. The mapped file
+     * is off-heap, hence not counted.
+     */
+    void addTo(HeapFootprint footprint) {
+        footprint.addConfig(overrides.size());
+        footprint.addMap(overrides);
+    }
+
+    public final Path getFile() {
+        return file.getFile();
+    }
+
+    private final class Names extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && containsName((String)o);
+        }
+        @Override
+        public int size() {
+            return MappedConfig.this.size();
+        }
+        @Override
+        public Iterator<String> iterator() {
+            return new Concat(file.keys(), added.iterator(), null);
+        }
+    }
+
+    private static final class Concat implements Iterator<String> {
+
+        private final Iterator<String> first;
+
+        private final Iterator<String> second;
+
+        private final String prefix;
+
+        private String next;
+
+        private Concat(Iterator<String> first, Iterator<String> second, String prefix) {
+            this.first = first;
+            this.second = second;
+            this.prefix = prefix;
+            this.next = this.advance();
+        }
+
+        private String advance() {
+            if(first.hasNext()) {
+                return first.next();
+            }
+            if(second.hasNext()) {
+                final String name = second.next();
+                if(prefix == null || name.startsWith(prefix)) {
+                    return name;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if(next == null) {
+                throw new NoSuchElementException();
+            }
+            final String name = next;
+            next = this.advance();
+            return name;
+        }
+    }
+}
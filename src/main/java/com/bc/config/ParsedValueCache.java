@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * Caches the latest value parsed from the value of each key, e.g the 
+ * {@link com.bc.config.SplitValue split} of the value. A cached result is 
+ * reused while the key has the same value and is parsed with the same 
+ * argument, e.g separator, so changes to the value, however made, are seen 
+ * on the next read. Values are usually the same instance from read to read, 
+ * making the check a reference comparison.
+ * @param <T> The type of the parsed values
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 2:12:44 PM
+ */
+final class ParsedValueCache<T> {
+
+    private static final class Entry<T> {
+        private final String value;
+        private final String argument;
+        private final T parsed;
+        private Entry(String value, String argument, T parsed) {
+            this.value = value;
+            this.argument = argument;
+            this.parsed = parsed;
+        }
+    }
+
+    private final BiFunction<String, String, T> parser;
+
+    private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param parser Parses a value, given the argument
+     */
+    ParsedValueCache(BiFunction<String, String, T> parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * @param key The key whose value is parsed
+     * @param value The current value of the key
+     * @param argument The argument to parse with, e.g a separator
+     * @return The cached result, or a new result if the value or argument 
+     * changed since the value was last parsed
+     */
+    T get(String key, String value, String argument) {
+        final Entry<T> cached = entries.get(key);
+        if(cached != null && (cached.value == value || cached.value.equals(value)) 
+                && cached.argument.equals(argument)) {
+            return cached.parsed;
+        }
+        final T parsed = parser.apply(value, argument);
+        entries.put(key, new Entry<>(value, argument, parsed));
+        return parsed;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
@@ -16,11 +16,29 @@
 
 package com.bc.config;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +48,20 @@ import java.util.logging.Logger;
 public abstract class PropertiesConfigService extends AbstractConfigService<Properties> {
 
     private transient final Logger logger = Logger.getLogger(PropertiesConfigService.class.getName());
+    
+    private volatile boolean useSnapshots;
+    
+    private volatile boolean compact;
+    
+    private volatile boolean flattenDefaults;
+    
+    private volatile Path binaryDir;
+    
+    private volatile boolean mapped;
+    
+    private volatile boolean compileReferences;
+    
+    private volatile boolean patchInPlace;
 
     public PropertiesConfigService(String timePattern) {
         super(timePattern);
@@ -42,45 +74,514 @@ public abstract class PropertiesConfigService extends AbstractConfigService<Prop
     @Override
     public Config<Properties> load(String [] defaultPaths, String path) throws IOException {
         
-        final String name = this.getName(path);
-        
-        Config<Properties> output = null;
+        return this.getOrLoad(this.getName(path), () -> this.doLoad(defaultPaths, path));
+    }
+    
+    /**
+     * Loads the config afresh, bypassing the cache. If {@link #isUseCache()}
+     * is true, the cached config is then replaced by the newly loaded config 
+     * in a single step, so readers of the cache see either the previous or 
+     * the new config, never a partially loaded one. Configs previously 
+     * obtained from the cache are not updated.
+     * @param defaultPaths
+     * @param path
+     * @return The newly loaded config
+     * @throws IOException 
+     */
+    public Config<Properties> reload(String [] defaultPaths, String path) throws IOException {
         
-        final ConfigGroup<Properties> cachedConfigs = this.getCachedConfigs();
+        final Config<Properties> output = this.callLoader(
+                this.getName(path), () -> this.doLoad(defaultPaths, path));
         
         if(this.isUseCache()) {
-            output = cachedConfigs.get(name);
+            this.getCachedConfigs().put(this.getName(path), output);
+        }
+        
+        return output;
+    }
+    
+    /**
+     * Loads the config, without consulting or updating the cache
+     */
+    protected Config<Properties> doLoad(String [] defaultPaths, String path) throws IOException {
+        
+        final Path dir = this.binaryDir;
+        final List<Path> sources = dir == null ? null : this.getSourceFiles(defaultPaths, path);
+        final Path binary = sources == null ? null : dir.resolve(
+                this.getName(path) + '-' + Integer.toHexString(sources.toString().hashCode()) + ".bin");
+        
+        if(this.isMapped()) {
+            if(binary != null) {
+                return this.loadMapped(binary, defaultPaths, path, sources);
+            }
+            logger.log(Level.WARNING, "Cannot map: {0}, binary dir: {1}", new Object[]{path, dir});
         }
         
-        if(output == null) {
+        if(binary != null) {
+            final Config<Properties> config = this.loadBinary(binary, sources, defaultPaths, path);
+            if(config != null) {
+                return config;
+            }
+        }
+        
+        // Flattened layers are merged after loading, hence are not chained
+        final boolean flatten = this.isFlattenDefaults();
+        
+        final List<Properties> layers = new ArrayList<>();
             
-            Properties defaults = null;
-            if(defaultPaths != null) {
-                for(String defaultPath : defaultPaths) {
-                    if(defaults == null) {
-                        defaults = new Properties();
-                    }else{
-                        defaults = new Properties(defaults);
-                    }
-                    load(defaults, defaultPath);
+        Properties defaults = null;
+        if(defaultPaths != null) {
+            for(String defaultPath : defaultPaths) {
+                if(defaults == null || flatten) {
+                    defaults = new Properties();
+                }else{
+                    defaults = new Properties(defaults);
                 }
+                load(defaults, defaultPath);
+                layers.add(defaults);
             }
+        }
+
+        Properties outputProps = flatten ? new Properties() : new Properties(defaults);
+        load(outputProps, path);
+        layers.add(outputProps);
+        
+        if(flatten) {
+            outputProps = new FlattenedProperties(layers, this.getLayerPaths(defaultPaths, path));
+        }
 
-            Properties outputProps = new Properties(defaults);
-            load(outputProps, path);
+        if(logger.isLoggable(Level.FINER)) {
+            logger.log(Level.FINER, "{0} = {1}\n{2}", new Object[]{path, this.getName(path), outputProps});
+        }
+
+        final Config<Properties> config = this.createConfig(outputProps);
+        
+        if(this.isCompileReferences() && config instanceof AbstractConfig) {
+            try{
+                ((AbstractConfig)config).compileReferences();
+            }catch(IllegalStateException e) {
+                logger.log(Level.WARNING, "Will not compile references of: {0}, {1}", 
+                        new Object[]{path, e.getMessage()});
+            }
+        }
+        
+        if(binary != null) {
+            this.writeBinary(binary, sources, layers, config);
+        }
+        
+        return config;
+    }
+    
+    /**
+     * @return The binary config loaded from the file, or null if the file 
+     * does not exist, could not be read, or is stale
+     */
+    private Config<Properties> loadBinary(Path binary, List<Path> sources, 
+            String [] defaultPaths, String path) {
+        
+        try{
             
-            if(logger.isLoggable(Level.FINER)) {
-                logger.log(Level.FINER, "{0} = {1}\n{2}", new Object[]{path, name, outputProps});
+            final BinaryConfigFile file = this.openBinary(binary, sources);
+            if(file == null) {
+                return null;
             }
             
-            output = new ConfigImpl(outputProps, this.getTimePattern());
+            final boolean flatten = this.isFlattenDefaults();
             
-            if(this.isUseCache()) {
-                cachedConfigs.put(name, output);
+            final Properties [] layers = new Properties[Math.max(1, file.getLayerCount())];
+            for(int i=0; i<layers.length; i++) {
+                layers[i] = i == 0 || flatten ? new Properties() : new Properties(layers[i - 1]);
             }
+            final boolean compile = this.isCompileReferences();
+            final Map<String, String> resolved = new HashMap<>();
+            file.forEach((layer, key, value, resolvedValue) -> {
+                layers[layer].setProperty(key, value);
+                if(!compile) {
+                    return;
+                }
+                if(resolvedValue.equals(value)) {
+                    resolved.remove(key);
+                }else{
+                    resolved.put(key, resolvedValue);
+                }
+            });
+            
+            final Config<Properties> config = this.createConfig(flatten ? 
+                    new FlattenedProperties(Arrays.asList(layers), this.getLayerPaths(defaultPaths, path)) : 
+                    layers[layers.length - 1]);
+            
+            if(compile && config instanceof AbstractConfig) {
+                if(file.isExternalsCurrent(AbstractConfig::getExternal)) {
+                    ((AbstractConfig)config).compileReferences(resolved);
+                }else{
+                    ((AbstractConfig)config).compileReferences();
+                }
+            }
+            
+            Level level = this.isUseCache() ? Level.INFO : Level.FINE;
+            
+            if(logger.isLoggable(level))            
+            logger.log(level, "  From: {0}\nLoaded: {1} properties", new Object[]{binary, file.size()});           
+            
+            return config;
+            
+        }catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to read: " + binary + ", will load from text", e);
+            return null;
         }
+    }
+    
+    /**
+     * Maps the binary file, first writing it from the text files if it is stale
+     */
+    private Config<Properties> loadMapped(Path binary, 
+            String [] defaultPaths, String path, List<Path> sources) throws IOException {
         
-        return output;
+        BinaryConfigFile file;
+        try{
+            file = this.openBinary(binary, sources);
+        }catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to read: " + binary + ", will rewrite", e);
+            file = null;
+        }
+        
+        if(file == null) {
+            
+            final List<String> paths = this.getLayerPaths(defaultPaths, path);
+            
+            Files.createDirectories(binary.getParent());
+            
+            try(BinaryConfigFile.Writer writer = new BinaryConfigFile.Writer(binary)) {
+                for(Path source : sources) {
+                    writer.addSource(BinaryConfigFile.Source.of(source));
+                }
+                writer.setLayerCount(paths.size());
+                for(int i=0; i<paths.size(); i++) {
+                    final int layer = i;
+                    // Stream each entry to the writer rather than hold them all on the heap
+                    this.load(new Properties() {
+                        @Override
+                        public synchronized Object put(Object key, Object value) {
+                            try{
+                                writer.add(layer, (String)key, (String)value, null);
+                            }catch(IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            return null;
+                        }
+                    }, paths.get(i));
+                }
+                writer.commit();
+            }catch(UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            logger.log(Level.FINE, "Wrote: {0}", binary);
+            
+            file = BinaryConfigFile.open(binary, false);
+        }
+        
+        Level level = this.isUseCache() ? Level.INFO : Level.FINE;
+
+        if(logger.isLoggable(level))            
+        logger.log(level, "Mapped: {0}\nProperties: {1}", new Object[]{binary, file.size()});           
+        
+        return new MappedConfig(file, this.getTimePattern());
+    }
+    
+    /**
+     * @return The opened binary file, or null if it does not exist or is stale
+     */
+    private BinaryConfigFile openBinary(Path binary, List<Path> sources) throws IOException {
+
+        if(!Files.isRegularFile(binary)) {
+            return null;
+        }
+
+        final BinaryConfigFile file = BinaryConfigFile.open(binary, true);
+
+        final List<BinaryConfigFile.Source> fileSources = file.getSources();
+        boolean current = fileSources.size() == sources.size() && file.isCurrent();
+        for(int i=0; current && i<sources.size(); i++) {
+            current = fileSources.get(i).getPath().equals(sources.get(i).toString());
+        }
+        if(!current) {
+            logger.log(Level.FINE, "Stale: {0}", binary);
+            return null;
+        }
+        
+        return file;
+    }
+    
+    private void writeBinary(Path binary, List<Path> sources, List<Properties> layers, Config<Properties> config) {
+        
+        // Resolved apart from the config, so as not to change how the config resolves references
+        final Properties data = config.getData();
+        final Map<String, String> values = new HashMap<>();
+        for(String name : data.stringPropertyNames()) {
+            values.put(name, data.getProperty(name));
+        }
+        final ReferenceGraph graph;
+        try{
+            graph = new ReferenceGraph(values, AbstractConfig::getExternal);
+        }catch(IllegalStateException e) {
+            logger.log(Level.WARNING, "Will not write: {0}, {1}", new Object[]{binary, e.getMessage()});
+            return;
+        }
+        
+        try{
+            
+            Files.createDirectories(binary.getParent());
+            
+            try(BinaryConfigFile.Writer writer = new BinaryConfigFile.Writer(binary)) {
+                for(Path source : sources) {
+                    writer.addSource(BinaryConfigFile.Source.of(source));
+                }
+                for(String name : graph.getExternalNames()) {
+                    writer.addExternal(name, AbstractConfig.getExternal(name));
+                }
+                writer.setLayerCount(layers.size());
+                for(int i=0; i<layers.size(); i++) {
+                    for(Map.Entry<Object, Object> entry : layers.get(i).entrySet()) {
+                        final String key = (String)entry.getKey();
+                        final String value = (String)entry.getValue();
+                        boolean effective = value.contains("${");
+                        for(int j=i+1; effective && j<layers.size(); j++) {
+                            effective = !layers.get(j).containsKey(key);
+                        }
+                        writer.add(i, key, value, effective ? graph.get(key) : null);
+                    }
+                }
+                writer.commit();
+            }
+            
+            logger.log(Level.FINE, "Wrote: {0}", binary);
+            
+        }catch(IOException e) {
+            logger.log(Level.WARNING, "Failed to write: " + binary, e);
+        }
+    }
+    
+    /**
+     * @return The files at the paths, resolved the way 
+     * {@link #getInputStream(java.lang.String)} resolves them, or null if 
+     * any of the paths is not a file (e.g it is an entry in a jar)
+     */
+    private List<Path> getSourceFiles(String [] defaultPaths, String path) {
+        final List<Path> files = new ArrayList<>();
+        if(defaultPaths != null) {
+            for(String defaultPath : defaultPaths) {
+                files.add(this.getSourceFile(defaultPath));
+            }
+        }
+        files.add(this.getSourceFile(path));
+        return files.contains(null) ? null : files;
+    }
+    
+    /**
+     * @return The paths of the layers, defaults first
+     */
+    private List<String> getLayerPaths(String [] defaultPaths, String path) {
+        final List<String> paths = new ArrayList<>();
+        if(defaultPaths != null) {
+            paths.addAll(Arrays.asList(defaultPaths));
+        }
+        paths.add(path);
+        return paths;
+    }
+    
+    private Path getSourceFile(String path) {
+        final URL url = this.getResource(path);
+        if(url == null) {
+            final Path file = Paths.get(path).toAbsolutePath();
+            return Files.isRegularFile(file) ? file : null;
+        }
+        if(!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try{
+            return Paths.get(url.toURI()).toAbsolutePath();
+        }catch(URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param props The loaded properties, with defaults
+     * @return A new {@link com.bc.config.Config Config} for the loaded properties
+     * @see #setUseSnapshots(boolean) 
+     * @see #setCompact(boolean) 
+     */
+    protected Config<Properties> createConfig(Properties props) {
+        if(this.isCompact()) {
+            return new CompactConfig(props, this.getTimePattern(), this.getStringPool());
+        }
+        return this.isUseSnapshots() ? 
+                new SnapshotConfig(props, this.getTimePattern()) : 
+                new ConfigImpl(props, this.getTimePattern());
+    }
+
+    public final boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * If true, subsequently loaded configs are {@link com.bc.config.CompactConfig CompactConfig}s, 
+     * suited to large property sets whose names share long prefixes. Takes
+     * precedence over {@link #setUseSnapshots(boolean)}.
+     * @param compact 
+     * @return this
+     * @see #setStringPool(com.bc.config.StringPool) 
+     */
+    public PropertiesConfigService setCompact(boolean compact) {
+        this.compact = compact;
+        return this;
+    }
+
+    public final boolean isUseSnapshots() {
+        return useSnapshots;
+    }
+
+    /**
+     * If true, subsequently loaded configs are {@link com.bc.config.SnapshotConfig SnapshotConfig}s, 
+     * suited to read-mostly workloads. Otherwise they are {@link com.bc.config.ConfigImpl ConfigImpl}s.
+     * @param useSnapshots 
+     * @return this
+     */
+    public PropertiesConfigService setUseSnapshots(boolean useSnapshots) {
+        this.useSnapshots = useSnapshots;
+        return this;
+    }
+
+    public final boolean isFlattenDefaults() {
+        return flattenDefaults;
+    }
+
+    /**
+     * If true, the default layers and the file of subsequently loaded configs 
+     * are merged once into {@link com.bc.config.FlattenedProperties FlattenedProperties}, 
+     * which record the path each entry was loaded from. Otherwise each layer
+     * is chained to the previous as its defaults, so that lookups of names
+     * not in the file walk the chain.
+     * <p>
+     * Only the entries not loaded from a default path are stored, as for 
+     * chained defaults. Flattening applies to configs created by
+     * {@link #createConfig(java.util.Properties)}, not to mapped configs.
+     * </p>
+     * @param flattenDefaults 
+     * @return this
+     * @see com.bc.config.FlattenedProperties#getSource(java.lang.String) 
+     */
+    public PropertiesConfigService setFlattenDefaults(boolean flattenDefaults) {
+        this.flattenDefaults = flattenDefaults;
+        return this;
+    }
+
+    public final Path getBinaryDir() {
+        return binaryDir;
+    }
+
+    /**
+     * If not null, each config subsequently loaded from files is also written, 
+     * after a successful load, to a binary file in this directory. The binary 
+     * file holds the loaded properties, an index of the keys and the values 
+     * with references pre-resolved. Later loads read the binary file via 
+     * memory mapped I/O, rather than parsing the text files, provided the 
+     * last modified time and size of each text file is unchanged and the 
+     * binary file's checksum is valid. Otherwise the text files are parsed 
+     * and the binary file rewritten.
+     * <p>
+     * Pre-resolved values are used only by configs whose references are 
+     * {@link #setCompileReferences(boolean) compiled}, and only if the system 
+     * environment variables and system properties they were resolved against 
+     * are unchanged.
+     * </p>
+     * Paths which resolve to entries in jar files are always parsed as text.
+     * @param binaryDir The directory for the binary files, or null to disable
+     * @return this
+     */
+    public PropertiesConfigService setBinaryDir(Path binaryDir) {
+        this.binaryDir = binaryDir;
+        return this;
+    }
+
+    public final boolean isCompileReferences() {
+        return compileReferences;
+    }
+
+    /**
+     * If true, configs subsequently loaded, whether from text or binary files,
+     * have their references {@link com.bc.config.AbstractConfig#compileReferences() compiled}.
+     * Configs whose values contain circular references are loaded with their 
+     * references uncompiled. {@link com.bc.config.MappedConfig Mapped configs}
+     * always serve compiled values.
+     * @param compileReferences
+     * @return this
+     */
+    public PropertiesConfigService setCompileReferences(boolean compileReferences) {
+        this.compileReferences = compileReferences;
+        return this;
+    }
+
+    public final boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * If true, configs subsequently loaded from files are 
+     * {@link com.bc.config.MappedConfig MappedConfig}s, which serve lookups 
+     * directly from a memory mapped binary file rather than from 
+     * {@link java.util.Properties Properties} on the heap. Suited to very 
+     * large property sets.
+     * <p>
+     * The binary file is written to the {@link #setBinaryDir(java.nio.file.Path) binary dir}
+     * by streaming the text files to it, and rewritten whenever the text files 
+     * change. If the binary dir is not set, or a path resolves to an entry in 
+     * a jar file, the config is loaded as usual.
+     * </p>
+     * {@link #createConfig(java.util.Properties)} is not called for mapped configs.
+     * @param mapped
+     * @return this
+     */
+    public PropertiesConfigService setMapped(boolean mapped) {
+        this.mapped = mapped;
+        return this;
+    }
+
+    /**
+     * Files with a {@link com.bc.config.ConfigFormat ConfigFormat} are read 
+     * and written in that format, as flattened dotted keys. All other files 
+     * are read and written as properties files.
+     * @param path The path of the file
+     * @return The format of the file, or null for a properties file. 
+     * By default, the format for the file's extension, if any.
+     * @see com.bc.config.ConfigFormats#get(java.lang.String) 
+     */
+    protected ConfigFormat getFormat(String path) {
+        return ConfigFormats.get(path);
+    }
+
+    public final boolean isPatchInPlace() {
+        return patchInPlace;
+    }
+
+    /**
+     * If true, storing a config whose properties file exists rewrites only 
+     * the entries of the names changed since the config was last stored. 
+     * Comments, blank lines and the order of all other entries are preserved. 
+     * Changed names not in the file are appended. Otherwise the whole file is
+     * rewritten by {@link java.util.Properties#store(java.io.OutputStream, java.lang.String)}.
+     * <p>
+     * Either way the file is replaced atomically, via a temporary file. Files
+     * with a {@link #getFormat(java.lang.String) format} other than properties
+     * are always rewritten.
+     * </p>
+     * @param patchInPlace
+     * @return this
+     */
+    public PropertiesConfigService setPatchInPlace(boolean patchInPlace) {
+        this.patchInPlace = patchInPlace;
+        return this;
     }
 
     @Override
@@ -94,7 +595,28 @@ public abstract class PropertiesConfigService extends AbstractConfigService<Prop
                 throw new NullPointerException();
             }
             
-            props.load(in);
+            final ConfigFormat format = this.getFormat(path);
+            
+            final StringPool pool = this.getStringPool();
+            
+            if(format == null) {
+                if(pool == null) {
+                    props.load(in);
+                }else{
+                    // Deduplicate each entry as it is loaded
+                    new Properties() {
+                        @Override
+                        public synchronized Object put(Object key, Object value) {
+                            return props.put(pool.intern((String)key), pool.intern((String)value));
+                        }
+                    }.load(in);
+                }
+            }else if(pool == null) {
+                format.read(new InputStreamReader(in, StandardCharsets.UTF_8), props::setProperty);
+            }else{
+                format.read(new InputStreamReader(in, StandardCharsets.UTF_8), 
+                        (key, value) -> props.setProperty(pool.intern(key), pool.intern(value)));
+            }
             
             Level level = this.isUseCache() ? Level.INFO : Level.FINE;
 
@@ -103,10 +625,93 @@ public abstract class PropertiesConfigService extends AbstractConfigService<Prop
         }
     }
     
+    /**
+     * If {@link #isPatchInPlace()} is true and the properties file exists, 
+     * only the entries of the dirty names are rewritten. Otherwise all the 
+     * config's data is stored.
+     */
+    @Override
+    protected void store(Config<Properties> config, Set<String> dirtyNames, String path) throws IOException {
+        
+        if(this.isPatchInPlace() && dirtyNames != null && this.getFormat(path) == null) {
+            
+            try(AtomicFile file = this.openStoreFile(path)){
+                
+                if(Files.exists(file.getTarget())) {
+                    
+                    logger.log(Level.FINE, "Patching: {0}, names: {1}", new Object[]{path, dirtyNames});
+                    
+                    final Writer out = new BufferedWriter(new OutputStreamWriter(
+                            file.getOutputStream(), StandardCharsets.ISO_8859_1));
+                    
+                    final Properties data = this.getStoredEntries(config.getData());
+                    
+                    try(Reader in = Files.newBufferedReader(file.getTarget(), StandardCharsets.ISO_8859_1)) {
+                        // Only the entries of the data itself, not its defaults, as for a full store
+                        PropertiesPatch.patch(in, dirtyNames, (name) -> (String)data.get(name), out);
+                    }
+                    
+                    file.commit();
+                    
+                    return;
+                }
+            }
+        }
+        
+        super.store(config, dirtyNames, path);
+    }
+
+    /**
+     * Compares the entries which would be stored with those in the file at
+     * the path
+     * @return The names whose values differ, or null if the file does not
+     * exist or could not be read
+     */
+    @Override
+    protected Set<String> getUntrackedChanges(Config<Properties> config, String path) {
+        
+        Path file = Paths.get(path).toAbsolutePath();
+        if(!Files.isRegularFile(file)) {
+            file = this.getSourceFile(path);
+            if(file == null) {
+                return null;
+            }
+        }
+        
+        final Properties stored = new Properties();
+        
+        try(InputStream in = Files.newInputStream(file)) {
+            final ConfigFormat format = this.getFormat(path);
+            if(format == null) {
+                stored.load(in);
+            }else{
+                format.read(new InputStreamReader(in, StandardCharsets.UTF_8), stored::setProperty);
+            }
+        }catch(IOException e) {
+            logger.log(Level.FINE, "Failed to compare with: {0}, {1}", new Object[]{file, e});
+            return null;
+        }
+        
+        return getChangedKeys(this.getStoredEntries(config.getData()), stored);
+    }
+    
+    /**
+     * @return The entries of the data which are stored, i.e not the defaults
+     */
+    private Properties getStoredEntries(Properties data) {
+        if(data instanceof FlattenedProperties) {
+            return ((FlattenedProperties)data).getTopLayer();
+        }
+        return data;
+    }
+
     @Override
     public void store(Properties props, String path) throws IOException {
+        
+        // As for chained defaults, the defaults are not stored
+        props = this.getStoredEntries(props);
   
-        try(OutputStream out = getOutputStream(path, false)){
+        try(AtomicFile file = this.openStoreFile(path)){
             
             Level level = this.isUseCache() ? Level.INFO : Level.FINE;
 
@@ -115,8 +720,18 @@ public abstract class PropertiesConfigService extends AbstractConfigService<Prop
             }
             logger.log(Level.FINER, "{0}", props);
 
-            props.store(out, "Saved by: " + this.getClass().getSimpleName() + 
-                    " @" + System.getProperty("user.name") + " on " + new Date());
+            final OutputStream out = file.getOutputStream();
+            
+            final ConfigFormat format = this.getFormat(path);
+            
+            if(format == null) {
+                props.store(out, "Saved by: " + this.getClass().getSimpleName() + 
+                        " @" + System.getProperty("user.name") + " on " + new Date());
+            }else{
+                format.write(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), props);
+            }
+            
+            file.commit();
         }
     }
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Copies a properties file, replacing only the entries of changed names.
+ * Comments, blank lines, the order of entries and the line separators of
+ * all other lines are copied unchanged. The entries of changed names are
+ * rewritten on a single line, or dropped if the name no longer has a value.
+ * Changed names which are not in the file are appended, in sorted order.
+ * <p>
+ * The file is read and written as ISO-8859-1, as by
+ * {@link java.util.Properties#load(java.io.InputStream)}, so that unchanged
+ * lines are copied byte for byte. Characters outside ISO-8859-1 in changed
+ * entries are written as unicode escapes.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 9:40:31 AM
+ */
+final class PropertiesPatch {
+
+    private final Reader in;
+
+    private final char [] buffer = new char[8192];
+
+    private int pos;
+
+    private int limit;
+
+    private PropertiesPatch(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @param in The existing properties file
+     * @param names The changed names
+     * @param values Returns the value of a changed name, or null if the name
+     * no longer has a value
+     * @param out The writer to write the patched file to
+     * @throws IOException
+     */
+    static void patch(Reader in, Set<String> names, Function<String, String> values,
+            Writer out) throws IOException {
+
+        final Set<String> remaining = new TreeSet<>(names);
+
+        final PropertiesPatch reader = new PropertiesPatch(in);
+
+        final StringBuilder entry = new StringBuilder();
+        final StringBuilder line = new StringBuilder();
+
+        String separator = null;
+        boolean endsWithSeparator = true;
+
+        while(reader.readLine(line)) {
+
+            entry.setLength(0);
+            entry.append(line);
+
+            if(!isBlankOrComment(line)) {
+                // Continuation lines end with an odd number of backslashes
+                while(isContinued(line) && reader.readLine(line)) {
+                    entry.append(line);
+                }
+            }
+
+            final int contentEnd = contentEnd(entry);
+            final String terminator = entry.substring(contentEnd);
+            if(separator == null && !terminator.isEmpty()) {
+                separator = terminator;
+            }
+            endsWithSeparator = !terminator.isEmpty();
+
+            final String name = isBlankOrComment(entry) ? null : parseKey(entry);
+
+            if(name != null && names.contains(name)) {
+                remaining.remove(name);
+                final String value = values.apply(name);
+                if(value != null) {
+                    out.write(escape(name, true));
+                    out.write('=');
+                    out.write(escape(value, false));
+                    out.write(terminator);
+                }
+            }else{
+                out.append(entry);
+            }
+        }
+
+        if(separator == null) {
+            separator = System.lineSeparator();
+        }
+
+        for(String name : remaining) {
+            final String value = values.apply(name);
+            if(value == null) {
+                continue;
+            }
+            if(!endsWithSeparator) {
+                out.write(separator);
+                endsWithSeparator = true;
+            }
+            out.write(escape(name, true));
+            out.write('=');
+            out.write(escape(value, false));
+            out.write(separator);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Reads a line, including its terminator if any
+     * @return false if there are no more lines
+     */
+    private boolean readLine(StringBuilder line) throws IOException {
+        line.setLength(0);
+        while(true) {
+            if(pos == limit) {
+                final int n = in.read(buffer, 0, buffer.length);
+                if(n == -1) {
+                    return line.length() > 0;
+                }
+                pos = 0;
+                limit = n;
+            }
+            final char c = buffer[pos++];
+            line.append(c);
+            if(c == '\n') {
+                return true;
+            }
+            if(c == '\r') {
+                if(pos == limit) {
+                    final int n = in.read(buffer, 0, buffer.length);
+                    if(n == -1) {
+                        return true;
+                    }
+                    pos = 0;
+                    limit = n;
+                }
+                if(buffer[pos] == '\n') {
+                    line.append('\n');
+                    ++pos;
+                }
+                return true;
+            }
+        }
+    }
+
+    private static int contentEnd(CharSequence line) {
+        int end = line.length();
+        while(end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+            --end;
+        }
+        return end;
+    }
+
+    private static boolean isContinued(CharSequence line) {
+        int backslashes = 0;
+        for(int i = contentEnd(line) - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            ++backslashes;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    private static boolean isBlankOrComment(CharSequence line) {
+        final int end = contentEnd(line);
+        int i = 0;
+        while(i < end && isWhitespace(line.charAt(i))) {
+            ++i;
+        }
+        return i == end || line.charAt(i) == '#' || line.charAt(i) == '!';
+    }
+
+    /**
+     * @return The unescaped key of the entry, as read by {@link java.util.Properties Properties}
+     */
+    private static String parseKey(CharSequence entry) {
+        final StringBuilder key = new StringBuilder();
+        int i = 0;
+        while(isWhitespace(entry.charAt(i))) {
+            ++i;
+        }
+        for(; i<entry.length(); i++) {
+            final char c = entry.charAt(i);
+            if(c == '=' || c == ':' || isWhitespace(c) || c == '\r' || c == '\n') {
+                break;
+            }
+            if(c != '\\' || i + 1 == entry.length()) {
+                key.append(c);
+                continue;
+            }
+            final char e = entry.charAt(++i);
+            switch(e) {
+                case 't': key.append('\t'); break;
+                case 'n': key.append('\n'); break;
+                case 'r': key.append('\r'); break;
+                case 'f': key.append('\f'); break;
+                case 'u':
+                    if(i + 4 < entry.length()) {
+                        try{
+                            key.append((char)Integer.parseInt(entry.subSequence(i + 1, i + 5).toString(), 16));
+                            i += 4;
+                            break;
+                        }catch(NumberFormatException ignored) { }
+                    }
+                    key.append(e);
+                    break;
+                case '\r':
+                case '\n':
+                    // A continued key; skip the line terminator and the leading white space of the next line
+                    if(e == '\r' && i + 1 < entry.length() && entry.charAt(i + 1) == '\n') {
+                        ++i;
+                    }
+                    while(i + 1 < entry.length() && isWhitespace(entry.charAt(i + 1))) {
+                        ++i;
+                    }
+                    break;
+                default:
+                    key.append(e);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Escapes as {@link java.util.Properties#store(java.io.OutputStream, java.lang.String)} does
+     */
+    private static String escape(String s, boolean key) {
+        final StringBuilder output = new StringBuilder(s.length() + 8);
+        for(int i=0; i<s.length(); i++) {
+            final char c = s.charAt(i);
+            if(c > 61 && c < 127) {
+                if(c == '\\') {
+                    output.append('\\');
+                }
+                output.append(c);
+                continue;
+            }
+            switch(c) {
+                case ' ':
+                    if(i == 0 || key) {
+                        output.append('\\');
+                    }
+                    output.append(' ');
+                    break;
+                case '\t': output.append("\\t"); break;
+                case '\n': output.append("\\n"); break;
+                case '\r': output.append("\\r"); break;
+                case '\f': output.append("\\f"); break;
+                case '=': case ':': case '#': case '!':
+                    output.append('\\').append(c);
+                    break;
+                default:
+                    if(c < 0x20 || c > 0x7e) {
+                        output.append(String.format("\\u%04X", (int)c));
+                    }else{
+                        output.append(c);
+                    }
+            }
+        }
+        return output.toString();
+    }
+}
@@ -1,7 +1,6 @@
 package com.bc.config;
 
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -22,6 +21,8 @@ import java.util.logging.Logger;
  */
 public class QueryParametersConverter implements Serializable {
     
+    private transient static final Logger logger = Logger.getLogger(QueryParametersConverter.class.getName());
+    
     /**
      * If empty strings are allowed they are appended as empty String. This is 
      * because if <tt>a=</tt> is split we get a single element Array. The second
@@ -82,77 +83,101 @@ public class QueryParametersConverter implements Serializable {
             throw new NullPointerException();
         }
         
-Logger logger = Logger.getLogger(this.getClass().getName());
-Level level = Level.FINER;
-
-if(logger.isLoggable(level))
-logger.log(level, "{0}. Separator: {1}, Empty strings allowed: {2}, Query: {3}", 
+if(logger.isLoggable(Level.FINER))
+logger.log(Level.FINER, "{0}. Separator: {1}, Empty strings allowed: {2}, Query: {3}", 
         new Object[]{separator, emptyStringsAllowed, input}); 
 
-        LinkedHashMap<String, String> result = new LinkedHashMap<>();
-
-        String [] queryPairs = input.split(separator);
-
-        for(int i=0; i<queryPairs.length; i++) {
-            
-logger.log(level, "Pair[{0}]: {1}", new Object[]{i, queryPairs[i]});
-
-            String [] parts = queryPairs[i].split("=");
-            
-logger.log(level, "Pair[{0}]: {1}", new Object[]{i, parts==null?null:Arrays.toString(parts)});
+        final LinkedHashMap<String, String> result = new LinkedHashMap<>();
 
-            String key;
-            String val;
-            
-            if(parts.length == 0) {
-                continue;
-            }else if (parts.length == 1) {
-                if(this.isEmptyStringsAllowed()) {
-                    key = parts[0];
-                    val = ""; //We prefer an empty String to null -> Query standards
-                }else{
-                    continue;
-                }
-            }else if(parts.length == 2) {
-                key = parts[0];
-                val = parts[1];
+        if(!SplitValue.isLiteral(separator)) {
+            for(String pair : input.split(separator)) {
+                this.addPair(pair, 0, pair.length(), result);
+            }
+        }else{
+            int start = 0;
+            int end = input.indexOf(separator);
+            if(end == -1) {
+                this.addPair(input, 0, input.length(), result);
             }else{
-                if(separatorIndex < 0) {
-                    separatorIndex = 0;
-                }
-                if(separatorIndex >= parts.length-1) {
-                    separatorIndex = parts.length - 2;
-                }
-
-                StringBuilder builder = new StringBuilder();
-                for(int partIndex=0; partIndex<separatorIndex+1; partIndex++) {
-                    builder.append(parts[partIndex]);
-                    if(partIndex < separatorIndex) {
-                        builder.append('=');
+                // As String.split, trailing empty pairs are dropped
+                boolean emptyPending = false;
+                while(true) {
+                    final int pairEnd = end == -1 ? input.length() : end;
+                    if(pairEnd == start) {
+                        emptyPending = true;
+                    }else{
+                        if(emptyPending) {
+                            this.addPair(input, start, start, result);
+                            emptyPending = false;
+                        }
+                        this.addPair(input, start, pairEnd, result);
                     }
-                }
-                key = builder.toString();
-                
-                builder.setLength(0);
-                for(int partIndex=separatorIndex+1; partIndex<parts.length; partIndex++) {
-                    builder.append(parts[partIndex]);
-                    if(partIndex < parts.length-1) {
-                        builder.append('=');
+                    if(end == -1) {
+                        break;
                     }
+                    start = end + separator.length();
+                    end = input.indexOf(separator, start);
                 }
-                val = builder.toString();
             }
-            
-            result.put(
-                    this.reverseKey(key.trim()), 
-                    this.reverseValue(val==null?null:val.trim()));
         }
         
-logger.log(level, "{0}. Output: {1}", result);        
+if(logger.isLoggable(Level.FINER))
+logger.log(Level.FINER, "{0}. Output: {1}", new Object[]{separator, result});        
 
         return result;
     }
     
+    /**
+     * Adds the pair at <tt>input[start, end)</tt>, divided at an '=' as 
+     * <tt>pair.split("=")</tt> would divide it, without splitting
+     */
+    private void addPair(String input, int start, int end, Map<String, String> result) {
+        
+        final String key;
+        final String val;
+        
+        if(start == end) {
+            // "".split("=") is [""]
+            if(!this.isEmptyStringsAllowed()) {
+                return;
+            }
+            key = "";
+            val = "";
+        }else{
+            // As String.split, trailing empty parts are dropped
+            int contentEnd = end;
+            while(contentEnd > start && input.charAt(contentEnd - 1) == '=') {
+                --contentEnd;
+            }
+            if(contentEnd == start) {
+                return;
+            }
+            int separators = 0;
+            for(int i=start; i<contentEnd; i++) {
+                if(input.charAt(i) == '=') {
+                    ++separators;
+                }
+            }
+            if(separators == 0) {
+                if(!this.isEmptyStringsAllowed()) {
+                    return;
+                }
+                key = input.substring(start, contentEnd);
+                val = ""; //We prefer an empty String to null -> Query standards
+            }else{
+                final int index = Math.min(Math.max(separatorIndex, 0), separators - 1);
+                int at = input.indexOf('=', start);
+                for(int n=0; n<index; n++) {
+                    at = input.indexOf('=', at + 1);
+                }
+                key = input.substring(start, at);
+                val = input.substring(at + 1, contentEnd);
+            }
+        }
+        
+        result.put(this.reverseKey(key.trim()), this.reverseValue(val.trim()));
+    }
+    
     public String reverseKey(String key) {
         return key;
     }
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves references (i.e <code>${name}</code>) across all the values of a
+ * config up front.
+ * <p>
+ * Each value is parsed once into a {@link Template template} of literal
+ * segments and reference slots. The dependency graph of the templates is
+ * checked for cycles and the values are resolved in topological order, so
+ * that a reference to a value which itself contains references is fully
+ * resolved. Reads are then simple lookups.
+ * </p>
+ * <p>
+ * References are sourced from the config first, then from the fallback
+ * (usually system environment and system properties). References which
+ * cannot be sourced are left as is.
+ * </p>
+ * <p>
+ * As with {@link com.bc.config.ReferenceResolverImpl}, back slashes in 
+ * referenced values are replaced with forward slashes. Unlike it, references
+ * are resolved transitively, and <code>$</code> in referenced values is 
+ * inserted literally rather than treated as replacement syntax (where a 
+ * referenced value containing <code>${name}</code> fails to resolve).
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 2:41:15 PM
+ */
+final class ReferenceGraph {
+
+    private final UnaryOperator<String> fallback;
+
+    private final Map<String, Template> templates;
+
+    /**
+     * Referenced name to the keys whose templates reference it
+     */
+    private final Map<String, Set<String>> dependents;
+
+    private final Map<String, String> resolved;
+
+    /**
+     * @param values The raw values of the config, by key
+     * @param fallback Sources references not contained in the values
+     * @throws IllegalStateException If the values contain circular references
+     */
+    ReferenceGraph(Map<String, String> values, UnaryOperator<String> fallback) {
+        this(values, fallback, Collections.emptyMap(), true);
+    }
+
+    /**
+     * Builds the graph using values resolved earlier. The values are not 
+     * checked for cycles.
+     * @param values The raw values of the config, by key
+     * @param fallback Sources references not contained in the values
+     * @param resolved The resolved values, by key. Values not in this map 
+     * are resolved.
+     */
+    ReferenceGraph(Map<String, String> values, UnaryOperator<String> fallback, 
+            Map<String, String> resolved) {
+        this(values, fallback, resolved, false);
+    }
+    
+    private ReferenceGraph(Map<String, String> values, UnaryOperator<String> fallback, 
+            Map<String, String> preResolved, boolean checkCycles) {
+        this.fallback = fallback;
+        this.templates = new HashMap<>(values.size() * 4 / 3 + 1);
+        this.dependents = new HashMap<>();
+        this.resolved = new ConcurrentHashMap<>(values.size() * 4 / 3 + 1);
+        final Set<String> pending = new HashSet<>();
+        for(Map.Entry<String, String> entry : values.entrySet()) {
+            final Template template = Template.parse(entry.getValue());
+            this.templates.put(entry.getKey(), template);
+            this.addDependents(entry.getKey(), template);
+            final String value = template.isLiteral() ? 
+                    entry.getValue() : preResolved.get(entry.getKey());
+            if(value == null) {
+                pending.add(entry.getKey());
+            }else{
+                this.resolved.put(entry.getKey(), value);
+            }
+        }
+        if(checkCycles) {
+            this.checkCycles(pending);
+        }
+        this.resolveAll(pending);
+    }
+
+    /**
+     * @param key The key whose resolved value is to be returned
+     * @return The resolved value or null if the key is not in this graph
+     */
+    String get(String key) {
+        return resolved.get(key);
+    }
+
+    /**
+     * @param key The key to check
+     * @param value The new value of the key
+     * @throws IllegalStateException If setting the value would introduce a
+     * circular reference. The graph is left unchanged.
+     */
+    synchronized void checkUpdate(String key, String value) {
+        final Template template = Template.parse(value);
+        if(template.isLiteral()) {
+            return;
+        }
+        final Template previous = templates.put(key, template);
+        try{
+            this.checkCycles(Collections.singleton(key));
+        }finally{
+            if(previous == null) {
+                templates.remove(key);
+            }else{
+                templates.put(key, previous);
+            }
+        }
+    }
+
+    /**
+     * Updates the template of the key. Call {@link #refresh(java.lang.String)}
+     * afterwards to re-resolve the key and the keys which reference it.
+     * @param key The key whose value changed
+     * @param value The new value of the key
+     * @throws IllegalStateException If the value introduces a circular reference.
+     * The graph is left unchanged.
+     */
+    synchronized void put(String key, String value) {
+        this.checkUpdate(key, value);
+        final Template template = Template.parse(value);
+        this.removeDependents(key, templates.put(key, template));
+        this.addDependents(key, template);
+    }
+
+    /**
+     * Removes the key. Call {@link #refresh(java.lang.String)} afterwards to 
+     * re-resolve the keys which reference it, against the fallback.
+     * @param key The key which was removed
+     */
+    synchronized void remove(String key) {
+        this.removeDependents(key, templates.remove(key));
+        resolved.remove(key);
+    }
+
+    /**
+     * Re-resolves all values which transitively reference the name. Use this
+     * when the value of a name sourced from the fallback changes.
+     * @param name The name whose value changed
+     * @return The keys whose resolved values were updated
+     */
+    synchronized Set<String> refresh(String name) {
+        final Set<String> affected = new LinkedHashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(name);
+        while(!pending.isEmpty()) {
+            final String next = pending.poll();
+            if(!affected.add(next)) {
+                continue;
+            }
+            final Set<String> keys = dependents.get(next);
+            if(keys != null) {
+                pending.addAll(keys);
+            }
+        }
+        affected.retainAll(templates.keySet());
+        this.resolveAll(affected);
+        return affected;
+    }
+
+    /**
+     * @return The referenced names which are not keys of this graph
+     */
+    synchronized Set<String> getExternalNames() {
+        final Set<String> names = new LinkedHashSet<>();
+        for(Map.Entry<String, Set<String>> entry : dependents.entrySet()) {
+            if(!entry.getValue().isEmpty() && !templates.containsKey(entry.getKey())) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    private void addDependents(String key, Template template) {
+        for(String ref : template.refs) {
+            dependents.computeIfAbsent(ref, (k) -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void removeDependents(String key, Template template) {
+        if(template == null) {
+            return;
+        }
+        for(String ref : template.refs) {
+            final Set<String> keys = dependents.get(ref);
+            if(keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    private String lookup(String name) {
+        final String value = resolved.get(name);
+        return value != null ? value : fallback.apply(name);
+    }
+
+    /**
+     * Resolves the keys in topological order. Keys not in the input
+     * collection are taken as already resolved.
+     */
+    private void resolveAll(Collection<String> keys) {
+        final Set<String> pending = new HashSet<>(keys);
+        for(String key : keys) {
+            this.resolve(key, pending);
+        }
+    }
+
+    private void resolve(String key, Set<String> pending) {
+        if(!pending.remove(key)) {
+            return;
+        }
+        final Template template = templates.get(key);
+        for(String ref : template.refs) {
+            if(pending.contains(ref)) {
+                this.resolve(ref, pending);
+            }
+        }
+        resolved.put(key, template.expand(this::lookup));
+    }
+
+    private void checkCycles(Collection<String> keys) {
+        final Set<String> done = new HashSet<>();
+        final List<String> path = new ArrayList<>();
+        final Set<String> onPath = new HashSet<>();
+        for(String key : keys) {
+            this.checkCycles(key, done, path, onPath);
+        }
+    }
+
+    private void checkCycles(String key, Set<String> done, List<String> path, Set<String> onPath) {
+        if(done.contains(key)) {
+            return;
+        }
+        final Template template = templates.get(key);
+        if(template == null) {
+            return;
+        }
+        if(!onPath.add(key)) {
+            final List<String> cycle = new ArrayList<>(path.subList(path.indexOf(key), path.size()));
+            cycle.add(key);
+            throw new IllegalStateException("Circular reference: " + String.join(" -> ", cycle));
+        }
+        path.add(key);
+        for(String ref : template.refs) {
+            this.checkCycles(ref, done, path, onPath);
+        }
+        path.remove(path.size() - 1);
+        onPath.remove(key);
+        done.add(key);
+    }
+
+    /**
+     * A value parsed into literal segments and reference slots.
+     * There is always one more literal than there are references.
+     */
+    static final class Template {
+
+        private static final String[] NO_REFS = new String[0];
+
+        private final String[] literals;
+
+        private final String[] refs;
+
+        private Template(String[] literals, String[] refs) {
+            this.literals = literals;
+            this.refs = refs;
+        }
+
+        /**
+         * Equivalent to matching the pattern <code>\$\{(.+?)\}</code>
+         * @param value The value to parse
+         * @return The parsed template
+         */
+        static Template parse(String value) {
+            int start = value.indexOf("${");
+            if(start == -1) {
+                return new Template(new String[]{value}, NO_REFS);
+            }
+            final List<String> literals = new ArrayList<>(4);
+            final List<String> refs = new ArrayList<>(4);
+            int offset = 0;
+            while(start != -1) {
+                final int end = value.indexOf('}', start + 3);
+                if(end == -1) {
+                    break;
+                }
+                literals.add(value.substring(offset, start));
+                refs.add(value.substring(start + 2, end));
+                offset = end + 1;
+                start = value.indexOf("${", offset);
+            }
+            literals.add(value.substring(offset));
+            return new Template(literals.toArray(new String[0]), refs.toArray(NO_REFS));
+        }
+
+        boolean isLiteral() {
+            return refs.length == 0;
+        }
+
+        String expand(UnaryOperator<String> lookup) {
+            if(refs.length == 0) {
+                return literals[0];
+            }
+            final StringBuilder builder = new StringBuilder();
+            for(int i=0; i<refs.length; i++) {
+                builder.append(literals[i]);
+                final String value = lookup.apply(refs[i]);
+                if(value == null) {
+                    builder.append("${").append(refs[i]).append('}');
+                }else{
+                    builder.append(ReferenceResolverImpl.applyBugFix001(value));
+                }
+            }
+            return builder.append(literals[refs.length]).toString();
+        }
+    }
+}
@@ -109,11 +109,12 @@ public class ReferenceResolverImpl implements Serializable, ReferenceResolver {
 
     /**
      * @bug 001 When we append C:\Users\USER to the StringBuffer we got C:UsersUSER
-     * This bug fix is only a temporary measure
+     * This bug fix is only a temporary measure. Also applied to compiled
+     * references, see {@link com.bc.config.ReferenceGraph}
      * @param val
      * @return 
      */
-    private String applyBugFix001(String val) {
+    static String applyBugFix001(String val) {
         final boolean buggyIfTrue = false;
         final char replacement = buggyIfTrue ? File.separatorChar : '/';
         return val.replace('\\', replacement);
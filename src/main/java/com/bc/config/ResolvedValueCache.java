@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches resolved values by key, together with the reverse dependency graph
+ * of references (i.e <code>${name}</code>) so that a change to a key
+ * invalidates the key and every key which transitively references it.
+ * Values converted from the resolved value (e.g by 
+ * {@link com.bc.config.Config#getLong(java.lang.String) getLong}) are cached 
+ * per key and type, and invalidated together with the resolved value.
+ * <p>
+ * Values computed while a change was in progress are not cached. Callers
+ * capture the {@link #getVersion() version} before computing a value and pass
+ * it to {@link #put(java.lang.String, java.lang.String, java.util.Collection, long)}.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 10:12:31 AM
+ */
+final class ResolvedValueCache {
+
+    private final ConcurrentMap<String, String> values;
+
+    /**
+     * Key to (type to converted value)
+     */
+    private final ConcurrentMap<String, ConcurrentMap<Object, Object>> typedValues;
+
+    /**
+     * Referenced key to the keys whose values reference it
+     */
+    private final ConcurrentMap<String, Set<String>> dependents;
+
+    private final AtomicLong version;
+
+    ResolvedValueCache() {
+        this.values = new ConcurrentHashMap<>();
+        this.typedValues = new ConcurrentHashMap<>();
+        this.dependents = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+    }
+
+    long getVersion() {
+        return version.get();
+    }
+
+    String get(String key) {
+        return values.get(key);
+    }
+
+    void put(String key, String value, Collection<String> references, long versionAtStart) {
+        if(references != null) {
+            for(String ref : references) {
+                dependents.computeIfAbsent(ref, (k) -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+        values.put(key, value);
+        if(version.get() != versionAtStart) {
+            // A change happened while the value was being computed
+            values.remove(key);
+        }
+    }
+
+    Object getTyped(String key, Object type) {
+        final ConcurrentMap<Object, Object> byType = typedValues.get(key);
+        return byType == null ? null : byType.get(type);
+    }
+
+    void putTyped(String key, Object type, Object value, long versionAtStart) {
+        final ConcurrentMap<Object, Object> byType = 
+                typedValues.computeIfAbsent(key, (k) -> new ConcurrentHashMap<>(4));
+        byType.put(type, value);
+        if(version.get() != versionAtStart) {
+            // A change happened while the value was being computed
+            byType.remove(type);
+        }
+    }
+
+    /**
+     * Invalidates the key and all keys which transitively reference it
+     * @param key The key whose value changed
+     * @return The keys that were invalidated, including the input key
+     */
+    Set<String> invalidate(String key) {
+        version.incrementAndGet();
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(key);
+        while(!pending.isEmpty()) {
+            final String next = pending.poll();
+            if(!visited.add(next)) {
+                continue;
+            }
+            values.remove(next);
+            typedValues.remove(next);
+            final Set<String> refs = dependents.remove(next);
+            if(refs != null) {
+                pending.addAll(refs);
+            }
+        }
+        return visited;
+    }
+
+    void clear() {
+        version.incrementAndGet();
+        values.clear();
+        typedValues.clear();
+        dependents.clear();
+    }
+
+    int size() {
+        return values.size();
+    }
+}
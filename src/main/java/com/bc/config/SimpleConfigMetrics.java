@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records measurements in memory, using {@link java.util.concurrent.atomic.LongAdder LongAdder}s,
+ * so that recording from many threads does not contend. Latencies are 
+ * recorded in log-linear histograms, from which percentiles are reported 
+ * to within 12.5%.
+ * <p>
+ * The read count of each key is tracked, up to a maximum number of keys. 
+ * Keys first read after the maximum is reached are not tracked.
+ * </p>
+ * <pre><code>
+ * final SimpleConfigMetrics metrics = new SimpleConfigMetrics();
+ * configService.setMetrics(metrics);
+ * ...
+ * final ConfigMetricsSnapshot snapshot = metrics.snapshot();
+ * </code></pre>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:31:40 PM
+ */
+public class SimpleConfigMetrics implements ConfigMetrics {
+
+    private final int maxTrackedKeys;
+
+    private final LongAdder getMisses = new LongAdder();
+
+    private final LongAdder sets = new LongAdder();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private final LatencyHistogram get = new LatencyHistogram();
+
+    private final LatencyHistogram resolve = new LatencyHistogram();
+
+    private final LatencyHistogram load = new LatencyHistogram();
+
+    private final LatencyHistogram store = new LatencyHistogram();
+
+    /**
+     * Null if keys are not tracked
+     */
+    private final ConcurrentMap<String, LongAdder> keyCounts;
+
+    public SimpleConfigMetrics() {
+        this(1000);
+    }
+
+    /**
+     * @param maxTrackedKeys The maximum number of keys whose read counts are 
+     * tracked, or zero to track none
+     */
+    public SimpleConfigMetrics(int maxTrackedKeys) {
+        if(maxTrackedKeys < 0) {
+            throw new IllegalArgumentException("Max tracked keys < 0: " + maxTrackedKeys);
+        }
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.keyCounts = maxTrackedKeys == 0 ? null : new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordGet(String key, boolean found, long nanos) {
+        get.record(nanos);
+        if(!found) {
+            getMisses.increment();
+        }
+        if(keyCounts != null) {
+            LongAdder count = keyCounts.get(key);
+            if(count == null) {
+                if(keyCounts.size() >= maxTrackedKeys) {
+                    return;
+                }
+                count = keyCounts.computeIfAbsent(key, (k) -> new LongAdder());
+            }
+            count.increment();
+        }
+    }
+
+    @Override
+    public void recordSet(String key) {
+        sets.increment();
+    }
+
+    @Override
+    public void recordResolve(long nanos) {
+        resolve.record(nanos);
+    }
+
+    @Override
+    public void recordLoad(String name, long nanos) {
+        load.record(nanos);
+    }
+
+    @Override
+    public void recordStore(String name, long nanos) {
+        store.record(nanos);
+    }
+
+    @Override
+    public void recordCacheHit(String name) {
+        cacheHits.increment();
+    }
+
+    @Override
+    public void recordCacheMiss(String name) {
+        cacheMisses.increment();
+    }
+
+    @Override
+    public ConfigMetricsSnapshot snapshot() {
+        return new ConfigMetricsSnapshot(getMisses.sum(), sets.sum(), 
+                cacheHits.sum(), cacheMisses.sum(),
+                get.snapshot(), resolve.snapshot(), load.snapshot(), store.snapshot(), 
+                this.getKeyCounts());
+    }
+
+    private Map<String, Long> getKeyCounts() {
+        if(keyCounts == null) {
+            return new LinkedHashMap<>();
+        }
+        final List<Map.Entry<String, Long>> entries = new ArrayList<>(keyCounts.size());
+        for(Map.Entry<String, LongAdder> entry : keyCounts.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        final Map<String, Long> output = new LinkedHashMap<>(entries.size() * 4 / 3 + 1);
+        for(Map.Entry<String, Long> entry : entries) {
+            output.put(entry.getKey(), entry.getValue());
+        }
+        return output;
+    }
+
+    public final int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+}
@@ -17,8 +17,13 @@
 package com.bc.config;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -141,18 +146,93 @@ logger.log(Level.CONFIG, "Loading: {0} over {1}", new Object[]{path, defaultPath
         return output;
     }
     
+    /**
+     * Watches the directories of the paths and default paths for changes, 
+     * and {@link #reload(java.lang.String[], java.lang.String) reloads} the 
+     * configs of changed files. Paths which are not files (e.g class path 
+     * resources) are not watched.
+     * @param debounceMillis Reloading starts only after no change has been 
+     * detected for this number of milliseconds
+     * @return The watcher, which should be closed when no longer required
+     * @throws IOException 
+     * @see com.bc.config.ConfigWatcher
+     */
+    public ConfigWatcher watch(long debounceMillis) throws IOException {
+        
+        final Set<Path> dirs = new LinkedHashSet<>();
+        for(int i=0; i<this.paths.length; i++) {
+            for(String path : this.getPathsAt(i)) {
+                final Path parent = Paths.get(path).toAbsolutePath().getParent();
+                if(parent != null && parent.toFile().isDirectory()) {
+                    dirs.add(parent);
+                }
+            }
+        }
+        
+        return new ConfigWatcher(dirs, 
+                (changed) -> {
+                    final Set<String> names = new LinkedHashSet<>();
+                    for(int i : this.indicesOf(changed)) {
+                        names.add(this.getName(this.paths[i]));
+                    }
+                    return names;
+                },
+                () -> {
+                    final List<String> names = new ArrayList<>(this.paths.length);
+                    for(String path : this.paths) {
+                        names.add(this.getName(path));
+                    }
+                    return names;
+                },
+                (name) -> {
+                    for(int i=0; i<this.paths.length; i++) {
+                        if(this.getName(this.paths[i]).equals(name)) {
+                            final String [] defaultPathArr = defaultPaths == null ? null : defaultPaths[i].toArray(new String[0]);
+                            this.reload(defaultPathArr, this.paths[i]);
+                        }
+                    }
+                }, 
+                debounceMillis);
+    }
+    
+    /**
+     * @return The path and default paths at the index
+     */
+    private List<String> getPathsAt(int i) {
+        final List<String> output = new ArrayList<>();
+        output.add(this.paths[i]);
+        if(this.defaultPaths != null && this.defaultPaths[i] != null) {
+            output.addAll(this.defaultPaths[i]);
+        }
+        return output;
+    }
+    
+    /**
+     * @return The indices of the path, and of the default paths containing the
+     * path, i.e. of every config sharing a changed defaults file
+     */
+    private List<Integer> indicesOf(Path path) {
+        final Path absolute = path.toAbsolutePath().normalize();
+        final List<Integer> output = new ArrayList<>();
+        for(int i=0; i<this.paths.length; i++) {
+            for(String e : this.getPathsAt(i)) {
+                if(Paths.get(e).toAbsolutePath().normalize().equals(absolute)) {
+                    output.add(i);
+                    break;
+                }
+            }
+        }
+        return output;
+    }
+    
     @Override
     public void store() throws IOException {
         
-        final ConfigGroup configGroup = this.getCachedConfigs();
-        
         for(String path : this.paths) {
             
-            final String fileName = this.getName(path);
-            
-            Config config = configGroup.get(fileName);
-            
-            this.store((Properties)config.getData(), path);
+            // Only dirty configs are stored
+            //
+            this.store(path);
         }
     }
     
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link com.bc.config.JsonConfigService JsonConfigService} for a fixed
+ * list of JSON documents, each optionally over a default document.
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 11:32:06 PM
+ */
+public class SimpleJsonConfigService extends JsonConfigService {
+
+    private transient final Logger logger = Logger.getLogger(SimpleJsonConfigService.class.getName());
+
+    private final String [] defaultPaths;
+
+    private final String [] paths;
+
+    public SimpleJsonConfigService(String defaultPath, String path) {
+
+        this(defaultPath, path, "EEE MMM dd HH:mm:ss z yyyy");
+    }
+
+    public SimpleJsonConfigService(String defaultPath, String path,  String timePattern) {
+
+        this(defaultPath == null ? null : new String[]{defaultPath}, new String[]{path}, timePattern);
+    }
+
+    public SimpleJsonConfigService(String [] defaultPaths, String [] paths,  String timePattern) {
+
+        this(Thread.currentThread().getContextClassLoader(), new ConfigGroupImpl(),
+                defaultPaths, paths, timePattern, true);
+    }
+
+    /**
+     * @param classLoader
+     * @param cache
+     * @param defaultPaths The default path of each path, or null if none of
+     * the paths have defaults. Individual default paths may also be null.
+     * @param paths
+     * @param timePattern
+     * @param useCache
+     */
+    public SimpleJsonConfigService(
+            ClassLoader classLoader, ConfigGroup<Map> cache,
+            String [] defaultPaths, String [] paths,  String timePattern, boolean useCache) {
+
+        super(classLoader, cache, timePattern, useCache);
+
+        this.paths = Objects.requireNonNull(paths);
+
+        if(defaultPaths != null && defaultPaths.length != paths.length) {
+            throw new IllegalArgumentException("Expected " + paths.length +
+                    " default paths, found: " + defaultPaths.length);
+        }
+
+        this.defaultPaths = defaultPaths;
+
+if(logger.isLoggable(Level.INFO))
+logger.log(Level.INFO, "Defaults: {0}\nJSON: {1}",
+new Object[]{defaultPaths==null?null:Arrays.toString(defaultPaths), Arrays.toString(paths)});
+    }
+
+    @Override
+    public ConfigGroup<Map> load() throws IOException {
+
+        final ConfigGroup<Map> output = this.isUseCache() ? this.getCachedConfigs() : new ConfigGroupImpl();
+
+        for(int i=0; i<this.paths.length; i++) {
+
+            final String defaultPath = defaultPaths == null ? null : defaultPaths[i];
+
+            final Config<Map> config = this.load(defaultPath, paths[i]);
+
+            output.put(this.getName(paths[i]), config);
+        }
+
+        return output;
+    }
+
+    @Override
+    public void store() throws IOException {
+
+        for(String path : this.paths) {
+
+            // Only dirty configs are stored
+            //
+            this.store(path);
+        }
+    }
+
+    @Override
+    public String [] getDefaultPaths(String filename) {
+        if(filename == null || this.defaultPaths == null) {
+            return null;
+        }
+        for(String defaultPath : this.defaultPaths) {
+            if(defaultPath != null && defaultPath.endsWith(filename)) {
+                return new String[]{defaultPath};
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getPath(String filename) {
+        Objects.requireNonNull(filename);
+        for(String path : this.paths) {
+            if(path.endsWith(filename)) {
+                return path;
+            }
+        }
+        throw new NullPointerException();
+    }
+}
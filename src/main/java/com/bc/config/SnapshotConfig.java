@@ -0,0 +1,291 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link com.bc.config.Config Config} for read-mostly workloads.
+ * <p>
+ * The data is held in an immutable, flattened snapshot (i.e defaults already
+ * merged) in an open addressing array map. Reads do not lock, and reads of
+ * values without references (i.e <code>${name}</code>) do not allocate.
+ * Values with references are resolved on each read, unless resolved values
+ * are cached or references {@link #compileReferences() compiled}.
+ * Changes are published by swapping in a modified copy of the snapshot, so
+ * each change costs a copy of the data.
+ * </p>
+ * <p>
+ * <b>Note:</b>
+ * The {@link #getData()} method returns a copy. Hence changes to the
+ * properties returned by that method will not be reflected in this config.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 4:05:52 PM
+ */
+public class SnapshotConfig extends AbstractConfig<Properties> {
+
+    private final AtomicReference<Snapshot> snapshot;
+    
+    /**
+     * Names whose values were supplied by the defaults of the data, and have
+     * not since been set
+     */
+    private final Set<String> defaultNames;
+
+    public SnapshotConfig(Properties data) {
+        this(data, "EEE MMM dd HH:mm:ss z yyyy");
+    }
+
+    public SnapshotConfig(Properties data, String timePattern) {
+        this(data, timePattern, false);
+    }
+
+    /**
+     * @param data The data to snapshot. Defaults of the data are merged into
+     * the snapshot. Later changes to the data are not reflected in this config.
+     * @param timePattern The pattern used to format and parse time values
+     * @param cacheResolvedValues If true, resolved values are cached
+     * @see com.bc.config.AbstractConfig#AbstractConfig(java.lang.String, boolean)
+     */
+    public SnapshotConfig(Properties data, String timePattern, boolean cacheResolvedValues) {
+        super(timePattern, cacheResolvedValues);
+        final Set<String> names = data.stringPropertyNames();
+        final String [] keys = new String[names.size()];
+        final String [] values = new String[keys.length];
+        this.defaultNames = ConcurrentHashMap.newKeySet();
+        int i = 0;
+        for(String name : names) {
+            keys[i] = name;
+            values[i] = data.getProperty(name);
+            if(FlattenedProperties.isFromDefaults(data, name)) {
+                defaultNames.add(name);
+            }
+            ++i;
+        }
+        this.snapshot = new AtomicReference<>(new Snapshot(keys, values, keys.length));
+    }
+
+    public SnapshotConfig(Map<String, String> data, String timePattern, boolean cacheResolvedValues) {
+        super(timePattern, cacheResolvedValues);
+        final String [] keys = new String[data.size()];
+        final String [] values = new String[keys.length];
+        int i = 0;
+        for(Map.Entry<String, String> entry : data.entrySet()) {
+            keys[i] = Objects.requireNonNull(entry.getKey());
+            values[i] = Objects.requireNonNull(entry.getValue());
+            ++i;
+        }
+        this.snapshot = new AtomicReference<>(new Snapshot(keys, values, keys.length));
+        this.defaultNames = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * <b>Returns a copy</b>
+     * @return A copy of this config's data. Changes to the returned
+     * {@link java.util.Properties Properties} are <b>NOT</b> reflected in this config.
+     * Values supplied by the defaults of the snapshotted data, and not since
+     * set, are the defaults of the copy, hence are not stored with it.
+     */
+    @Override
+    public Properties getData() {
+        final Snapshot s = snapshot.get();
+        final Properties defaults = new Properties();
+        final Properties copy = new Properties(defaults);
+        for(int i=0; i<s.keys.length; i++) {
+            if(s.keys[i] != null) {
+                (defaultNames.contains(s.keys[i]) ? defaults : copy).setProperty(s.keys[i], s.values[i]);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    protected String doGet(String key, String defaultValue) {
+        final String value = snapshot.get().get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    protected Object doSet(String key, String value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        defaultNames.remove(key);
+        while(true) {
+            final Snapshot current = snapshot.get();
+            final Snapshot update = current.with(key, value);
+            if(snapshot.compareAndSet(current, update)) {
+                return current.get(key);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.get().size;
+    }
+
+    /**
+     * @return An unmodifiable view of the names in the current snapshot.
+     * The view is not updated by subsequent changes.
+     */
+    @Override
+    public Set<String> getNames() {
+        return snapshot.get().names;
+    }
+
+    /**
+     * Immutable open addressing (linear probing) hash map of String to String.
+     * Table capacity is a power of 2 kept at least twice the size.
+     */
+    private static final class Snapshot {
+
+        private final String [] keys;
+
+        private final String [] values;
+
+        private final int size;
+
+        private final int mask;
+
+        private final Set<String> names;
+
+        private Snapshot(String [] srcKeys, String [] srcValues, int count) {
+            int capacity = 2;
+            while(capacity < count * 2) {
+                capacity <<= 1;
+            }
+            this.keys = new String[capacity];
+            this.values = new String[capacity];
+            this.mask = capacity - 1;
+            int n = 0;
+            for(int i=0; i<srcKeys.length; i++) {
+                if(srcKeys[i] != null && this.insert(srcKeys[i], srcValues[i])) {
+                    ++n;
+                }
+            }
+            this.size = n;
+            this.names = new Names();
+        }
+
+        private Snapshot(Snapshot source, int index, String value) {
+            this.keys = source.keys;
+            this.values = source.values.clone();
+            this.values[index] = value;
+            this.mask = source.mask;
+            this.size = source.size;
+            this.names = new Names();
+        }
+
+        String get(String key) {
+            int i = indexOf(key);
+            return i == -1 ? null : values[i];
+        }
+
+        Snapshot with(String key, String value) {
+            final int i = indexOf(key);
+            if(i != -1) {
+                return new Snapshot(this, i, value);
+            }
+            final String [] newKeys = new String[keys.length + 1];
+            final String [] newValues = new String[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, keys.length);
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            newKeys[keys.length] = key;
+            newValues[keys.length] = value;
+            return new Snapshot(newKeys, newValues, size + 1);
+        }
+
+        private int indexOf(String key) {
+            int i = hash(key) & mask;
+            String k;
+            while((k = keys[i]) != null) {
+                if(k.equals(key)) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * @return true if the key was added, false if it replaced an existing key
+         */
+        private boolean insert(String key, String value) {
+            int i = hash(key) & mask;
+            String k;
+            while((k = keys[i]) != null) {
+                if(k.equals(key)) {
+                    values[i] = value;
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            return true;
+        }
+
+        private static int hash(String key) {
+            final int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+
+        private final class Names extends AbstractSet<String> {
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String && indexOf((String)o) != -1;
+            }
+            @Override
+            public int size() {
+                return size;
+            }
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<String>() {
+                    private int next = advance(0);
+                    private int advance(int from) {
+                        while(from < keys.length && keys[from] == null) {
+                            ++from;
+                        }
+                        return from;
+                    }
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+                    @Override
+                    public String next() {
+                        if(next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        final String key = keys[next];
+                        next = advance(next + 1);
+                        return key;
+                    }
+                };
+            }
+        }
+    }
+}
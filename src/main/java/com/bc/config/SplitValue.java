@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parts of a value split by a separator, as an immutable list and set.
+ * <p>
+ * Separators without regex metacharacters are split literally. Others are 
+ * split as regular expressions, as by {@link java.lang.String#split(java.lang.String)}.
+ * Either way the result is that of {@link java.lang.String#split(java.lang.String)}.
+ * </p>
+ * @see com.bc.config.ParsedValueCache
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 2:12:44 PM
+ */
+final class SplitValue {
+
+    private static final String REGEX_METACHARACTERS = ".$|()[]{}^?*+\\";
+
+    private final String [] array;
+
+    private final List<String> list;
+
+    /**
+     * Null until first requested
+     */
+    private volatile Set<String> set;
+
+    SplitValue(String value, String separator) {
+        this.array = split(value, separator);
+        this.list = Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    /**
+     * @return A copy of the parts, which the caller may change
+     */
+    String [] toArray() {
+        return array.clone();
+    }
+
+    List<String> getList() {
+        return list;
+    }
+
+    Set<String> getSet() {
+        Set<String> s = this.set;
+        if(s == null) {
+            s = Collections.unmodifiableSet(new HashSet<>(list));
+            this.set = s;
+        }
+        return s;
+    }
+
+    /**
+     * @return The parts, as {@link java.lang.String#split(java.lang.String)} returns them
+     */
+    static String [] split(String value, String separator) {
+        if(!isLiteral(separator)) {
+            return value.split(separator);
+        }
+        final int length = separator.length();
+        int start = 0;
+        int end = value.indexOf(separator);
+        if(end == -1) {
+            return new String[]{value};
+        }
+        final List<String> parts = new ArrayList<>();
+        while(end != -1) {
+            parts.add(value.substring(start, end));
+            start = end + length;
+            end = value.indexOf(separator, start);
+        }
+        parts.add(value.substring(start));
+        // As String.split, drop trailing empty parts
+        int size = parts.size();
+        while(size > 0 && parts.get(size - 1).isEmpty()) {
+            --size;
+        }
+        return parts.subList(0, size).toArray(new String[size]);
+    }
+
+    /**
+     * @return true if splitting by the separator as a regular expression is 
+     * the same as splitting by it literally
+     */
+    static boolean isLiteral(String separator) {
+        if(separator.isEmpty()) {
+            return false;
+        }
+        for(int i=0; i<separator.length(); i++) {
+            if(REGEX_METACHARACTERS.indexOf(separator.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates strings, so that equal keys and values of loaded configs share
+ * a single instance. Unlike {@link java.lang.String#intern()}, the pooled
+ * strings are released with the pool.
+ * <p>
+ * A pool may be shared by several services, e.g by setting the same pool on
+ * each {@link com.bc.config.DirConfigService DirConfigService} of an
+ * application, so that strings repeated across directories are also shared.
+ * </p>
+ * @see com.bc.config.AbstractConfigService#setStringPool(com.bc.config.StringPool)
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:12:40 PM
+ */
+public class StringPool {
+
+    private final ConcurrentMap<String, String> pool;
+
+    private final int maxSize;
+
+    private final LongAdder hits;
+
+    private final LongAdder savedBytes;
+
+    public StringPool() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize The maximum number of strings to pool. When the pool is
+     * full, strings not already pooled are returned as is.
+     */
+    public StringPool(int maxSize) {
+        if(maxSize < 0) {
+            throw new IllegalArgumentException("maxSize < 0");
+        }
+        this.pool = new ConcurrentHashMap<>();
+        this.maxSize = maxSize;
+        this.hits = new LongAdder();
+        this.savedBytes = new LongAdder();
+    }
+
+    /**
+     * @param s The string to deduplicate, may be null
+     * @return The pooled string equal to the argument if any, otherwise the 
+     * argument, which is added to the pool if the pool is not full
+     */
+    public String intern(String s) {
+        if(s == null) {
+            return null;
+        }
+        String pooled = pool.get(s);
+        if(pooled == null) {
+            if(pool.size() >= maxSize) {
+                return s;
+            }
+            pooled = pool.putIfAbsent(s, s);
+            if(pooled == null) {
+                return s;
+            }
+        }
+        if(pooled != s) {
+            hits.increment();
+            savedBytes.add(HeapFootprint.stringBytes(s));
+        }
+        return pooled;
+    }
+
+    /**
+     * Empties the pool. Strings already returned by the pool are unaffected.
+     */
+    public void clear() {
+        pool.clear();
+    }
+
+    /**
+     * @return The number of strings in the pool
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    public final int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of times an equal string was found in the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The estimated heap bytes of the strings which were replaced by
+     * pooled strings, i.e the heap saved once the replaced strings are
+     * garbage collected
+     * @see com.bc.config.HeapFootprint
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{size=" + this.size() + 
+                ", hits=" + this.getHits() + ", savedBytes=" + this.getSavedBytes() + '}';
+    }
+}
@@ -0,0 +1,618 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * TOML, parsed in a single pass from a fixed size buffer without building a
+ * tree. Tables, arrays of tables, dotted keys and inline tables all give
+ * dotted keys, e.g <code>[db]</code> followed by <code>url = "x"</code> gives
+ * <code>db.url=x</code>. The elements of an array of tables are indexed from
+ * 0, e.g <code>servers.0.host</code>.
+ * <p>
+ * Strings are read as their value. Integers, floats, booleans and date-times
+ * are read as their text, with any underscores in numbers removed.
+ * Redefinition of keys and tables is not detected; the last value wins.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:14:27 AM
+ */
+final class TomlFormat implements ConfigFormat {
+
+    @Override
+    public String [] getExtensions() {
+        return new String[]{"toml"};
+    }
+
+    @Override
+    public void read(Reader in, BiConsumer<String, String> sink) throws IOException {
+        new Parser(in, sink).parse();
+    }
+
+    /**
+     * Writes the keys without dots first, then a table for each distinct
+     * part of the keys before their last dot. Booleans and decimal integers
+     * are written bare, all other values as strings.
+     */
+    @Override
+    public void write(Writer out, Map<?, ?> data) throws IOException {
+        final Map<String, Map<String, String>> tables = new TreeMap<>();
+        for(Map.Entry<?, ?> entry : data.entrySet()) {
+            if(entry.getValue() == null) {
+                continue;
+            }
+            final String key = String.valueOf(entry.getKey());
+            final int dot = key.lastIndexOf('.');
+            final String table = dot == -1 ? "" : key.substring(0, dot);
+            tables.computeIfAbsent(table, (k) -> new TreeMap<>())
+                    .put(key.substring(dot + 1), entry.getValue().toString());
+        }
+        boolean first = true;
+        for(Map.Entry<String, Map<String, String>> table : tables.entrySet()) {
+            if(!table.getKey().isEmpty()) {
+                if(!first) {
+                    out.write('\n');
+                }
+                out.write('[');
+                writeKey(out, table.getKey());
+                out.write("]\n");
+            }
+            for(Map.Entry<String, String> entry : table.getValue().entrySet()) {
+                writeKey(out, entry.getKey());
+                out.write(" = ");
+                writeValue(out, entry.getValue());
+                out.write('\n');
+            }
+            first = false;
+        }
+        out.flush();
+    }
+
+    private static void writeKey(Writer out, String key) throws IOException {
+        int start = 0;
+        while(true) {
+            final int dot = key.indexOf('.', start);
+            final String part = dot == -1 ? key.substring(start) : key.substring(start, dot);
+            if(isBare(part)) {
+                out.write(part);
+            }else{
+                writeString(out, part);
+            }
+            if(dot == -1) {
+                break;
+            }
+            out.write('.');
+            start = dot + 1;
+        }
+    }
+
+    private static boolean isBare(String part) {
+        if(part.isEmpty()) {
+            return false;
+        }
+        for(int i=0; i<part.length(); i++) {
+            if(!isBareKeyChar(part.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBareKeyChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') ||
+                (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static void writeValue(Writer out, String value) throws IOException {
+        if("true".equals(value) || "false".equals(value) || isDecimalInteger(value)) {
+            out.write(value);
+        }else{
+            writeString(out, value);
+        }
+    }
+
+    private static boolean isDecimalInteger(String s) {
+        final int start = s.startsWith("-") ? 1 : 0;
+        if(s.length() == start || s.length() - start > 18 ||
+                (s.charAt(start) == '0' && s.length() > start + 1)) {
+            return false;
+        }
+        for(int i=start; i<s.length(); i++) {
+            if(s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(Writer out, String s) throws IOException {
+        out.write('"');
+        for(int i=0; i<s.length(); i++) {
+            final char c = s.charAt(i);
+            switch(c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                case '\b': out.write("\\b"); break;
+                case '\f': out.write("\\f"); break;
+                default:
+                    if(c < 0x20 || c == 0x7f) {
+                        out.write(String.format("\\u%04x", (int)c));
+                    }else{
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    private static final class Parser {
+
+        private final Reader in;
+
+        private final BiConsumer<String, String> sink;
+
+        private final char [] buffer = new char[8192];
+
+        private int pos;
+
+        private int limit;
+
+        private int line = 1;
+
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * The current element of each array of tables, by the name in its header
+         */
+        private final Map<String, String> currentElements = new HashMap<>();
+
+        /**
+         * The number of elements of each array of tables, by resolved name
+         */
+        private final Map<String, Integer> elementCounts = new HashMap<>();
+
+        private Parser(Reader in, BiConsumer<String, String> sink) {
+            this.in = in;
+            this.sink = sink;
+        }
+
+        private void parse() throws IOException {
+            String table = null;
+            if(this.peek() == '\ufeff') {
+                ++pos;
+            }
+            while(true) {
+                this.skipWhitespace();
+                final int c = this.peek();
+                if(c == -1) {
+                    break;
+                }else if(c == '#' || c == '\n' || c == '\r') {
+                    this.endOfLine();
+                }else if(c == '[') {
+                    table = this.header();
+                    this.endOfLine();
+                }else{
+                    this.keyValue(table);
+                    this.endOfLine();
+                }
+            }
+        }
+
+        /**
+         * @return The prefix of the keys of the table
+         */
+        private String header() throws IOException {
+            this.read();
+            final boolean arrayTable = this.peek() == '[';
+            if(arrayTable) {
+                this.read();
+            }
+            this.skipWhitespace();
+            final List<String> parts = this.keyParts();
+            this.skipWhitespace();
+            this.expect(']');
+            if(arrayTable) {
+                this.expect(']');
+            }
+            final StringBuilder name = new StringBuilder();
+            String resolved = null;
+            for(int i=0; i<parts.size(); i++) {
+                if(i > 0) {
+                    name.append('.');
+                }
+                name.append(parts.get(i));
+                resolved = resolved == null ? parts.get(i) : resolved + '.' + parts.get(i);
+                if(i < parts.size() - 1 || !arrayTable) {
+                    final String element = currentElements.get(name.toString());
+                    if(element != null) {
+                        resolved = element;
+                    }
+                }
+            }
+            if(arrayTable) {
+                final int index = elementCounts.merge(resolved, 1, Integer::sum) - 1;
+                resolved = resolved + '.' + index;
+                currentElements.put(name.toString(), resolved);
+            }
+            return resolved;
+        }
+
+        private void keyValue(String prefix) throws IOException {
+            final String key = this.key(prefix);
+            this.skipWhitespace();
+            this.expect('=');
+            this.skipWhitespace();
+            this.value(key);
+        }
+
+        private String key(String prefix) throws IOException {
+            final List<String> parts = this.keyParts();
+            final StringBuilder key = new StringBuilder();
+            if(prefix != null) {
+                key.append(prefix).append('.');
+            }
+            for(int i=0; i<parts.size(); i++) {
+                if(i > 0) {
+                    key.append('.');
+                }
+                key.append(parts.get(i));
+            }
+            return key.toString();
+        }
+
+        private List<String> keyParts() throws IOException {
+            final List<String> parts = new ArrayList<>(2);
+            while(true) {
+                final int c = this.peek();
+                if(c == '"') {
+                    this.read();
+                    parts.add(this.basicString(false));
+                }else if(c == '\'') {
+                    this.read();
+                    parts.add(this.literalString(false));
+                }else{
+                    builder.setLength(0);
+                    int k;
+                    while(isBareKeyChar(k = this.peek())) {
+                        builder.append((char)k);
+                        ++pos;
+                    }
+                    if(builder.length() == 0) {
+                        throw this.error("Expected a key");
+                    }
+                    parts.add(builder.toString());
+                }
+                this.skipWhitespace();
+                if(this.peek() != '.') {
+                    return parts;
+                }
+                this.read();
+                this.skipWhitespace();
+            }
+        }
+
+        private void value(String key) throws IOException {
+            final int c = this.peek();
+            if(c == '[') {
+                this.array(key);
+            }else if(c == '{') {
+                this.inlineTable(key);
+            }else{
+                sink.accept(key, this.scalar());
+            }
+        }
+
+        private void array(String key) throws IOException {
+            this.read();
+            final FlatArray array = new FlatArray(key, sink);
+            while(true) {
+                this.skipBlank();
+                int c = this.peek();
+                if(c == ']') {
+                    this.read();
+                    break;
+                }
+                if(c == '[' || c == '{') {
+                    this.value(array.addContainer());
+                }else{
+                    array.add(this.scalar());
+                }
+                this.skipBlank();
+                c = this.peek();
+                if(c == ',') {
+                    this.read();
+                }else if(c != ']') {
+                    throw this.error("Expected ',' or ']'");
+                }
+            }
+            array.end();
+        }
+
+        private void inlineTable(String key) throws IOException {
+            this.read();
+            this.skipWhitespace();
+            if(this.peek() == '}') {
+                this.read();
+                return;
+            }
+            while(true) {
+                this.keyValue(key);
+                this.skipWhitespace();
+                final int c = this.read();
+                if(c == '}') {
+                    return;
+                }
+                if(c != ',') {
+                    throw this.error("Expected ',' or '}'");
+                }
+                this.skipWhitespace();
+            }
+        }
+
+        private String scalar() throws IOException {
+            final int c = this.peek();
+            if(c == '"' || c == '\'') {
+                this.read();
+                final boolean multiline = this.peek() == c && this.peek(1) == c;
+                if(multiline) {
+                    pos += 2;
+                    if(this.peek() == '\r' && this.peek(1) == '\n') {
+                        this.read();
+                    }
+                    if(this.peek() == '\n') {
+                        this.read();
+                    }
+                }
+                return c == '"' ? this.basicString(multiline) : this.literalString(multiline);
+            }
+            builder.setLength(0);
+            int k;
+            while((k = this.peek()) != -1 && k != ' ' && k != '\t' && k != ',' &&
+                    k != ']' && k != '}' && k != '#' && k != '\r' && k != '\n') {
+                if(k != '_') {
+                    builder.append((char)k);
+                }
+                ++pos;
+                // A date and time separated by a space, e.g 1979-05-27 07:32:00
+                if((builder.length() == 10 && builder.charAt(4) == '-' && builder.charAt(7) == '-' &&
+                        this.peek() == ' ' && this.peek(1) >= '0' && this.peek(1) <= '9')) {
+                    builder.append(' ');
+                    ++pos;
+                }
+            }
+            final String value = builder.toString();
+            if(value.isEmpty()) {
+                throw this.error("Expected a value");
+            }
+            final char first = value.charAt(0);
+            if(!"true".equals(value) && !"false".equals(value) && !value.endsWith("inf") && !value.endsWith("nan") &&
+                    (first < '0' || first > '9') && first != '+' && first != '-') {
+                throw this.error("Invalid value: " + value);
+            }
+            return value;
+        }
+
+        /**
+         * Reads the rest of a basic string, whose opening quotes have been read
+         */
+        private String basicString(boolean multiline) throws IOException {
+            builder.setLength(0);
+            while(true) {
+                final int c = this.read();
+                if(c == '"') {
+                    if(!multiline) {
+                        return builder.toString();
+                    }
+                    if(this.closeMultiline('"')) {
+                        return builder.toString();
+                    }
+                }else if(c == '\\') {
+                    final int e = this.read();
+                    switch(e) {
+                        case '"': case '\\': builder.append((char)e); break;
+                        case 'b': builder.append('\b'); break;
+                        case 'f': builder.append('\f'); break;
+                        case 'n': builder.append('\n'); break;
+                        case 'r': builder.append('\r'); break;
+                        case 't': builder.append('\t'); break;
+                        case 'u': builder.appendCodePoint(this.hex(4)); break;
+                        case 'U': builder.appendCodePoint(this.hex(8)); break;
+                        default:
+                            if(multiline && (e == ' ' || e == '\t' || e == '\r' || e == '\n')) {
+                                // A line ending backslash trims all white space up to the next value
+                                this.skipBlankLines();
+                            }else{
+                                throw this.error("Invalid escape: \\" + (char)e);
+                            }
+                    }
+                }else{
+                    this.append(c, multiline);
+                }
+            }
+        }
+
+        /**
+         * Reads the rest of a literal string, whose opening quotes have been read
+         */
+        private String literalString(boolean multiline) throws IOException {
+            builder.setLength(0);
+            while(true) {
+                final int c = this.read();
+                if(c == '\'') {
+                    if(!multiline || this.closeMultiline('\'')) {
+                        return builder.toString();
+                    }
+                }else{
+                    this.append(c, multiline);
+                }
+            }
+        }
+
+        /**
+         * Called after reading a quote in a multi-line string
+         * @return true if the quote began the closing quotes, which have
+         * been read. Otherwise the quotes read are appended.
+         */
+        private boolean closeMultiline(char quote) throws IOException {
+            int count = 1;
+            while(this.peek() == quote && count < 5) {
+                this.read();
+                ++count;
+            }
+            for(int i=count < 3 ? count : count - 3; i>0; i--) {
+                builder.append(quote);
+            }
+            return count >= 3;
+        }
+
+        private void append(int c, boolean multiline) throws IOException {
+            if(c == -1) {
+                throw this.error("Unterminated string");
+            }
+            if((c == '\n' || c == '\r') && !multiline) {
+                throw this.error("Unterminated string");
+            }
+            if(c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                throw this.error("Control characters must be escaped");
+            }
+            builder.append((char)c);
+        }
+
+        private int hex(int digits) throws IOException {
+            int value = 0;
+            for(int i=0; i<digits; i++) {
+                final int digit = Character.digit(this.read(), 16);
+                if(digit == -1) {
+                    throw this.error("Invalid unicode escape");
+                }
+                value = (value << 4) | digit;
+            }
+            if(!Character.isValidCodePoint(value)) {
+                throw this.error("Invalid unicode escape");
+            }
+            return value;
+        }
+
+        private void skipWhitespace() throws IOException {
+            int c;
+            while((c = this.peek()) == ' ' || c == '\t') {
+                ++pos;
+            }
+        }
+
+        private void skipBlankLines() throws IOException {
+            int c;
+            while((c = this.peek()) == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                this.read();
+            }
+        }
+
+        /**
+         * Skips white space, new lines and comments, as allowed within arrays
+         */
+        private void skipBlank() throws IOException {
+            while(true) {
+                this.skipBlankLines();
+                if(this.peek() != '#') {
+                    return;
+                }
+                this.skipComment();
+            }
+        }
+
+        private void skipComment() throws IOException {
+            int c;
+            while((c = this.peek()) != -1 && c != '\n' && c != '\r') {
+                ++pos;
+            }
+        }
+
+        /**
+         * Reads optional white space and a comment, then the end of the line
+         */
+        private void endOfLine() throws IOException {
+            this.skipWhitespace();
+            if(this.peek() == '#') {
+                this.skipComment();
+            }
+            int c = this.read();
+            if(c == '\r') {
+                c = this.read();
+            }
+            if(c != '\n' && c != -1) {
+                throw this.error("Expected the end of the line");
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            if(this.read() != expected) {
+                throw this.error("Expected '" + expected + "'");
+            }
+        }
+
+        private int peek() throws IOException {
+            return pos < limit || this.fill(1) ? buffer[pos] : -1;
+        }
+
+        private int peek(int offset) throws IOException {
+            return pos + offset < limit || this.fill(offset + 1) ? buffer[pos + offset] : -1;
+        }
+
+        private int read() throws IOException {
+            final int c = this.peek();
+            if(c != -1) {
+                ++pos;
+                if(c == '\n') {
+                    ++line;
+                }
+            }
+            return c;
+        }
+
+        /**
+         * Fills the buffer with at least the required number of unread chars
+         * @return true if the chars are available
+         */
+        private boolean fill(int required) throws IOException {
+            if(pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            int n;
+            while(limit < required && (n = in.read(buffer, limit, buffer.length - limit)) != -1) {
+                limit += n;
+            }
+            return limit >= required;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at line " + line);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Infers the type of a value from its text, in a single pass and without 
+ * throwing exceptions. A value is, in order of precedence:
+ * <ul>
+ *   <li>A {@link java.lang.Boolean Boolean} if it is <code>true</code> or <code>false</code></li>
+ *   <li>A {@link java.lang.Long Long} if {@link java.lang.Long#valueOf(java.lang.String)} accepts it</li>
+ *   <li>A {@link java.lang.Double Double} if {@link java.lang.Double#valueOf(java.lang.String)} accepts it</li>
+ *   <li>A {@link java.util.Date Date} if the time pattern parses it</li>
+ * </ul>
+ * Values are trimmed first. These are the types which the typed getters of
+ * {@link com.bc.config.AbstractConfig AbstractConfig} would return.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 1:34:12 PM
+ */
+final class ValueClassifier {
+
+    private ValueClassifier() { }
+
+    /**
+     * @param value The value to classify
+     * @param timeFormatter The formatter to parse dates with, or null if 
+     * values are not to be classified as dates
+     * @return The typed value, or null if the value is a string
+     */
+    static Object classify(String value, DateTimeFormatter timeFormatter) {
+        final String s = value.trim();
+        if("true".equals(s)) {
+            return Boolean.TRUE;
+        }
+        if("false".equals(s)) {
+            return Boolean.FALSE;
+        }
+        final Long l = toLong(s);
+        if(l != null) {
+            return l;
+        }
+        if(isDouble(s)) {
+            return Double.valueOf(s);
+        }
+        if(timeFormatter != null) {
+            final ZonedDateTime time = DateTimeFormats.tryParse(timeFormatter, withTime(value));
+            if(time != null) {
+                return new Date(time.toInstant().toEpochMilli());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * As {@link com.bc.config.AbstractConfig#getTime(java.lang.String)} does, 
+     * appends a time to values with no time part
+     */
+    private static String withTime(String value) {
+        return value.length() > 3 && value.indexOf(':') == -1 ? value + " 00:00:00" : value;
+    }
+
+    /**
+     * @param s The trimmed text
+     * @return The value, as {@link java.lang.Long#valueOf(java.lang.String)} 
+     * would return it, or null if that method would throw an exception
+     */
+    static Long toLong(String s) {
+        final int len = s.length();
+        if(len == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        final char first = s.charAt(0);
+        if(first == '-' || first == '+') {
+            if(len == 1) {
+                return null;
+            }
+            negative = first == '-';
+            i = 1;
+        }
+        // Accumulated negatively, as Long.MIN_VALUE has no positive counterpart
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyMin = limit / 10;
+        long result = 0;
+        for(; i<len; i++) {
+            final int digit = Character.digit(s.charAt(i), 10);
+            if(digit < 0 || result < multiplyMin) {
+                return null;
+            }
+            result *= 10;
+            if(result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * @param s The trimmed text
+     * @return true if {@link java.lang.Double#valueOf(java.lang.String)} 
+     * accepts the text, i.e a decimal or hexadecimal floating point literal,
+     * <code>NaN</code> or <code>Infinity</code>, optionally signed
+     */
+    static boolean isDouble(String s) {
+        final int len = s.length();
+        int i = 0;
+        if(len > 0 && (s.charAt(0) == '+' || s.charAt(0) == '-')) {
+            ++i;
+        }
+        if(s.startsWith("NaN", i)) {
+            return i + 3 == len;
+        }
+        if(s.startsWith("Infinity", i)) {
+            return i + 8 == len;
+        }
+        if(i + 1 < len && s.charAt(i) == '0' && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+            return isHexDouble(s, i + 2);
+        }
+        int digits = 0;
+        while(i < len && isDigit(s.charAt(i))) {
+            ++i;
+            ++digits;
+        }
+        if(i < len && s.charAt(i) == '.') {
+            ++i;
+            while(i < len && isDigit(s.charAt(i))) {
+                ++i;
+                ++digits;
+            }
+        }
+        if(digits == 0) {
+            return false;
+        }
+        if(i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i = skipExponent(s, i + 1);
+            if(i == -1) {
+                return false;
+            }
+        }
+        return isEndOrSuffix(s, i);
+    }
+
+    /**
+     * Hexadecimal literals have hex digits, an optional point, and a binary 
+     * exponent, which is required, e.g <code>0x1.8p1</code>
+     */
+    private static boolean isHexDouble(String s, int i) {
+        final int len = s.length();
+        int digits = 0;
+        while(i < len && Character.digit(s.charAt(i), 16) != -1 && s.charAt(i) < 128) {
+            ++i;
+            ++digits;
+        }
+        if(i < len && s.charAt(i) == '.') {
+            ++i;
+            while(i < len && Character.digit(s.charAt(i), 16) != -1 && s.charAt(i) < 128) {
+                ++i;
+                ++digits;
+            }
+        }
+        if(digits == 0 || i == len || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return false;
+        }
+        i = skipExponent(s, i + 1);
+        return i != -1 && isEndOrSuffix(s, i);
+    }
+
+    /**
+     * @return The index after the signed exponent digits, or -1 if there are no digits
+     */
+    private static int skipExponent(String s, int i) {
+        final int len = s.length();
+        if(i < len && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            ++i;
+        }
+        final int start = i;
+        while(i < len && isDigit(s.charAt(i))) {
+            ++i;
+        }
+        return i == start ? -1 : i;
+    }
+
+    private static boolean isEndOrSuffix(String s, int i) {
+        if(i == s.length()) {
+            return true;
+        }
+        final char c = s.charAt(i);
+        return i + 1 == s.length() && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return true if the name is a qualified java identifier, i.e a 
+     * candidate class name
+     */
+    static boolean isQualifiedName(String name) {
+        boolean start = true;
+        for(int i=0; i<name.length(); i++) {
+            final char c = name.charAt(i);
+            if(start) {
+                if(!Character.isJavaIdentifierStart(c)) {
+                    return false;
+                }
+                start = false;
+            }else if(c == '.') {
+                start = true;
+            }else if(!Character.isJavaIdentifierPart(c)) {
+                return false;
+            }
+        }
+        return !start;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces stores of the same path. The first request to store a path
+ * schedules a single store after a delay; requests for the same path before
+ * the store starts share it. Stores run on a single daemon thread shared by
+ * all instances, and pending stores are run when the JVM shuts down.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 10:31:48 AM
+ */
+final class WriteBehind {
+
+    private static transient final Logger logger = Logger.getLogger(WriteBehind.class.getName());
+
+    @FunctionalInterface
+    interface Store {
+        void store(String path) throws IOException;
+    }
+
+    /**
+     * Instances which may have pending stores at shutdown
+     */
+    private static final Set<WriteBehind> instances =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService INSTANCE;
+        static {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                final Thread thread = new Thread(runnable, WriteBehind.class.getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            INSTANCE = scheduler;
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    WriteBehind::drainAll, WriteBehind.class.getSimpleName() + "-shutdown"));
+        }
+    }
+
+    private static final class Pending {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile ScheduledFuture<?> task;
+    }
+
+    private final Store store;
+
+    private final ConcurrentMap<String, Pending> pending;
+
+    WriteBehind(Store store) {
+        this.store = store;
+        this.pending = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param path The path to store
+     * @param delayMillis The delay before storing, if no store of the path is pending
+     * @return Completes when the pending store of the path completes
+     */
+    CompletableFuture<Void> schedule(String path, long delayMillis) {
+        final Pending created = new Pending();
+        final Pending existing = pending.putIfAbsent(path, created);
+        if(existing != null) {
+            return existing.future;
+        }
+        instances.add(this);
+        created.task = SchedulerHolder.INSTANCE.schedule(
+                () -> this.run(path, created), delayMillis, TimeUnit.MILLISECONDS);
+        return created.future;
+    }
+
+    /**
+     * @return Completes when the pending store of the path completes, or a
+     * completed future if no store of the path is pending
+     */
+    CompletableFuture<Void> getPending(String path) {
+        final Pending p = pending.get(path);
+        return p == null ? CompletableFuture.completedFuture(null) : p.future;
+    }
+
+    /**
+     * Starts all pending stores without further delay
+     * @return Completes when all stores pending at the time of the call
+     * complete, or exceptionally if any of them fails
+     */
+    CompletableFuture<Void> flush() {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(pending.size());
+        for(Map.Entry<String, Pending> entry : pending.entrySet()) {
+            final Pending p = entry.getValue();
+            final ScheduledFuture<?> task = p.task;
+            if(task != null) {
+                task.cancel(false);
+            }
+            SchedulerHolder.INSTANCE.execute(() -> this.run(entry.getKey(), p));
+            futures.add(p.future);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Runs all pending stores on the calling thread
+     */
+    private void drain() {
+        for(Map.Entry<String, Pending> entry : pending.entrySet()) {
+            this.run(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void drainAll() {
+        final List<WriteBehind> all;
+        synchronized(instances) {
+            all = new ArrayList<>(instances);
+        }
+        for(WriteBehind writeBehind : all) {
+            writeBehind.drain();
+        }
+    }
+
+    private void run(String path, Pending p) {
+        // Requests from here on schedule a new store
+        if(!pending.remove(path, p)) {
+            return;
+        }
+        try{
+            store.store(path);
+            p.future.complete(null);
+        }catch(IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to store: " + path, e);
+            p.future.completeExceptionally(e);
+        }
+    }
+}
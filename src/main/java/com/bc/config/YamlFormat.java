@@ -0,0 +1,659 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * The subset of YAML commonly used for configuration, read line by line
+ * without building a tree. Supported are:
+ * <ul>
+ *   <li>Block mappings and block sequences, nested by indentation</li>
+ *   <li>Plain, single quoted and double quoted scalars</li>
+ *   <li>Literal (<code>|</code>) and folded (<code>&gt;</code>) block scalars</li>
+ *   <li>Single line flow sequences and flow mappings of scalars, e.g <code>[a, b]</code></li>
+ *   <li>Comments, and a leading <code>---</code> document marker</li>
+ * </ul>
+ * Anchors, aliases, tags, complex keys, multi-line flow collections and
+ * multiple documents are not supported, and fail with an {@link java.io.IOException IOException}.
+ * Null values (<code>~</code>, <code>null</code> or no value) are skipped.
+ * All other scalars are read as their text.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:38:46 AM
+ */
+final class YamlFormat implements ConfigFormat {
+
+    @Override
+    public String [] getExtensions() {
+        return new String[]{"yaml", "yml"};
+    }
+
+    @Override
+    public void read(Reader in, BiConsumer<String, String> sink) throws IOException {
+        new Parser(in, sink).parse();
+    }
+
+    /**
+     * Writes nested block mappings, nesting dotted keys as
+     * {@link com.bc.config.JsonWriter JsonWriter} does. Values which could
+     * be misread as plain scalars are double quoted.
+     */
+    @Override
+    public void write(Writer out, Map<?, ?> data) throws IOException {
+        final String [] keys = new String[data.size()];
+        int n = 0;
+        for(Object key : data.keySet()) {
+            keys[n++] = String.valueOf(key);
+        }
+        Arrays.sort(keys);
+        final List<String> open = new ArrayList<>();
+        for(String key : keys) {
+            final Object value = data.get(key);
+            if(value == null) {
+                continue;
+            }
+            final List<String> path = new ArrayList<>();
+            int start = 0;
+            int dot;
+            while((dot = key.indexOf('.', start)) != -1) {
+                if(dot == start || data.containsKey(key.substring(0, dot))) {
+                    break;
+                }
+                path.add(key.substring(start, dot));
+                start = dot + 1;
+            }
+            int common = 0;
+            while(common < open.size() && common < path.size() && open.get(common).equals(path.get(common))) {
+                ++common;
+            }
+            while(open.size() > common) {
+                open.remove(open.size() - 1);
+            }
+            for(int i=common; i<path.size(); i++) {
+                indent(out, i);
+                writeScalar(out, path.get(i));
+                out.write(":\n");
+                open.add(path.get(i));
+            }
+            indent(out, path.size());
+            writeScalar(out, key.substring(start));
+            out.write(": ");
+            writeScalar(out, value.toString());
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static void indent(Writer out, int depth) throws IOException {
+        for(int i=0; i<depth; i++) {
+            out.write("  ");
+        }
+    }
+
+    private static void writeScalar(Writer out, String s) throws IOException {
+        if(isPlain(s)) {
+            out.write(s);
+            return;
+        }
+        out.write('"');
+        for(int i=0; i<s.length(); i++) {
+            final char c = s.charAt(i);
+            switch(c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if(c < 0x20 || c == 0x7f) {
+                        out.write(String.format("\\u%04x", (int)c));
+                    }else{
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * @return true if the text reads back unchanged as a plain scalar or key
+     */
+    private static boolean isPlain(String s) {
+        if(s.isEmpty() || isNull(s) || "-?:,[]{}#&*!|>'\"%@`~ ".indexOf(s.charAt(0)) != -1 ||
+                s.charAt(s.length() - 1) == ' ' || s.charAt(s.length() - 1) == ':' ||
+                s.contains(": ") || s.contains(" #")) {
+            return false;
+        }
+        for(int i=0; i<s.length(); i++) {
+            final char c = s.charAt(i);
+            if(c < 0x20 || c == 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNull(String s) {
+        return "~".equals(s) || "null".equals(s) || "Null".equals(s) || "NULL".equals(s);
+    }
+
+    private static final class Frame {
+        /**
+         * The indentation of the entries of this collection
+         */
+        private final int indent;
+        /**
+         * The key of a mapping, prefixed to the keys of its entries
+         */
+        private final String prefix;
+        /**
+         * The elements of a sequence, or null for a mapping
+         */
+        private final FlatArray array;
+        private Frame(int indent, String prefix, FlatArray array) {
+            this.indent = indent;
+            this.prefix = prefix;
+            this.array = array;
+        }
+    }
+
+    private static final class Parser {
+
+        private final BufferedReader reader;
+
+        private final BiConsumer<String, String> sink;
+
+        private final Deque<Frame> stack = new ArrayDeque<>();
+
+        private int lineNumber;
+
+        private String pushedBack;
+
+        private boolean started;
+
+        /**
+         * Whether the last entry had no value, which may yet be a nested
+         * collection on the following lines
+         */
+        private boolean pending;
+
+        private int pendingIndent;
+
+        private String pendingKey;
+
+        private FlatArray pendingArray;
+
+        private Parser(Reader in, BiConsumer<String, String> sink) {
+            this.reader = in instanceof BufferedReader ? (BufferedReader)in : new BufferedReader(in);
+            this.sink = sink;
+        }
+
+        private void parse() throws IOException {
+            String line;
+            while((line = this.nextLine()) != null) {
+                if(lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\ufeff') {
+                    line = line.substring(1);
+                }
+                final int indent = indentOf(line);
+                if(indent < line.length() && line.charAt(indent) == '\t') {
+                    throw this.error("Tabs are not allowed for indentation");
+                }
+                if(indent == line.length() || line.charAt(indent) == '#') {
+                    continue;
+                }
+                if(indent == 0 && (line.charAt(0) == '%' || isMarker(line, "---"))) {
+                    if(started) {
+                        throw this.error("Multiple documents are not supported");
+                    }
+                    continue;
+                }
+                if(indent == 0 && isMarker(line, "...")) {
+                    break;
+                }
+                started = true;
+
+                final String content = line.substring(indent);
+                final boolean item = isItem(content);
+
+                if(stack.isEmpty()) {
+                    if(item) {
+                        throw this.error("Expected a mapping at the top level");
+                    }
+                    stack.push(new Frame(indent, null, null));
+                }
+
+                if(pending) {
+                    pending = false;
+                    if(indent > pendingIndent || (item && indent == pendingIndent && pendingArray == null)) {
+                        final String key = pendingArray == null ? pendingKey : pendingArray.addContainer();
+                        stack.push(new Frame(indent, key, item ? new FlatArray(key, sink) : null));
+                    }else if(pendingArray != null) {
+                        pendingArray.add(null);
+                    }
+                }
+
+                while(stack.peek().indent > indent ||
+                        (stack.peek().array != null && !item && stack.peek().indent == indent)) {
+                    this.close(stack.pop());
+                    if(stack.isEmpty()) {
+                        throw this.error("Bad indentation");
+                    }
+                }
+
+                final Frame frame = stack.peek();
+                if(frame.indent != indent) {
+                    throw this.error("Bad indentation");
+                }
+
+                this.entry(frame, content, indent);
+            }
+
+            if(pending && pendingArray != null) {
+                pendingArray.add(null);
+            }
+            while(!stack.isEmpty()) {
+                this.close(stack.pop());
+            }
+        }
+
+        private void entry(Frame frame, String content, int indent) throws IOException {
+
+            final boolean item = isItem(content);
+
+            if(frame.array != null) {
+
+                if(!item) {
+                    throw this.error("Expected a sequence item");
+                }
+
+                final int offset = indentOf(content.substring(1)) + 1;
+                final String rest = content.substring(offset);
+                final int column = indent + offset;
+
+                if(rest.isEmpty() || rest.charAt(0) == '#') {
+                    this.setPending(indent, null, frame.array);
+                }else if(isItem(rest)) {
+                    final String key = frame.array.addContainer();
+                    final Frame nested = new Frame(column, key, new FlatArray(key, sink));
+                    stack.push(nested);
+                    this.entry(nested, rest, column);
+                }else if(this.indexOfColon(rest) != -1) {
+                    final Frame nested = new Frame(column, frame.array.addContainer(), null);
+                    stack.push(nested);
+                    this.entry(nested, rest, column);
+                }else{
+                    this.value(rest, indent, null, frame.array);
+                }
+            }else{
+
+                if(item) {
+                    throw this.error("Unexpected sequence item");
+                }
+
+                final int colon = this.indexOfColon(content);
+                if(colon == -1) {
+                    throw this.error("Expected 'key: value'");
+                }
+
+                final String name = content.substring(0, colon).trim();
+                if(name.isEmpty() || name.charAt(0) == '?') {
+                    throw this.error("Complex keys are not supported");
+                }
+                final char q = name.charAt(0);
+                final String key = q == '"' || q == '\'' ? this.scalar(name) : name;
+                final String fullKey = frame.prefix == null ? key : frame.prefix + '.' + key;
+
+                final String rest = content.substring(colon + 1).trim();
+
+                if(rest.isEmpty() || rest.charAt(0) == '#') {
+                    this.setPending(indent, fullKey, null);
+                }else{
+                    this.value(rest, indent, fullKey, null);
+                }
+            }
+        }
+
+        private void setPending(int indent, String key, FlatArray array) {
+            this.pending = true;
+            this.pendingIndent = indent;
+            this.pendingKey = key;
+            this.pendingArray = array;
+        }
+
+        /**
+         * Reads the value of a mapping entry, or a sequence element
+         * @param rest The value text, without leading white space
+         * @param indent The indentation of the entry or element
+         * @param key The key of the entry, or null if an element
+         * @param array The sequence of the element, or null if an entry
+         */
+        private void value(String rest, int indent, String key, FlatArray array) throws IOException {
+            switch(rest.charAt(0)) {
+                case '|':
+                case '>':
+                    this.emit(key, array, this.blockScalar(rest, indent));
+                    break;
+                case '[':
+                    final FlatArray elements = new FlatArray(array == null ? key : array.addContainer(), sink);
+                    for(String element : this.splitFlow(rest, ']')) {
+                        elements.add(this.scalar(element));
+                    }
+                    elements.end();
+                    break;
+                case '{':
+                    final String prefix = array == null ? key : array.addContainer();
+                    for(String entry : this.splitFlow(rest, '}')) {
+                        final int colon = this.indexOfColon(entry);
+                        if(colon == -1) {
+                            throw this.error("Expected 'key: value'");
+                        }
+                        final String value = this.scalar(entry.substring(colon + 1).trim());
+                        if(value != null) {
+                            sink.accept(prefix + '.' + this.scalar(entry.substring(0, colon).trim()), value);
+                        }
+                    }
+                    break;
+                default:
+                    this.emit(key, array, this.scalar(rest));
+            }
+        }
+
+        private void emit(String key, FlatArray array, String value) {
+            if(array != null) {
+                array.add(value);
+            }else if(value != null) {
+                sink.accept(key, value);
+            }
+        }
+
+        private void close(Frame frame) {
+            if(frame.array != null) {
+                frame.array.end();
+            }
+        }
+
+        /**
+         * @param s A scalar, without leading white space, possibly followed
+         * by a comment
+         * @return The value of the scalar, or null if it is null
+         */
+        private String scalar(String s) throws IOException {
+            if(s.isEmpty()) {
+                return null;
+            }
+            final char first = s.charAt(0);
+            if(first == '"' || first == '\'') {
+                final StringBuilder builder = new StringBuilder(s.length());
+                int i = 1;
+                for(;; i++) {
+                    if(i >= s.length()) {
+                        throw this.error("Unterminated string");
+                    }
+                    final char c = s.charAt(i);
+                    if(c == first) {
+                        if(first == '\'' && i + 1 < s.length() && s.charAt(i + 1) == '\'') {
+                            builder.append('\'');
+                            ++i;
+                            continue;
+                        }
+                        break;
+                    }
+                    if(c == '\\' && first == '"') {
+                        i = this.escape(s, i + 1, builder);
+                    }else{
+                        builder.append(c);
+                    }
+                }
+                final String after = s.substring(i + 1).trim();
+                if(!after.isEmpty() && after.charAt(0) != '#') {
+                    throw this.error("Unexpected text after string: " + after);
+                }
+                return builder.toString();
+            }
+            if(first == '&' || first == '*' || first == '!') {
+                throw this.error("Anchors, aliases and tags are not supported");
+            }
+            final int comment = s.indexOf(" #");
+            final String text = (comment == -1 ? s : s.substring(0, comment)).trim();
+            return isNull(text) ? null : text;
+        }
+
+        /**
+         * @return The index of the last character of the escape sequence
+         */
+        private int escape(String s, int i, StringBuilder builder) throws IOException {
+            if(i >= s.length()) {
+                throw this.error("Unterminated string");
+            }
+            final char c = s.charAt(i);
+            switch(c) {
+                case '"': case '\\': case '/': case ' ': builder.append(c); return i;
+                case '0': builder.append('\0'); return i;
+                case 'b': builder.append('\b'); return i;
+                case 'f': builder.append('\f'); return i;
+                case 'n': builder.append('\n'); return i;
+                case 'r': builder.append('\r'); return i;
+                case 't': builder.append('\t'); return i;
+                case 'u':
+                    if(i + 4 < s.length()) {
+                        try{
+                            builder.append((char)Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                            return i + 4;
+                        }catch(NumberFormatException ignored) { }
+                    }
+                    throw this.error("Invalid unicode escape");
+                default:
+                    throw this.error("Invalid escape: \\" + c);
+            }
+        }
+
+        /**
+         * Splits a single line flow collection into its trimmed elements
+         */
+        private List<String> splitFlow(String s, char close) throws IOException {
+            final List<String> elements = new ArrayList<>();
+            char quote = 0;
+            int start = 1;
+            int end = -1;
+            for(int i=1; i<s.length() && end == -1; i++) {
+                final char c = s.charAt(i);
+                if(quote != 0) {
+                    if(c == '\\' && quote == '"') {
+                        ++i;
+                    }else if(c == quote) {
+                        quote = 0;
+                    }
+                }else if(c == '"' || c == '\'') {
+                    quote = c;
+                }else if(c == '[' || c == '{') {
+                    throw this.error("Nested flow collections are not supported");
+                }else if(c == ',' || c == close) {
+                    final String element = s.substring(start, i).trim();
+                    if(!element.isEmpty() || c == ',') {
+                        elements.add(element);
+                    }
+                    start = i + 1;
+                    if(c == close) {
+                        end = i;
+                    }
+                }
+            }
+            if(end == -1) {
+                throw this.error("Expected '" + close + "' on the same line");
+            }
+            final String after = s.substring(end + 1).trim();
+            if(!after.isEmpty() && after.charAt(0) != '#') {
+                throw this.error("Unexpected text after '" + close + "': " + after);
+            }
+            return elements;
+        }
+
+        /**
+         * @param header The block scalar header, e.g <code>|-</code>
+         * @param indent The indentation of the entry or element
+         */
+        private String blockScalar(String header, int indent) throws IOException {
+            final boolean literal = header.charAt(0) == '|';
+            char chomp = 0;
+            int blockIndent = -1;
+            int i = 1;
+            for(; i<header.length(); i++) {
+                final char c = header.charAt(i);
+                if((c == '-' || c == '+') && chomp == 0) {
+                    chomp = c;
+                }else if(c >= '1' && c <= '9' && blockIndent == -1) {
+                    blockIndent = indent + (c - '0');
+                }else{
+                    break;
+                }
+            }
+            final String after = header.substring(i).trim();
+            if(!after.isEmpty() && after.charAt(0) != '#') {
+                throw this.error("Unexpected text after block scalar indicator: " + after);
+            }
+
+            final List<String> lines = new ArrayList<>();
+            String line;
+            while((line = this.nextLine()) != null) {
+                final int lineIndent = indentOf(line);
+                if(lineIndent == line.length()) {
+                    lines.add("");
+                    continue;
+                }
+                if(blockIndent == -1) {
+                    blockIndent = lineIndent;
+                }
+                if(lineIndent <= indent || lineIndent < blockIndent) {
+                    this.pushBack(line);
+                    break;
+                }
+                lines.add(line.substring(blockIndent));
+            }
+
+            int trailing = 0;
+            while(!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+                lines.remove(lines.size() - 1);
+                ++trailing;
+            }
+
+            final StringBuilder builder = new StringBuilder();
+            for(int n=0; n<lines.size(); n++) {
+                final String text = lines.get(n);
+                if(text.isEmpty()) {
+                    builder.append('\n');
+                    continue;
+                }
+                if(n > 0) {
+                    final String previous = lines.get(n - 1);
+                    if(literal) {
+                        builder.append('\n');
+                    }else if(!previous.isEmpty()) {
+                        builder.append(text.charAt(0) == ' ' || previous.charAt(0) == ' ' ? '\n' : ' ');
+                    }
+                }
+                builder.append(text);
+            }
+            if(builder.length() > 0 && chomp != '-') {
+                builder.append('\n');
+                if(chomp == '+') {
+                    for(int n=0; n<trailing; n++) {
+                        builder.append('\n');
+                    }
+                }
+            }
+            return builder.toString();
+        }
+
+        /**
+         * @return The index of the colon separating a key from its value,
+         * or -1 if none
+         */
+        private int indexOfColon(String s) throws IOException {
+            int i = 0;
+            if(!s.isEmpty() && (s.charAt(0) == '"' || s.charAt(0) == '\'')) {
+                final char quote = s.charAt(0);
+                for(i=1; i<s.length(); i++) {
+                    final char c = s.charAt(i);
+                    if(c == '\\' && quote == '"') {
+                        ++i;
+                    }else if(c == quote) {
+                        if(quote == '\'' && i + 1 < s.length() && s.charAt(i + 1) == '\'') {
+                            ++i;
+                        }else{
+                            break;
+                        }
+                    }
+                }
+            }
+            for(; i<s.length(); i++) {
+                final char c = s.charAt(i);
+                if(c == ':' && (i + 1 == s.length() || s.charAt(i + 1) == ' ' || s.charAt(i + 1) == '\t')) {
+                    return i;
+                }
+                if(c == '#' && i > 0 && s.charAt(i - 1) == ' ') {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private String nextLine() throws IOException {
+            ++lineNumber;
+            if(pushedBack != null) {
+                final String line = pushedBack;
+                pushedBack = null;
+                return line;
+            }
+            return reader.readLine();
+        }
+
+        private void pushBack(String line) {
+            --lineNumber;
+            pushedBack = line;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at line " + lineNumber);
+        }
+    }
+
+    private static boolean isItem(String content) {
+        return content.charAt(0) == '-' && (content.length() == 1 || content.charAt(1) == ' ');
+    }
+
+    private static boolean isMarker(String line, String marker) {
+        return line.startsWith(marker) &&
+                (line.length() == marker.length() || line.charAt(marker.length()) == ' ');
+    }
+
+    private static int indentOf(String line) {
+        int i = 0;
+        while(i < line.length() && line.charAt(i) == ' ') {
+            ++i;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 11:02:47 AM
+ */
+public class AbstractConfigTest {
+
+    public AbstractConfigTest() { }
+
+    @Test
+    public void testResolvedValueCache() {
+
+        System.out.println("===================== testResolvedValueCache =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("base.dir", "/base");
+        props.setProperty("log.dir", "${base.dir}/logs");
+
+        final ConfigImpl config = new ConfigImpl(props, null, true);
+
+        assertEquals("/base/logs", config.get("log.dir"));
+        assertEquals("/base/logs", config.get("log.dir"));
+        assertEquals("/base/other", config.get("other.dir", "${base.dir}/other"));
+
+        config.set("base.dir", "/changed");
+
+        assertEquals("/changed/logs", config.get("log.dir"));
+
+        final String sysKey = this.getClass().getName() + ".sysKey";
+        props.setProperty("sys.ref", "${" + sysKey + "}");
+        System.setProperty(sysKey, "1");
+        assertEquals("1", config.get("sys.ref"));
+
+        System.setProperty(sysKey, "2");
+        config.invalidate(sysKey);
+        assertEquals("2", config.get("sys.ref"));
+
+        System.clearProperty(sysKey);
+    }
+
+    @Test
+    public void testTypedValueCache() throws ParseException {
+
+        System.out.println("===================== testTypedValueCache =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("limit", " 100 ");
+        props.setProperty("ratio", "0.5");
+        props.setProperty("enabled", "yes");
+        props.setProperty("date", "23 December 1990");
+
+        final ConfigImpl config = new ConfigImpl(props, "dd MMMM yyyy", true);
+
+        assertEquals(Long.valueOf(100), config.getLong("limit"));
+        assertSame(config.getLong("limit"), config.getLong("limit"));
+        assertEquals(100, config.getInt("limit", 0));
+        assertEquals(0.5, config.getDouble("ratio", 0), 0.0);
+        assertEquals(Boolean.FALSE, config.getBoolean("enabled"));
+        assertNull(config.getBoolean("enabled", (Boolean)null));
+
+        final Calendar date = config.getTime("date");
+        date.add(Calendar.YEAR, 1);
+        assertEquals(1990, config.getTime("date").get(Calendar.YEAR));
+
+        config.setInt("limit", 200);
+        assertEquals(200, config.getInt("limit", 0));
+    }
+
+    @Test
+    public void testTimeAccessors() throws ParseException {
+
+        System.out.println("===================== testTimeAccessors =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("date", "23 December 1990");
+        props.setProperty("timeout", "PT30S");
+        props.setProperty("timeout.millis", "1500");
+
+        final ConfigImpl config = new ConfigImpl(props, "dd MMMM yyyy");
+
+        assertEquals(LocalDateTime.of(1990, 12, 23, 0, 0), config.getLocalDateTime("date"));
+        assertEquals(config.getInstant("date").toEpochMilli(), config.getTime("date").getTimeInMillis());
+        assertEquals(Duration.ofSeconds(30), config.getDuration("timeout"));
+        assertEquals(Duration.ofMillis(1500), config.getDuration("timeout.millis"));
+        assertNull(config.getInstant("missing"));
+
+        final Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(config.getTime("date").getTimeInMillis());
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        config.setTime("date", cal);
+        assertEquals("24 December 1990", config.get("date"));
+    }
+
+    @Test
+    public void testTimePatternsMatchSimpleDateFormat() throws ParseException {
+
+        System.out.println("===================== testTimePatternsMatchSimpleDateFormat =====================");
+
+        final String [][] patternsAndTexts = {
+            {"HH:mm:ss.S", "10:20:30.5"},
+            {"HH:mm:ss.SSS", "10:20:30.005"},
+            {"yyyy-MM-dd HH:mm:ss.SS", "2020-06-15 10:20:30.25"},
+            {"yyyy-MM-dd u", "2020-06-15 1"},
+            {"dd/MM/yy", "01/02/85"},
+            {"dd/MM/yy", "01/02/15"},
+            {"YYYY-MM-dd", "2020-06-15"},
+            {"yyyy-MM-dd 'at' HH:mm", "2020-06-15 at 10:20"},
+            {"yyyy-MM-dd hh:mm:ss", "2020-06-15 10:20:30"},
+            {"hh:mm", "10:20"},
+            {"KK:mm", "11:20"}
+        };
+
+        for(String [] patternAndText : patternsAndTexts) {
+            final String pattern = patternAndText[0];
+            final String text = patternAndText[1];
+            final SimpleDateFormat expected = new SimpleDateFormat(pattern);
+            final DateTimeFormatter actual = DateTimeFormats.compile(pattern);
+
+            // Y is taken as y without w, where SimpleDateFormat would parse a week year
+            final Date date = pattern.startsWith("Y") ?
+                    new SimpleDateFormat(pattern.replace('Y', 'y')).parse(text) : expected.parse(text);
+            final ZonedDateTime parsed = DateTimeFormats.parse(actual, text);
+            assertEquals(pattern, date.toInstant(), parsed.toInstant());
+            assertEquals(pattern, expected.format(date), actual.format(parsed));
+        }
+    }
+
+    @Test
+    public void testCompiledReferences() {
+
+        System.out.println("===================== testCompiledReferences =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("base.dir", "/base");
+        props.setProperty("log.dir", "${base.dir}/logs");
+        props.setProperty("log.file", "${log.dir}/app.log");
+        props.setProperty("other", "${unknown.reference}");
+
+        final ConfigImpl config = new ConfigImpl(props, null);
+        config.compileReferences();
+
+        assertEquals("/base/logs/app.log", config.get("log.file"));
+        assertEquals("${unknown.reference}", config.get("other"));
+
+        config.set("base.dir", "/changed");
+        assertEquals("/changed/logs/app.log", config.get("log.file"));
+
+        try{
+            config.set("base.dir", "${log.file}");
+            fail("Circular reference should be rejected");
+        }catch(IllegalStateException expected) { 
+            System.out.println(expected.getMessage());
+        }
+        assertEquals("/changed", config.get("base.dir"));
+    }
+
+    @Test
+    public void testCompiledReferencesRemoval() {
+
+        System.out.println("===================== testCompiledReferencesRemoval =====================");
+
+        final Map<String, String> data = new HashMap<>();
+        data.put("base.dir", "/base");
+        data.put("log.dir", "${base.dir}/logs");
+        data.put("log.file", "${log.dir}/app.log");
+
+        final MapConfig config = new MapConfig(data, null);
+        config.compileReferences();
+        assertEquals("/base/logs/app.log", config.get("log.file"));
+
+        // Removing a referenced key re-resolves the keys referencing it
+        config.set("base.dir", null);
+        assertNull(config.get("base.dir"));
+        assertEquals("${base.dir}/logs/app.log", config.get("log.file"));
+
+        config.set("base.dir", "/restored");
+        assertEquals("/restored/logs/app.log", config.get("log.file"));
+    }
+
+    @Test
+    public void testCompiledReferencesMatchResolver() {
+
+        System.out.println("===================== testCompiledReferencesMatchResolver =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("home", "C:\\Users\\user");
+        props.setProperty("bin", "${home}\\bin");
+        props.setProperty("lib", "${home}\\lib;${unknown.reference}");
+        props.setProperty("plain", "a\\b");
+        props.setProperty("nested", "${bin}");
+
+        final ConfigImpl resolver = new ConfigImpl(props, null);
+        final ConfigImpl compiled = new ConfigImpl(props, null);
+        compiled.compileReferences();
+
+        for(String name : Arrays.asList("home", "bin", "lib", "plain")) {
+            assertEquals(name, resolver.get(name), compiled.get(name));
+        }
+        assertEquals("C:/Users/user\\bin", compiled.get("bin"));
+
+        // Compiled references are resolved transitively
+        assertEquals("C:/Users/user/bin", compiled.get("nested"));
+    }
+
+    @Test
+    public void testSubsetView() {
+
+        System.out.println("===================== testSubsetView =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("db", "not in subset");
+        props.setProperty("db.", "not in subset");
+        props.setProperty("db.url", "jdbc:mysql://localhost/${db.name}");
+        props.setProperty("db.name", "test");
+        props.setProperty("db.pool.size", "10");
+        props.setProperty("dbx.url", "not in subset");
+
+        final ConfigImpl config = new ConfigImpl(props, null);
+        final Config db = config.subset("db", ".");
+
+        assertEquals(new HashSet<>(Arrays.asList("url", "name", "pool.size")), db.getNames());
+        assertEquals(3, db.size());
+        assertEquals("jdbc:mysql://localhost/test", db.get("url"));
+        assertEquals(10, db.getInt("pool.size", 0));
+
+        final Config<Properties> pool = db.subset("pool", ".");
+        assertEquals(Collections.singleton("size"), pool.getNames());
+        assertEquals("10", pool.getData().getProperty("size"));
+
+        config.set("db.user", "root");
+        config.set("db.pool.size", "20");
+        assertTrue(db.getNames().contains("user"));
+        assertEquals("20", pool.get("size"));
+
+        try{
+            db.set("url", "other");
+            fail("Subsets should be read only");
+        }catch(UnsupportedOperationException expected) { }
+    }
+
+    @Test
+    public void testSubsetViewRemovals() {
+
+        System.out.println("===================== testSubsetViewRemovals =====================");
+
+        final Map<String, String> data = new HashMap<>();
+        data.put("db.url", "jdbc:mysql://localhost/test");
+        data.put("db.user", "root");
+
+        final MapConfig config = new MapConfig(data, null);
+        final Config db = config.subset("db", ".");
+        assertEquals(2, db.size());
+
+        // Names removed via set are pruned from the index
+        config.set("db.user", null);
+        assertEquals(Collections.singleton("url"), db.getNames());
+        assertEquals(1, db.size());
+
+        final Properties props = new Properties();
+        props.setProperty("db.url", "jdbc:mysql://localhost/test");
+        props.setProperty("db.user", "root");
+
+        final ConfigImpl live = new ConfigImpl(props, null);
+        final Config liveDb = live.subset("db", ".");
+        assertEquals(2, liveDb.size());
+
+        // Direct changes to the data are reflected too
+        props.remove("db.user");
+        assertEquals(Collections.singleton("url"), liveDb.getNames());
+        props.setProperty("db.name", "test");
+        assertEquals(new HashSet<>(Arrays.asList("url", "name")), liveDb.getNames());
+        assertEquals(2, liveDb.size());
+    }
+
+    @Test
+    public void testToMap() throws ParseException {
+
+        System.out.println("===================== testToMap =====================");
+
+        final String [] values = {"true", " false ", "TRUE", "42", "+7", "-0", "9223372036854775807", 
+            "9223372036854775808", "-9223372036854775809", "1.5", ".5", "5.", "1e3", "1E-3d", "2f", 
+            "NaN", "-Infinity", "0x1.8p1", "0x10", "1e", ".", "-", "", "  ", "12 October 2018", 
+            "12 October 2018 10:30", "October", "abc", "a.b.c", "${ref}", "1_000", "\u0661\u0662"};
+
+        final Properties props = new Properties();
+        props.setProperty("ref", "3");
+        for(int i=0; i<values.length; i++) {
+            props.setProperty("k" + i, values[i]);
+        }
+        props.setProperty("java.util.ArrayList", "list");
+
+        final ConfigImpl config = new ConfigImpl(props, "dd MMMM yyyy");
+
+        final Map<String, Object> map = config.toMap();
+        for(String name : config.getNames()) {
+            assertEquals(name + "=" + config.get(name), this.toTyped(config, name), map.get(name));
+        }
+        assertEquals("list", map.get("java.util.ArrayList"));
+        assertEquals(new ArrayList(), config.toMap(Collections.singleton("java.util.ArrayList"), true)
+                .get("java.util.ArrayList"));
+    }
+
+    @Test
+    public void testSplitCache() {
+
+        System.out.println("===================== testSplitCache =====================");
+
+        for(String value : new String[]{"", ",", "a", "a,b", ",a,,b,,", "a, b", "a,,", ",,,"}) {
+            for(String separator : new String[]{",", ", ", ",,", "|", "\\s*,\\s*"}) {
+                assertEquals(value + " split by " + separator, Arrays.asList(value.split(separator)), 
+                        Arrays.asList(SplitValue.split(value, separator)));
+            }
+        }
+
+        final Properties props = new Properties();
+        props.setProperty("hosts", "a,b,c");
+        props.setProperty("empty", "");
+
+        final ConfigImpl config = new ConfigImpl(props, null);
+
+        final Collection<String> hosts = config.getCollection("hosts");
+        assertEquals(Arrays.asList("a", "b", "c"), hosts);
+        assertSame(hosts, config.getCollection("hosts"));
+        assertTrue(config.getSet("hosts").contains("b"));
+        assertSame(config.getSet("hosts"), config.getSet("hosts"));
+        try{
+            hosts.add("d");
+            fail("Split results should be immutable");
+        }catch(UnsupportedOperationException expected) { }
+
+        final String [] array = config.getArray("hosts");
+        array[0] = "changed";
+        assertEquals("a", config.getArray("hosts")[0]);
+        assertEquals(Arrays.asList("a,", "c"), Arrays.asList(config.getArray("hosts", "b,")));
+
+        assertArrayEquals(new String[]{"a", "b", "c"}, config.setArray("hosts", new String[]{"x", "y"}));
+        assertEquals("x,y", config.get("hosts"));
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), config.getSet("hosts"));
+        assertEquals(Arrays.asList("x", "y"), config.getCollection("hosts"));
+
+        config.setCollection("hosts", Arrays.asList("p", "q"), "; ");
+        assertEquals("p; q", config.get("hosts"));
+        assertEquals(Arrays.asList("p", "q"), Arrays.asList(config.getArray("hosts", "; ")));
+
+        // Changes made directly to the data are seen too
+        props.setProperty("hosts", "r");
+        assertEquals(Collections.singleton("r"), config.getSet("hosts", "; "));
+
+        assertNull(config.getSet("missing"));
+        assertNull(config.setArray("empty", new String[0]));
+        assertEquals(Collections.emptyList(), config.getCollection("empty", Collections.emptyList()));
+    }
+
+    @Test
+    public void testMapCache() {
+
+        System.out.println("===================== testMapCache =====================");
+
+        final String [] inputs = {"", "&", "a=1", "a=1&b=2", " a = 1 & b=2 ", "a=1&&b=2&&", "&a=1", 
+            "a", "a=", "=1", "=", "a==1", "a=1=2", "a=1=2=", "a=1&a=2", "a=1|b=2"};
+        for(String separator : new String[]{"&", "|", "&&"}) {
+            for(int separatorIndex : new int[]{0, 1, 5}) {
+                for(boolean emptyStringsAllowed : new boolean[]{false, true}) {
+                    final QueryParametersConverter c = new QueryParametersConverter(
+                            emptyStringsAllowed, separatorIndex, separator);
+                    for(String input : inputs) {
+                        assertEquals(input + " split by " + separator, 
+                                this.splitToMap(input, separator, separatorIndex, emptyStringsAllowed), 
+                                c.toMap(input));
+                    }
+                }
+            }
+        }
+
+        final Properties props = new Properties();
+        props.setProperty("tenant", "a=1&b=2");
+
+        final ConfigImpl config = new ConfigImpl(props, null);
+
+        final Map map = config.getMap("tenant", "&");
+        assertEquals("2", map.get("b"));
+        assertSame(map, config.getMap("tenant", "&"));
+        try{
+            map.put("c", "3");
+            fail("Maps should be immutable");
+        }catch(UnsupportedOperationException expected) { }
+
+        config.setMap("tenant", Collections.singletonMap("c", "3"), "&");
+        assertEquals(Collections.singletonMap("c", "3"), config.getMap("tenant", "&"));
+        assertEquals(Collections.emptyMap(), config.getMap("missing", Collections.emptyMap(), "&"));
+
+        props.setProperty("tenant", "c=3;d=4");
+        assertEquals(Collections.singletonMap("c", "3;d=4"), config.getMap("tenant", "&"));
+        assertEquals(2, config.getMap("tenant", ";").size());
+    }
+
+    /**
+     * Splits the input into pairs, then each pair into parts, using String.split,
+     * as QueryParametersConverter did
+     */
+    private Map<String, String> splitToMap(String input, String separator, 
+            int separatorIndex, boolean emptyStringsAllowed) {
+        final Map<String, String> output = new LinkedHashMap<>();
+        for(String pair : input.split(separator)) {
+            final String [] parts = pair.split("=");
+            if(parts.length == 0 || (parts.length == 1 && !emptyStringsAllowed)) {
+                continue;
+            }
+            if(parts.length == 1) {
+                output.put(parts[0].trim(), "");
+                continue;
+            }
+            final int index = Math.min(separatorIndex, parts.length - 2);
+            output.put(String.join("=", Arrays.asList(parts).subList(0, index + 1)).trim(), 
+                    String.join("=", Arrays.asList(parts).subList(index + 1, parts.length)).trim());
+        }
+        return output;
+    }
+
+    /**
+     * Types the value by trying each typed getter in turn
+     */
+    private Object toTyped(Config config, String name) throws ParseException {
+        try{
+            final Boolean b = config.getBoolean(name, null);
+            if(b != null) {
+                return b;
+            }
+        }catch(RuntimeException ignored) { }
+        try{
+            return config.getLong(name);
+        }catch(RuntimeException ignored) { }
+        try{
+            return config.getDouble(name);
+        }catch(RuntimeException ignored) { }
+        try{
+            final Calendar cal = config.getTime(name);
+            if(cal != null) {
+                return cal.getTime();
+            }
+        }catch(ParseException ignored) { }
+        return config.getString(name);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 2:40:07 PM
+ */
+public class CompactConfigTest {
+
+    public CompactConfigTest() { }
+
+    @Test
+    public void testGetAndSet() {
+
+        System.out.println("===================== testGetAndSet =====================");
+
+        final Random random = new Random(7);
+        final TreeSet<String> names = new TreeSet<>();
+        while(names.size() < 2000) {
+            final StringBuilder name = new StringBuilder("app");
+            final int depth = 1 + random.nextInt(5);
+            for(int i=0; i<depth; i++) {
+                name.append(random.nextBoolean() ? '.' : '-').append((char)('a' + random.nextInt(4)));
+            }
+            names.add(name.toString());
+        }
+        final Properties defaults = new Properties();
+        final Properties props = new Properties(defaults);
+        int i = 0;
+        for(String name : names) {
+            (i++ % 3 == 0 ? defaults : props).setProperty(name, "value" + (i % 10));
+        }
+        defaults.setProperty("app.a", "default");
+        props.setProperty("app.a", "override");
+
+        final CompactConfig config = new CompactConfig(props, null);
+
+        assertEquals(props.stringPropertyNames().size(), config.size());
+        assertEquals("override", config.get("app.a"));
+        for(String name : props.stringPropertyNames()) {
+            assertEquals(name, props.getProperty(name), config.get(name));
+        }
+        // Absent names before, between and after the names, and prefixes and extensions of names
+        for(String name : Arrays.asList("", "a", "app", "app.", "app.a.", "app.a.b.c.d.e", "app-c-c-c-cz", "z")) {
+            assertEquals(name, props.getProperty(name), config.get(name));
+        }
+
+        final TreeSet<String> expected = new TreeSet<>(props.stringPropertyNames());
+        assertEquals(new ArrayList<>(expected), this.toList(config.getNames().iterator()));
+        assertEquals(new ArrayList<>(expected.subSet("app.b.", "app.b/")), 
+                this.toList(config.getNamesStartingWith("app.b.")));
+        assertEquals(expected.subSet("app.b.", "app.b/").size(), config.subset("app.b", ".").size());
+
+        assertEquals("override", config.set("app.a", "set"));
+        assertNull(config.set("app.b.new", "added"));
+        assertEquals("set", config.get("app.a"));
+        assertEquals("added", config.subset("app.b", ".").get("new"));
+        assertEquals(props.stringPropertyNames().size() + 1, config.size());
+        assertTrue(config.getNames().contains("app.b.new"));
+        expected.add("app.b.new");
+        assertEquals(new ArrayList<>(expected), this.toList(config.getNames().iterator()));
+
+        final Properties data = config.getData();
+        assertEquals(expected, data.stringPropertyNames());
+        assertEquals("set", data.getProperty("app.a"));
+    }
+
+    @Test
+    public void testStringPool() throws Exception {
+
+        System.out.println("===================== testStringPool =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        for(String name : Arrays.asList("a.properties", "b.properties")) {
+            final List<String> lines = new ArrayList<>();
+            for(int i=0; i<500; i++) {
+                lines.add("app.module" + (i / 50) + ".feature.enabled" + i + "=" + (i % 2 == 0));
+            }
+            Files.write(dir.resolve(name), lines);
+        }
+
+        final DirConfigService plain = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        final HeapFootprint before = HeapFootprint.of(plain.load().values());
+
+        final StringPool pool = new StringPool();
+        final DirConfigService pooled = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        pooled.setStringPool(pool);
+        final ConfigGroup<Properties> configs = pooled.load();
+        final HeapFootprint after = HeapFootprint.of(configs.values());
+
+        final DirConfigService compact = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        compact.setCompact(true).setStringPool(new StringPool());
+        final ConfigGroup<Properties> compacted = compact.load();
+        final HeapFootprint compactFootprint = HeapFootprint.of(compacted.values());
+
+        System.out.println(" Before: " + before + "\n  After: " + after + 
+                "\nCompact: " + compactFootprint + "\n   Pool: " + pool);
+
+        assertSame(configs.get("a.properties").getData().getProperty("app.module0.feature.enabled0"),
+                configs.get("b.properties").getData().getProperty("app.module3.feature.enabled150"));
+        assertEquals(2, before.getConfigs());
+        assertEquals(1000, before.getEntries());
+        assertEquals(1000, after.getEntries());
+        assertEquals(1000, compactFootprint.getEntries());
+        // The keys of both files, and true and false
+        assertEquals(502, pool.size());
+        assertEquals(pool.size(), after.getStrings());
+        assertEquals(0, after.getDuplicateStrings());
+        assertEquals(before.getDuplicateBytes(), pool.getSavedBytes());
+        assertEquals(before.getTotalBytes() - pool.getSavedBytes(), after.getTotalBytes());
+        assertTrue(compactFootprint.getTotalBytes() < after.getTotalBytes() / 2);
+
+        final Config<Properties> config = compacted.get("b.properties");
+        assertTrue(config instanceof CompactConfig);
+        assertEquals(true, config.getBoolean("app.module9.feature.enabled498"));
+        assertEquals(50, config.subset("app.module3", ".").size());
+    }
+
+    private List<String> toList(Iterator<String> iter) {
+        final List<String> output = new ArrayList<>();
+        iter.forEachRemaining(output::add);
+        return output;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 7:34:18 PM
+ */
+public class CompositeConfigTest {
+
+    public CompositeConfigTest() { }
+
+    @Test
+    public void testMergedView() {
+
+        System.out.println("===================== testMergedView =====================");
+
+        final Properties first = new Properties();
+        first.setProperty("a", "1");
+        final Properties second = new Properties();
+        second.setProperty("b", "2");
+        second.setProperty("a", "9");
+
+        final ConfigImpl child = new ConfigImpl(second);
+        final CompositeConfig config = new CompositeConfig(
+                Arrays.<Config<Properties>>asList(new ConfigImpl(first), child), true);
+
+        assertEquals("1", config.get("a"));
+        assertEquals("2", config.get("b"));
+        assertEquals("default", config.get("c", "default"));
+
+        final Set<String> names = config.getNames();
+        assertSame(names, config.getNames());
+        assertEquals(2, config.size());
+
+        final Properties data = config.getData();
+        assertNotSame(data, config.getData());
+        data.setProperty("a", "changed");
+        assertEquals("1", config.get("a"));
+
+        config.set("b", "3");
+        assertEquals("3", child.get("b"));
+        assertEquals("3", config.getData().getProperty("b"));
+
+        child.set("c", "4");
+        assertTrue(config.getNames().contains("c"));
+        assertEquals("4", config.getData().getProperty("c"));
+
+        second.setProperty("d", "5");
+        config.reindex();
+        assertEquals("5", config.get("d"));
+        assertEquals(4, config.size());
+    }
+
+    @Test
+    public void testMergedDataOfUntrackedChildren() {
+
+        System.out.println("===================== testMergedDataOfUntrackedChildren =====================");
+
+        final Properties first = new Properties();
+        first.setProperty("a", "1");
+        final ConfigImpl child = new ConfigImpl(first);
+        final CompositeConfig config = new CompositeConfig(
+                Arrays.<Config<Properties>>asList(child, new SnapshotConfig(new Properties())));
+        assertFalse(config.isChangeTracked());
+
+        final int hashCode = config.hashCode();
+        assertEquals("1", config.getData().getProperty("a"));
+
+        // Changed directly, without changing any version
+        child.getData().setProperty("a", "2");
+        child.getData().setProperty("b", "3");
+        assertEquals("2", config.getData().getProperty("a"));
+        assertEquals("3", config.getData().getProperty("b"));
+        assertNotEquals(hashCode, config.hashCode());
+    }
+
+    @Test
+    public void testOwnerIndex() {
+
+        System.out.println("===================== testOwnerIndex =====================");
+
+        final Properties first = new Properties();
+        first.setProperty("a", "1");
+        final Properties second = new Properties();
+        second.setProperty("b", "2");
+
+        final ConfigImpl firstChild = new ConfigImpl(first);
+        final ConfigImpl secondChild = new ConfigImpl(second);
+        final CompositeConfig config = new CompositeConfig(
+                Arrays.<Config<Properties>>asList(firstChild, secondChild), true);
+
+        // Keys set on a constituent config are visible at once
+        for(int i=0; i<200; i++) {
+            secondChild.set("new." + i, "v" + i);
+            assertEquals("v" + i, config.get("new." + i));
+            config.set("new." + i, "w" + i);
+            assertEquals("w" + i, secondChild.get("new." + i));
+        }
+        assertNull(config.set("missing", "x"));
+        assertNull(config.get("missing"));
+
+        // The first config which contains a key owns it, once a duplicate is reindexed
+        assertEquals("2", config.get("b"));
+        firstChild.set("b", "first");
+        assertEquals("2", config.get("b"));
+        config.reindex();
+        assertEquals("first", config.get("b"));
+        first.remove("b");
+        assertEquals("2", config.get("b"));
+
+        // Reloaded in place, without reindexing
+        first.clear();
+        first.setProperty("c", "3");
+        firstChild.invalidateAll();
+        assertEquals("2", config.get("b"));
+        assertEquals("3", config.get("c"));
+        assertNull(config.get("a"));
+        assertEquals("3", config.set("c", "4"));
+        assertEquals("4", firstChild.get("c"));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 2:20:18 AM
+ */
+public class ConfigFormatTest {
+
+    public ConfigFormatTest() { }
+
+    @Test
+    public void testYaml() throws IOException {
+
+        System.out.println("===================== testYaml =====================");
+
+        final String yaml = "---\n" +
+                "# Comment\n" +
+                "db:\n" +
+                "  url: jdbc:h2:mem   # trailing comment\n" +
+                "  user: ~\n" +
+                "  pool: {size: 5, 'min': 1}\n" +
+                "hosts:\n" +
+                "- a\n" +
+                "- 'b c'\n" +
+                "ports: [80, \"443\"]\n" +
+                "servers:\n" +
+                "  - host: x\n" +
+                "    port: 8080\n" +
+                "  - host: y\n" +
+                "\"quoted key\": \"line\\n\\u00e9\"\n" +
+                "literal: |\n" +
+                "  one\n" +
+                "   two\n" +
+                "\n" +
+                "folded: >-\n" +
+                "  one\n" +
+                "  two\n" +
+                "empty:\n";
+
+        final Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("db.url", "jdbc:h2:mem");
+        expected.put("db.pool.size", "5");
+        expected.put("db.pool.min", "1");
+        expected.put("hosts", "a,b c");
+        expected.put("ports", "80,443");
+        expected.put("servers.0.host", "x");
+        expected.put("servers.0.port", "8080");
+        expected.put("servers.1.host", "y");
+        expected.put("quoted key", "line\n\u00e9");
+        expected.put("literal", "one\n two\n");
+        expected.put("folded", "one two");
+
+        final ConfigFormat format = ConfigFormats.get("app.yml");
+        assertEquals(expected, this.read(format, yaml));
+
+        this.assertRoundTrip(format, expected);
+
+        this.assertMalformed(format, "a: &anchor x", "a:\n\tb: 1", "- a", "a: [x", "a: 1\n  b: 2", "a: 1\n---\nb: 2");
+    }
+
+    @Test
+    public void testToml() throws IOException {
+
+        System.out.println("===================== testToml =====================");
+
+        final String toml = "# Comment\n" +
+                "title = \"TOML\" # trailing comment\n" +
+                "site.\"name\" = 'literal \\n'\n" +
+                "\n" +
+                "[db]\n" +
+                "url = \"jdbc:h2:mem\"\n" +
+                "pool = { size = 5, min = 1 }\n" +
+                "hosts = [\n" +
+                "  \"a\", # comment\n" +
+                "  \"b\",\n" +
+                "]\n" +
+                "max = 1_000\n" +
+                "created = 1979-05-27 07:32:00Z\n" +
+                "text = \"\"\"\n" +
+                "one \\\n" +
+                "   two\"\"\"\n" +
+                "\n" +
+                "[[servers]]\n" +
+                "host = \"x\"\n" +
+                "[[servers.ports]]\n" +
+                "number = 80\n" +
+                "[[servers]]\n" +
+                "host = \"y\"\n" +
+                "enabled = true\n";
+
+        final Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("title", "TOML");
+        expected.put("site.name", "literal \\n");
+        expected.put("db.url", "jdbc:h2:mem");
+        expected.put("db.pool.size", "5");
+        expected.put("db.pool.min", "1");
+        expected.put("db.hosts", "a,b");
+        expected.put("db.max", "1000");
+        expected.put("db.created", "1979-05-27 07:32:00Z");
+        expected.put("db.text", "one two");
+        expected.put("servers.0.host", "x");
+        expected.put("servers.0.ports.0.number", "80");
+        expected.put("servers.1.host", "y");
+        expected.put("servers.1.enabled", "true");
+
+        final ConfigFormat format = ConfigFormats.get("app.TOML");
+        assertEquals(expected, this.read(format, toml));
+
+        this.assertRoundTrip(format, expected);
+
+        this.assertMalformed(format, "a = ", "a = \"x", "a = x", "[a\nb = 1", "a = 1 b = 2", "a = [1 2]");
+    }
+
+    @Test
+    public void testMixedFormatDir() throws IOException {
+
+        System.out.println("===================== testMixedFormatDir =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        Files.write(dir.resolve("a.properties"), "db.url=props".getBytes(StandardCharsets.ISO_8859_1));
+        Files.write(dir.resolve("b.yaml"), "db:\n  url: yaml\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("c.toml"), "[db]\nurl = \"toml\"\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("d.json"), "{\"db\": {\"url\": \"json\"}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("e.txt"), "ignored".getBytes(StandardCharsets.UTF_8));
+
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+
+        final String [] names = svc.getFileNames(dir.toString());
+        Arrays.sort(names);
+        assertEquals(Arrays.asList("a.properties", "b.yaml", "c.toml", "d.json"), Arrays.asList(names));
+
+        final ConfigGroup<Properties> configs = svc.load();
+        assertEquals("props", configs.get("a.properties").get("db.url"));
+        assertEquals("yaml", configs.get("b.yaml").get("db.url"));
+        assertEquals("toml", configs.get("c.toml").get("db.url"));
+        assertEquals("json", configs.get("d.json").get("db.url"));
+
+        configs.get("b.yaml").set("db.user", "me");
+        svc.storeByName("b.yaml");
+
+        final String stored = new String(Files.readAllBytes(dir.resolve("b.yaml")), StandardCharsets.UTF_8);
+        assertEquals("db:\n  url: yaml\n  user: me\n", stored);
+
+        assertNull(ConfigFormats.get("a.properties"));
+        assertTrue(ConfigFormats.getExtensions().contains("yml"));
+    }
+
+    private Map<String, String> read(ConfigFormat format, String text) throws IOException {
+        final Map<String, String> output = new LinkedHashMap<>();
+        format.read(new StringReader(text), output::put);
+        return output;
+    }
+
+    private void assertRoundTrip(ConfigFormat format, Map<String, String> data) throws IOException {
+        final StringWriter out = new StringWriter();
+        format.write(out, data);
+        System.out.println(out);
+        assertEquals(data, this.read(format, out.toString()));
+    }
+
+    private void assertMalformed(ConfigFormat format, String... documents) {
+        for(String document : documents) {
+            try{
+                this.read(format, document);
+                fail("Should fail to parse: " + document);
+            }catch(IOException expected) {
+                System.out.println(document.replace('\n', '|') + " -> " + expected.getMessage());
+            }
+        }
+    }
+}
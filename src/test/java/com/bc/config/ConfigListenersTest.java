@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 7:48:05 PM
+ */
+public class ConfigListenersTest {
+
+    public ConfigListenersTest() { }
+
+    @Test
+    public void testConfigListeners() throws InterruptedException {
+
+        System.out.println("===================== testConfigListeners =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("db.url", "jdbc:a");
+        props.setProperty("db.user", "sa");
+        props.setProperty("rate.limit", "100");
+
+        final Config<Properties> config = new ConfigImpl(props, null);
+
+        final BlockingQueue<List<ConfigChange>> dbChanges = new LinkedBlockingQueue<>();
+        final BlockingQueue<List<ConfigChange>> limitChanges = new LinkedBlockingQueue<>();
+        final ConfigListener limitListener = limitChanges::add;
+        config.addListener("db", ".", dbChanges::add);
+        config.addListener("rate.limit", limitListener);
+
+        config.set("db.url", "jdbc:b");
+        config.set("rate.limit", "100"); // unchanged
+        config.set("rate.limit", "200");
+        config.removeListener(limitListener);
+        config.set("rate.limit", "300");
+        config.set("db.user", "admin");
+
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:a", "jdbc:b")), 
+                dbChanges.poll(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(new ConfigChange("db.user", "sa", "admin")), 
+                dbChanges.poll(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(new ConfigChange("rate.limit", "100", "200")), 
+                limitChanges.poll(5, TimeUnit.SECONDS));
+        assertNull(limitChanges.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testConfigGroupListeners() throws InterruptedException {
+
+        System.out.println("===================== testConfigGroupListeners =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("db.url", "jdbc:a");
+        props.setProperty("db.user", "sa");
+
+        final ConfigGroup<Properties> group = new ConfigGroupImpl<>();
+        group.put("db.properties", new ConfigImpl(props, null));
+
+        final BlockingQueue<List<ConfigChange>> changes = new LinkedBlockingQueue<>();
+        group.addListener("db.properties", "db", ".", changes::add);
+
+        group.setFor("db.properties", "db.url", "jdbc:b");
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:a", "jdbc:b")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        // Replace the config, as happens on reload
+        final Properties reloaded = new Properties();
+        reloaded.setProperty("db.url", "jdbc:b");
+        reloaded.setProperty("db.pool", "10");
+        group.put("db.properties", new ConfigImpl(reloaded, null));
+
+        final List<ConfigChange> batch = changes.poll(5, TimeUnit.SECONDS);
+        assertEquals(2, batch.size());
+        assertEquals(true, batch.contains(new ConfigChange("db.pool", null, "10")));
+        assertEquals(true, batch.contains(new ConfigChange("db.user", "sa", null)));
+
+        group.setFor("db.properties", "db.pool", "20");
+        assertEquals(Arrays.asList(new ConfigChange("db.pool", "10", "20")), 
+                changes.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConfigGroupMapMethods() throws InterruptedException {
+
+        System.out.println("===================== testConfigGroupMapMethods =====================");
+
+        final ConfigGroup<Properties> group = new ConfigGroupImpl<>();
+
+        final BlockingQueue<List<ConfigChange>> changes = new LinkedBlockingQueue<>();
+        group.addListener("db.properties", "db.url", changes::add);
+
+        group.putIfAbsent("db.properties", this.createConfig("jdbc:a"));
+        assertEquals(Arrays.asList(new ConfigChange("db.url", null, "jdbc:a")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        group.replace("db.properties", this.createConfig("jdbc:b"));
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:a", "jdbc:b")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        group.compute("db.properties", (k, v) -> this.createConfig("jdbc:c"));
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:b", "jdbc:c")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        group.merge("db.properties", this.createConfig("jdbc:d"), (v, config) -> config);
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:c", "jdbc:d")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        // The listener moved to the new config
+        group.setFor("db.properties", "db.url", "jdbc:e");
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:d", "jdbc:e")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        group.clear();
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:e", null)), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        group.putAll(Collections.singletonMap("db.properties", this.createConfig("jdbc:f")));
+        assertEquals(Arrays.asList(new ConfigChange("db.url", null, "jdbc:f")), 
+                changes.poll(5, TimeUnit.SECONDS));
+        
+        group.remove("db.properties");
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:f", null)), 
+                changes.poll(5, TimeUnit.SECONDS));
+        assertNull(changes.poll(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void testConfigGroupWithoutListenerSupport() throws InterruptedException {
+
+        System.out.println("===================== testConfigGroupWithoutListenerSupport =====================");
+
+        final ConfigGroup<Properties> group = new ConfigGroupImpl<>();
+
+        final BlockingQueue<List<ConfigChange>> changes = new LinkedBlockingQueue<>();
+        group.addListener("db.properties", "db.url", changes::add);
+
+        // Putting a config which does not support listeners does not fail
+        final Config<Properties> config = new ConfigImpl(new Properties(), null) {
+            @Override
+            public boolean isListenerSupported() {
+                return false;
+            }
+        };
+        config.set("db.url", "jdbc:a");
+        group.put("db.properties", config);
+        assertEquals(Arrays.asList(new ConfigChange("db.url", null, "jdbc:a")), 
+                changes.poll(5, TimeUnit.SECONDS));
+
+        // Its own changes are not dispatched, those from replacing it are
+        group.setFor("db.properties", "db.url", "jdbc:b");
+        assertNull(changes.poll(100, TimeUnit.MILLISECONDS));
+        
+        group.put("db.properties", this.createConfig("jdbc:c"));
+        assertEquals(Arrays.asList(new ConfigChange("db.url", "jdbc:b", "jdbc:c")), 
+                changes.poll(5, TimeUnit.SECONDS));
+    }
+    
+    private Config<Properties> createConfig(String url) {
+        final Properties props = new Properties();
+        props.setProperty("db.url", url);
+        return new ConfigImpl(props, null);
+    }
+}
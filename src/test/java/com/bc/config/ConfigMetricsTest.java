@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 12:58:36 PM
+ */
+public class ConfigMetricsTest {
+
+    public ConfigMetricsTest() { }
+
+    @Test
+    public void testConfigMetrics() {
+
+        System.out.println("===================== testConfigMetrics =====================");
+
+        final Properties props = new Properties();
+        props.setProperty("name", "John");
+        props.setProperty("greeting", "Hello ${name}");
+
+        final ConfigImpl config = new ConfigImpl(props, null);
+        assertSame(ConfigMetrics.NONE, config.getMetrics());
+
+        final SimpleConfigMetrics metrics = new SimpleConfigMetrics(2);
+        config.setMetrics(metrics);
+
+        assertEquals("Hello John", config.get("greeting"));
+        assertEquals("John", config.get("name"));
+        assertEquals("John", config.get("name"));
+        assertEquals(null, config.get("missing"));
+        config.set("name", "Jane");
+
+        final ConfigMetricsSnapshot snapshot = metrics.snapshot();
+        System.out.println(snapshot);
+
+        assertEquals(4, snapshot.getGets());
+        assertEquals(1, snapshot.getGetMisses());
+        assertEquals(1, snapshot.getSets());
+        assertEquals(1, snapshot.getResolveLatency().getCount());
+        // Only the first 2 keys read are tracked
+        assertEquals(Arrays.asList("name", "greeting"), snapshot.getHotKeys(5));
+        assertEquals(Long.valueOf(2), snapshot.getKeyCounts().get("name"));
+
+        config.setMetrics(ConfigMetrics.NONE);
+        config.get("name");
+        assertEquals(4, metrics.snapshot().getGets());
+    }
+
+    @Test
+    public void testLatencyPercentiles() {
+
+        System.out.println("===================== testLatencyPercentiles =====================");
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for(long i=1; i<=1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        final ConfigMetricsSnapshot.Latency latency = histogram.snapshot();
+        System.out.println(latency);
+
+        assertEquals(1000, latency.getCount());
+        assertEquals(500_500, (long)latency.getMeanNanos());
+        assertEquals(1_000_000, latency.getMaxNanos());
+        for(double p : new double[]{1, 50, 90, 99, 100}) {
+            final long expected = (long)(p * 10_000);
+            final long actual = latency.getPercentileNanos(p);
+            assertTrue(p + "th: " + actual, actual >= expected && actual <= expected * 1.125);
+        }
+
+        for(long v : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.indexOf(v);
+            assertTrue(v + " -> " + index, index >= 0 && index < LatencyHistogram.BUCKETS);
+            if(index < LatencyHistogram.BUCKETS - 1) {
+                assertTrue(v + " -> " + index, v <= LatencyHistogram.highestValueAt(index));
+                assertTrue(v + " -> " + index, index == 0 || v > LatencyHistogram.highestValueAt(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testServiceMetrics() throws IOException {
+
+        System.out.println("===================== testServiceMetrics =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        Files.write(dir.resolve("app.properties"), "a=1".getBytes(StandardCharsets.ISO_8859_1));
+
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+
+        final SimpleConfigMetrics metrics = new SimpleConfigMetrics();
+        svc.setMetrics(metrics);
+
+        final Config<Properties> config = svc.loadByName("app.properties", "app.properties");
+        assertSame(config, svc.loadByName("app.properties", "app.properties"));
+        assertSame(metrics, ((AbstractConfig)config).getMetrics());
+
+        config.set("a", "2");
+        svc.storeByName("app.properties");
+        svc.reload(svc.getDefaultPaths("app.properties"), svc.getPath("app.properties"));
+
+        final ConfigMetricsSnapshot snapshot = metrics.snapshot();
+        System.out.println(snapshot);
+
+        assertEquals(1, snapshot.getCacheMisses());
+        assertEquals(1, snapshot.getCacheHits());
+        assertEquals(0.5, snapshot.getCacheHitRatio(), 0);
+        assertEquals(2, snapshot.getLoadLatency().getCount());
+        assertEquals(1, snapshot.getStoreLatency().getCount());
+        assertEquals(1, snapshot.getSets());
+        assertEquals(1L, snapshot.toMap().get("store.count"));
+    }
+}
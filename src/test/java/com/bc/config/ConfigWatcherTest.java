@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 9:14:27 AM
+ */
+public class ConfigWatcherTest {
+    
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public ConfigWatcherTest() { }
+
+    @Test
+    public void testDebounce() throws Exception {
+
+        System.out.println("===================== testDebounce =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("app.properties");
+        Files.write(file, Arrays.asList("count=0"));
+
+        final BlockingQueue<String> reloaded = new LinkedBlockingQueue<>();
+        
+        try(ConfigWatcher watcher = new ConfigWatcher(Collections.singleton(dir), 
+                (path) -> Collections.singleton(path.getFileName().toString()), Collections::emptyList, 
+                reloaded::add, 500)) {
+            
+            for(int i=1; i<=5; i++) {
+                Files.write(file, Arrays.asList("count=" + i));
+                Thread.sleep(50);
+            }
+            
+            assertEquals("app.properties", reloaded.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            
+            // The burst was reloaded once
+            assertNull(reloaded.poll(1000, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+
+        System.out.println("===================== testClose =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("app.properties");
+
+        final BlockingQueue<String> reloaded = new LinkedBlockingQueue<>();
+        
+        final ConfigWatcher watcher = new ConfigWatcher(Collections.singleton(dir), 
+                (path) -> Collections.singleton(path.getFileName().toString()), Collections::emptyList, 
+                reloaded::add, 100);
+        assertTrue(watcher.isOpen());
+        
+        watcher.close();
+        
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(watcher.isOpen() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(watcher.isOpen());
+        
+        Files.write(file, Arrays.asList("name=app"));
+        assertNull(reloaded.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDirConfigServiceWatch() throws Exception {
+
+        System.out.println("===================== testDirConfigServiceWatch =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("app.properties");
+        Files.write(file, Arrays.asList("name=app"));
+
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        assertEquals("app", svc.loadByName("app.properties", "app.properties").get("name"));
+        
+        try(ConfigWatcher watcher = svc.watch(100)) {
+            Files.write(file, Arrays.asList("name=changed"));
+            this.await("changed", () -> svc.loadByName("app.properties", "app.properties").get("name"));
+        }
+    }
+
+    @Test
+    public void testSimpleConfigServiceWatch() throws Exception {
+
+        System.out.println("===================== testSimpleConfigServiceWatch =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.properties");
+        final Path file = dir.resolve("app.properties");
+        Files.write(defaultsFile, Arrays.asList("name=default", "size=1"));
+        Files.write(file, Arrays.asList("name=app"));
+
+        final SimpleConfigService svc = new SimpleConfigService(
+                defaultsFile.toString(), file.toString(), "dd MMMM yyyy");
+        assertEquals("1", svc.loadByName("defaults.properties", "app.properties").get("size"));
+        
+        try(ConfigWatcher watcher = svc.watch(100)) {
+            // A change to the defaults reloads the config over them
+            Files.write(defaultsFile, Arrays.asList("name=default", "size=2"));
+            this.await("2", () -> svc.loadByName("defaults.properties", "app.properties").get("size"));
+            assertEquals("app", svc.loadByName("defaults.properties", "app.properties").get("name"));
+        }
+    }
+    
+    @Test
+    public void testSimpleConfigServiceWatchSharedDefaults() throws Exception {
+
+        System.out.println("===================== testSimpleConfigServiceWatchSharedDefaults =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.properties");
+        final Path file1 = dir.resolve("app1.properties");
+        final Path file2 = dir.resolve("app2.properties");
+        Files.write(defaultsFile, Arrays.asList("size=1"));
+        Files.write(file1, Arrays.asList("name=app1"));
+        Files.write(file2, Arrays.asList("name=app2"));
+
+        final SimpleConfigService svc = new SimpleConfigService(
+                new String[]{defaultsFile.toString(), defaultsFile.toString()},
+                new String[]{file1.toString(), file2.toString()}, "dd MMMM yyyy");
+        assertEquals("1", svc.loadByName("defaults.properties", "app1.properties").get("size"));
+        assertEquals("1", svc.loadByName("defaults.properties", "app2.properties").get("size"));
+        
+        try(ConfigWatcher watcher = svc.watch(100)) {
+            // A change to the shared defaults reloads every config over them
+            Files.write(defaultsFile, Arrays.asList("size=2"));
+            this.await("2", () -> svc.loadByName("defaults.properties", "app1.properties").get("size"));
+            this.await("2", () -> svc.loadByName("defaults.properties", "app2.properties").get("size"));
+            assertEquals("app2", svc.loadByName("defaults.properties", "app2.properties").get("name"));
+        }
+    }
+    
+    private void await(String expected, Callable<String> actual) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while(!expected.equals(actual.call()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, actual.call());
+    }
+}
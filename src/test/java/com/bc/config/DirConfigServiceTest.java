@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2026 9:52:06 AM
+ */
+public class DirConfigServiceTest {
+    
+    public DirConfigServiceTest() { }
+
+    @Test
+    public void testParallelLoad() throws Exception {
+
+        System.out.println("===================== testParallelLoad =====================");
+        
+        final int threads = 4;
+        final Path dir = this.createFiles(threads * 2);
+        
+        final CountDownLatch concurrent = new CountDownLatch(threads);
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy") {
+            @Override
+            public void load(Properties props, String path) throws IOException {
+                threadNames.add(Thread.currentThread().getName());
+                concurrent.countDown();
+                try{
+                    if(!concurrent.await(10, TimeUnit.SECONDS)) {
+                        timedOut.set(true);
+                    }
+                }catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.load(props, path);
+            }
+        };
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try{
+            final ConfigGroup<Properties> configs = svc.setLoadExecutor(executor).load();
+            
+            // The first loads waited for one another, so ran concurrently
+            assertFalse(timedOut.get());
+            assertFalse(threadNames.contains(Thread.currentThread().getName()));
+            
+            assertEquals(threads * 2, configs.size());
+            for(int i=0; i<threads * 2; i++) {
+                assertEquals(Integer.toString(i), configs.get("file" + i + ".properties").get("index"));
+            }
+        }finally{
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelLoadFailures() throws Exception {
+
+        System.out.println("===================== testParallelLoadFailures =====================");
+        
+        final Path dir = this.createFiles(4);
+        
+        final Set<String> failing = new HashSet<>(Arrays.asList("file1.properties", "file3.properties"));
+        
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy") {
+            @Override
+            public void load(Properties props, String path) throws IOException {
+                final String name = dir.resolve(path).getFileName().toString();
+                if(failing.contains(name)) {
+                    throw new IOException(name);
+                }
+                super.load(props, path);
+            }
+        };
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try{
+            svc.setLoadExecutor(executor).load();
+            fail("Failed loads should be reported");
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+            assertTrue(e.getMessage().contains("2 of 4"));
+            assertEquals(1, e.getSuppressed().length);
+            assertEquals(failing, new HashSet<>(Arrays.asList(
+                    e.getCause().getMessage(), e.getSuppressed()[0].getMessage())));
+        }finally{
+            executor.shutdown();
+        }
+    }
+    
+    private Path createFiles(int count) throws IOException {
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        for(int i=0; i<count; i++) {
+            Files.write(dir.resolve("file" + i + ".properties"), Arrays.asList("index=" + i));
+        }
+        return dir;
+    }
+}
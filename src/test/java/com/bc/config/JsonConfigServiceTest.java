@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 11:48:30 PM
+ */
+public class JsonConfigServiceTest {
+
+    public JsonConfigServiceTest() { }
+
+    @Test
+    public void testLoadAndStore() throws Exception {
+
+        System.out.println("===================== testLoadAndStore =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.json");
+        final Path file = dir.resolve("app.json");
+        Files.write(defaultsFile, "{\"db\": {\"pool\": {\"size\": 5}, \"url\": \"default\"}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(file, ("{\n" +
+                "  \"db\": {\"url\": \"jdbc:h2:mem\", \"user\": null},\n" +
+                "  \"hosts\": [\"a\", \"b\", \"c\"],\n" +
+                "  \"servers\": [{\"host\": \"x\"}, {\"host\": \"y\", \"port\": 8080}],\n" +
+                "  \"text\": \"line\\n\\\"quoted\\\" \\u00e9\",\n" +
+                "  \"enabled\": true, \"ratio\": -1.5e2\n" +
+                "}").getBytes(StandardCharsets.UTF_8));
+
+        final SimpleJsonConfigService svc = new SimpleJsonConfigService(
+                defaultsFile.toString(), file.toString(), "dd MMMM yyyy");
+
+        final Config<Map> config = svc.loadByName("defaults.json", "app.json");
+
+        assertEquals("jdbc:h2:mem", config.get("db.url"));
+        assertEquals(5, config.subset("db", ".").getInt("pool.size", 0));
+        assertFalse(config.getNames().contains("db.user"));
+        assertArrayEquals(new String[]{"a", "b", "c"}, config.getArray("hosts"));
+        assertEquals("x", config.get("servers.0.host"));
+        assertEquals(8080, config.getInt("servers.1.port", 0));
+        assertEquals("line\n\"quoted\" \u00e9", config.get("text"));
+        assertEquals(Boolean.TRUE, config.getBoolean("enabled"));
+        assertEquals(-150.0, config.getDouble("ratio", 0), 0.0);
+
+        config.set("db.pool.size", "10");
+        svc.storeByName("app.json");
+
+        System.out.println(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+
+        final Map<String, String> reloaded = new LinkedHashMap<>();
+        JsonReader.flatten(Files.newBufferedReader(file), reloaded::put);
+        assertEquals(config.getData(), reloaded);
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+
+        System.out.println("===================== testMalformed =====================");
+
+        for(String json : Arrays.asList("{\"a\": }", "{\"a\" 1}", "{\"a\": 1,}", "{\"a\": \"x}", "[1]", "{} {}")) {
+            try{
+                JsonReader.flatten(new StringReader(json), (k, v) -> { });
+                fail("Should fail to parse: " + json);
+            }catch(IOException expected) {
+                System.out.println(json + " -> " + expected.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 5:20:33 PM
+ */
+public class PropertiesConfigServiceTest {
+    
+    public static final String DEFAULTS_DIR = "META-INF/properties/defaults";
+    
+    public static final String DIR = "META-INF/properties";
+
+    public PropertiesConfigServiceTest() { }
+
+    @Test
+    public void testConcurrentLoad() throws Exception {
+
+        System.out.println("===================== testConcurrentLoad =====================");
+        
+        final AtomicInteger loadCount = new AtomicInteger();
+
+        final SimpleConfigService configSvc = new SimpleConfigService(
+                DEFAULTS_DIR + "/general.properties", DIR + "/general.properties", "dd MMMM yyyy") {
+            @Override
+            public void load(Properties props, String path) throws IOException {
+                loadCount.incrementAndGet();
+                super.load(props, path);
+            }
+        };
+        
+        final int threads = 32;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try{
+            final List<Future<Config<Properties>>> futures = new ArrayList<>(threads);
+            for(int i=0; i<threads; i++) {
+                futures.add(executor.submit((Callable<Config<Properties>>)() -> {
+                    start.await();
+                    return configSvc.loadByName("general.properties", "general.properties");
+                }));
+            }
+            start.countDown();
+            final Config<Properties> first = futures.get(0).get();
+            for(Future<Config<Properties>> future : futures) {
+                assertSame(first, future.get());
+            }
+        }finally{
+            executor.shutdown();
+        }
+        
+        // One load for the defaults, one for the file
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testBinaryFiles() throws Exception {
+
+        System.out.println("===================== testBinaryFiles =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.properties");
+        final Path file = dir.resolve("app.properties");
+        final Path binaryDir = dir.resolve("bin");
+        Files.write(defaultsFile, Arrays.asList("base.dir=/base", "name=default", "unicode=\\u00e9t\\u00e9"));
+        Files.write(file, Arrays.asList("name=app", "log.dir=${base.dir}/logs"));
+
+        final AtomicInteger loadCount = new AtomicInteger();
+        
+        final Callable<Config<Properties>> load = () -> new SimpleConfigService(
+                defaultsFile.toString(), file.toString(), "dd MMMM yyyy") {
+            @Override
+            public void load(Properties props, String path) throws IOException {
+                loadCount.incrementAndGet();
+                super.load(props, path);
+            }
+        }.setBinaryDir(binaryDir).loadByName("defaults.properties", "app.properties");
+        
+        final Config<Properties> fromText = load.call();
+        assertEquals(2, loadCount.get());
+        assertEquals(1, Files.list(binaryDir).count());
+        
+        final Config<Properties> fromBinary = load.call();
+        assertEquals(2, loadCount.get());
+        assertEquals(fromText.getData(), fromBinary.getData());
+        assertEquals("app", fromBinary.get("name"));
+        assertNull(fromBinary.getData().get("base.dir"));
+        assertEquals("/base", fromBinary.getData().getProperty("base.dir"));
+        assertEquals("\u00e9t\u00e9", fromBinary.get("unicode"));
+        assertEquals("/base/logs", fromBinary.get("log.dir"));
+        
+        fromBinary.set("base.dir", "/changed");
+        assertEquals("/changed/logs", fromBinary.get("log.dir"));
+        
+        Files.write(file, Arrays.asList("name=changed"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        assertEquals("changed", load.call().get("name"));
+        assertEquals(4, loadCount.get());
+        assertEquals("changed", load.call().get("name"));
+        assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void testBinaryFilesCompileReferences() throws Exception {
+
+        System.out.println("===================== testBinaryFilesCompileReferences =====================");
+
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.properties");
+        final Path file = dir.resolve("app.properties");
+        Files.write(defaultsFile, Arrays.asList("home=C:\\\\Users"));
+        Files.write(file, Arrays.asList("bin=${home}\\\\bin"));
+
+        for(boolean compile : new boolean[]{false, true}) {
+
+            final Callable<Config<Properties>> load = () -> new SimpleConfigService(
+                    defaultsFile.toString(), file.toString(), "dd MMMM yyyy")
+                    .setCompileReferences(compile)
+                    .setBinaryDir(dir.resolve("bin-" + compile))
+                    .loadByName("defaults.properties", "app.properties");
+
+            final Config<Properties> fromText = load.call();
+            final Config<Properties> fromBinary = load.call();
+
+            // The binary file does not change how references are resolved
+            assertEquals(compile, ((AbstractConfig)fromText).isReferencesCompiled());
+            assertEquals(compile, ((AbstractConfig)fromBinary).isReferencesCompiled());
+            assertEquals("C:/Users\\bin", fromText.get("bin"));
+            assertEquals(fromText.get("bin"), fromBinary.get("bin"));
+        }
+    }
+
+    @Test
+    public void testMappedConfig() throws Exception {
+
+        System.out.println("===================== testMappedConfig =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path defaultsFile = dir.resolve("defaults.properties");
+        final Path file = dir.resolve("routes.properties");
+        Files.write(defaultsFile, Arrays.asList("route.default=/home", "route.timeout=30"));
+        final List<String> lines = new ArrayList<>();
+        for(int i=0; i<1000; i++) {
+            lines.add("route." + i + "=/path/" + i);
+        }
+        lines.add("tenant.a.name=A");
+        lines.add("route.timeout=60");
+        Files.write(file, lines);
+        
+        final Config<Properties> config = new SimpleConfigService(
+                defaultsFile.toString(), file.toString(), "dd MMMM yyyy")
+                .setBinaryDir(dir.resolve("bin")).setMapped(true)
+                .loadByName("defaults.properties", "routes.properties");
+        
+        assertTrue(config instanceof MappedConfig);
+        assertEquals(1003, config.size());
+        assertEquals("/path/999", config.get("route.999"));
+        assertEquals("/home", config.get("route.default"));
+        assertEquals(60, config.getInt("route.timeout", 0));
+        assertNull(config.get("route.missing"));
+        
+        final Config<Properties> tenant = config.subset("tenant", ".");
+        assertEquals(Collections.singleton("a.name"), tenant.getNames());
+        assertEquals("A", tenant.subset("a", ".").get("name"));
+        
+        config.set("tenant.b.name", "B");
+        assertEquals("B", tenant.get("b.name"));
+        assertEquals(2, tenant.size());
+        
+        final Properties data = config.getData();
+        assertEquals("60", data.getProperty("route.timeout"));
+        assertNull(data.get("route.default"));
+        assertEquals("/home", data.getProperty("route.default"));
+        assertEquals("B", data.getProperty("tenant.b.name"));
+    }
+
+    @Test
+    public void testFlattenDefaults() throws Exception {
+
+        System.out.println("===================== testFlattenDefaults =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final String [] defaultPaths = new String[4];
+        for(int i=0; i<defaultPaths.length; i++) {
+            final Path layer = dir.resolve("defaults" + i + ".properties");
+            Files.write(layer, Arrays.asList("layer=" + i, "from." + i + "=" + i, "url=${host}/" + i));
+            defaultPaths[i] = layer.toString();
+        }
+        final Path file = dir.resolve("app.properties");
+        Files.write(file, Arrays.asList("host=localhost", "from.2=app"));
+        
+        final Config<Properties> chained = new SimpleConfigService(null, file.toString(), "dd MMMM yyyy")
+                .load(defaultPaths, file.toString());
+        
+        final SimpleConfigService svc = new SimpleConfigService(null, file.toString(), "dd MMMM yyyy");
+        svc.setFlattenDefaults(true).setBinaryDir(dir.resolve("bin"));
+        
+        // Loaded from text, then from the binary file written by the first load
+        for(int i=0; i<2; i++) {
+            final Config<Properties> config = svc.reload(defaultPaths, file.toString());
+            assertEquals(chained.getNames(), config.getNames());
+            for(String name : chained.getNames()) {
+                assertEquals(chained.get(name), config.get(name));
+            }
+            assertEquals("localhost/3", config.get("url"));
+            
+            final FlattenedProperties data = (FlattenedProperties)config.getData();
+            assertEquals(defaultPaths[3], data.getSource("layer"));
+            assertEquals(defaultPaths[0], data.getSource("from.0"));
+            assertEquals(file.toString(), data.getSource("from.2"));
+            assertNull(data.getSource("missing"));
+            assertEquals(5, data.getSources().size());
+        }
+        try(Stream<Path> files = Files.list(dir.resolve("bin"))) {
+            assertEquals(1, files.count());
+        }
+        
+        final Config<Properties> config = svc.load(defaultPaths, file.toString());
+        config.set("layer", "app");
+        assertEquals(file.toString(), ((FlattenedProperties)config.getData()).getSource("layer"));
+        
+        // Only the entries of the file, and those set, are stored
+        svc.store(file.toString());
+        final Properties stored = new Properties();
+        try(InputStream in = Files.newInputStream(file)) {
+            stored.load(in);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("host", "from.2", "layer")), stored.stringPropertyNames());
+    }
+
+    @Test
+    public void testFlattenedPropertiesChanges() {
+
+        System.out.println("===================== testFlattenedPropertiesChanges =====================");
+
+        final Properties defaults = new Properties();
+        defaults.setProperty("a", "default-a");
+        defaults.setProperty("b", "default-b");
+        defaults.setProperty("c", "default-c");
+        defaults.setProperty("d", "default-d");
+        final Properties top = new Properties();
+        top.setProperty("a", "a");
+        top.setProperty("e", "e");
+
+        final Properties chained = new Properties(defaults);
+        chained.putAll(top);
+        final FlattenedProperties flattened = new FlattenedProperties(
+                Arrays.asList(defaults, top), Arrays.asList("defaults", "top"));
+
+        for(Properties props : Arrays.asList(chained, flattened)) {
+            props.remove("a");
+            props.remove("b");
+            props.putIfAbsent("c", "c");
+            props.replace("d", "d");
+            props.merge("e", "!", (x, y) -> x + "" + y);
+            props.computeIfAbsent("f", (k) -> "f");
+            props.compute("f", (k, v) -> null);
+            props.computeIfPresent("e", (k, v) -> v + "?");
+        }
+
+        assertEquals(chained.stringPropertyNames(), flattened.stringPropertyNames());
+        for(String name : chained.stringPropertyNames()) {
+            assertEquals(name, chained.getProperty(name), flattened.getProperty(name));
+        }
+        assertEquals("default-a", flattened.getProperty("a"));
+        assertEquals("defaults", flattened.getSource("a"));
+        assertEquals("top", flattened.getSource("c"));
+        assertEquals(new HashSet<>(Arrays.asList("c", "e")), flattened.getTopLayer().stringPropertyNames());
+        assertEquals(chained, flattened.getTopLayer());
+
+        chained.clear();
+        flattened.clear();
+        assertEquals(chained.stringPropertyNames(), flattened.stringPropertyNames());
+        assertTrue(flattened.getTopLayer().isEmpty());
+    }
+
+    @Test
+    public void testStoreChanges() throws Exception {
+
+        System.out.println("===================== testStoreChanges =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("app.properties");
+        final String original = "# Application settings\r\n" +
+                "\r\n" +
+                "a = 1\r\n" +
+                "! Continued value\r\n" +
+                "b = one, \\\r\n" +
+                "    two\r\n" +
+                "c\\ d:3";
+        Files.write(file, original.getBytes(StandardCharsets.ISO_8859_1));
+        
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        svc.setPatchInPlace(true);
+        
+        final Config<Properties> config = svc.loadByName(null, "app.properties");
+        assertEquals("one, two", config.get("b"));
+        assertEquals("3", config.get("c d"));
+        assertFalse(config.isDirty());
+        
+        // Clean configs are not stored
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        svc.store();
+        assertEquals(0, Files.getLastModifiedTime(file).toMillis());
+        
+        config.set("b", "three");
+        config.set("c d", "=4");
+        config.set("e", "\u00e9 ");
+        assertTrue(config.isDirty());
+        assertEquals(new HashSet<>(Arrays.asList("b", "c d", "e")), config.getDirtyNames());
+        
+        svc.store();
+        assertFalse(config.isDirty());
+        
+        final String patched = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        System.out.println(patched);
+        assertEquals("# Application settings\r\n" +
+                "\r\n" +
+                "a = 1\r\n" +
+                "! Continued value\r\n" +
+                "b=three\r\n" +
+                "c\\ d=\\=4\r\n" +
+                "e=\\u00E9 \r\n", patched);
+        
+        final Properties reloaded = new Properties();
+        try(InputStream in = Files.newInputStream(file)) {
+            reloaded.load(in);
+        }
+        assertEquals(config.getData(), reloaded);
+        
+        // Without patching, the whole file is rewritten
+        svc.setPatchInPlace(false);
+        config.set("a", "2");
+        svc.storeByName("app.properties");
+        final List<String> rewritten = Files.readAllLines(file, StandardCharsets.ISO_8859_1);
+        assertTrue(rewritten.get(0).startsWith("#Saved by"));
+        assertTrue(rewritten.contains("a=2"));
+        
+        // No temporary files are left behind
+        try(Stream<Path> files = Files.list(dir)) {
+            assertEquals(Collections.singletonList(file), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testStoreDataChanges() throws Exception {
+
+        System.out.println("===================== testStoreDataChanges =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("app.properties");
+        Files.write(file, Arrays.asList("# Comment", "x=1", "y=1"), StandardCharsets.ISO_8859_1);
+        
+        final DirConfigService svc = new DirConfigService(null, dir.toString(), "dd MMMM yyyy");
+        
+        final Config<Properties> config = svc.loadByName(null, "app.properties");
+        assertFalse(config.isChangeTracked());
+        
+        // Unchanged data is not stored
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        svc.store(file.toString());
+        assertEquals(0, Files.getLastModifiedTime(file).toMillis());
+        
+        // Changes made directly to the data are stored
+        config.getData().setProperty("x", "2");
+        assertFalse(config.isDirty());
+        svc.store(file.toString());
+        assertEquals(Arrays.asList("x=2", "y=1"), this.getEntries(file));
+        
+        // Patched, with the changes made via set
+        svc.setPatchInPlace(true);
+        config.getData().remove("y");
+        config.set("z", "3");
+        svc.store(file.toString());
+        assertFalse(config.isDirty());
+        assertEquals(Arrays.asList("x=2", "z=3"), this.getEntries(file));
+    }
+    
+    @Test
+    public void testStoreWithDefaults() throws Exception {
+
+        System.out.println("===================== testStoreWithDefaults =====================");
+        
+        for(String mode : Arrays.asList("plain", "snapshot", "compact", "flatten")) {
+            for(boolean patch : Arrays.asList(false, true)) {
+                
+                final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+                final Path defaultsFile = dir.resolve("defaults.properties");
+                final Path file = dir.resolve("app.properties");
+                Files.write(defaultsFile, Arrays.asList("def.key=1", "def.other=1"), StandardCharsets.ISO_8859_1);
+                Files.write(file, Arrays.asList("app.key=1"), StandardCharsets.ISO_8859_1);
+                
+                final SimpleConfigService svc = new SimpleConfigService(
+                        defaultsFile.toString(), file.toString(), "dd MMMM yyyy");
+                svc.setUseSnapshots("snapshot".equals(mode)).setCompact("compact".equals(mode))
+                        .setFlattenDefaults("flatten".equals(mode)).setPatchInPlace(patch);
+                
+                final Config<Properties> config = svc.load(defaultsFile.toString(), file.toString());
+                assertEquals(mode, "1", config.get("def.key"));
+                config.set("app.key", "2");
+                config.set("def.other", "2");
+                config.set("app.new", "3");
+                svc.store(file.toString());
+                
+                assertEquals(mode + ", patch: " + patch, 
+                        Arrays.asList("app.key=2", "app.new=3", "def.other=2"), this.getEntries(file));
+            }
+        }
+    }
+    
+    private List<String> getEntries(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.ISO_8859_1).stream()
+                .filter((line) -> !line.startsWith("#")).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+
+        System.out.println("===================== testWriteBehind =====================");
+        
+        final Path dir = Files.createTempDirectory(this.getClass().getSimpleName());
+        final Path file = dir.resolve("flags.properties");
+        Files.write(file, Collections.singletonList("flag.0=false"));
+        
+        final AtomicInteger storeCount = new AtomicInteger();
+        
+        final SimpleConfigService svc = new SimpleConfigService(null, file.toString(), "dd MMMM yyyy") {
+            @Override
+            public void store(Properties props, String path) throws IOException {
+                storeCount.incrementAndGet();
+                super.store(props, path);
+            }
+        };
+        svc.setWriteBehindMillis(60_000);
+        
+        for(int i=0; i<20; i++) {
+            svc.storeFor("flags.properties", "flag." + i, "true");
+        }
+        
+        final CompletableFuture<Void> pending = svc.getPendingStore("flags.properties");
+        assertFalse(pending.isDone());
+        assertEquals(0, storeCount.get());
+        
+        svc.flush().get(10, TimeUnit.SECONDS);
+        assertTrue(pending.isDone());
+        assertEquals(1, storeCount.get());
+        
+        final Properties stored = new Properties();
+        try(InputStream in = Files.newInputStream(file)) {
+            stored.load(in);
+        }
+        assertEquals(20, stored.size());
+        assertEquals("true", stored.getProperty("flag.19"));
+        assertTrue(svc.getPendingStore("flags.properties").isDone());
+        
+        svc.setWriteBehindMillis(10);
+        svc.storeFor("flags.properties", "flag.0", "false");
+        svc.getPendingStore("flags.properties").get(10, TimeUnit.SECONDS);
+        assertEquals(2, storeCount.get());
+        
+        svc.setWriteBehindMillis(0);
+        svc.storeFor("flags.properties", "flag.1", "false");
+        assertEquals(3, storeCount.get());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.config;
+
+import java.util.Properties;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 17, 2026 4:41:20 PM
+ */
+public class SnapshotConfigTest {
+
+    public SnapshotConfigTest() { }
+
+    @Test
+    public void testGetAndSet() {
+
+        System.out.println("===================== testGetAndSet =====================");
+
+        final Properties defaults = new Properties();
+        defaults.setProperty("name", "John");
+        defaults.setProperty("greeting", "Hello ${name}");
+        final Properties props = new Properties(defaults);
+        props.setProperty("name", "Jane");
+
+        final SnapshotConfig config = new SnapshotConfig(props, null);
+
+        assertEquals(2, config.size());
+        assertEquals("Hello Jane", config.get("greeting"));
+        assertNull(config.get("missing"));
+
+        for(int i=0; i<100; i++) {
+            config.setInt("key" + i, i);
+        }
+        assertEquals("Jane", config.set("name", "Doe"));
+        assertEquals("Hello Doe", config.get("greeting"));
+        assertEquals(102, config.size());
+        assertEquals(57, config.getInt("key57", -1));
+        assertTrue(config.getNames().contains("key99"));
+        assertEquals("Doe", config.getData().getProperty("name"));
+    }
+}